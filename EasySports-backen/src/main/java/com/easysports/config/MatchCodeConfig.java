@@ -0,0 +1,47 @@
+package com.easysports.config;
+
+import com.easysports.util.MatchCodeGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Clase de configuración del generador de códigos de encuentro.
+ * Los números de serie se reservan por bloques de la secuencia {@code codigos_encuentro_seq}.
+ * Los códigos ya en uso se leen una sola vez al arrancar para que el generador salte los que podría repetir.
+ */
+@Configuration
+public class MatchCodeConfig {
+
+    /**
+     * Números de serie por bloque. Debe coincidir con el INCREMENT BY de {@code codigos_encuentro_seq}
+     * (migración V3), ya que cada {@code nextval} reserva un bloque completo.
+     */
+    static final int BLOCK_SIZE = 1000;
+
+    /**
+     * Define el {@link MatchCodeGenerator} usado al crear encuentros.
+     * <p>
+     * Todo bloque que reciba la instancia se reservará después de arrancar, así que sólo importan los códigos
+     * en uso cuyo número de serie queda a partir del siguiente bloque de la secuencia: en la práctica, los de
+     * encuentros anteriores al generador.
+     *
+     * @param jdbcTemplate Acceso JDBC para reservar bloques de la secuencia y leer los códigos en uso.
+     * @param key Clave de la permutación de códigos; no debe cambiarse una vez emitidos códigos.
+     * @return El generador de códigos.
+     */
+    @Bean
+    public MatchCodeGenerator matchCodeGenerator(JdbcTemplate jdbcTemplate,
+                                                 @Value("${easysports.codigos.clave}") long key) {
+        long siguienteBloque = jdbcTemplate.queryForObject(
+                "SELECT CASE WHEN is_called THEN last_value + " + BLOCK_SIZE + " ELSE last_value END FROM codigos_encuentro_seq",
+                Long.class);
+        List<String> enUso = jdbcTemplate.queryForList("SELECT codigo_encuentro FROM encuentros", String.class);
+        return new MatchCodeGenerator(key,
+                () -> jdbcTemplate.queryForObject("SELECT nextval('codigos_encuentro_seq')", Long.class),
+                BLOCK_SIZE, enUso, siguienteBloque);
+    }
+}
@@ -0,0 +1,35 @@
+package com.easysports.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra el patrón "Open EntityManager in View" (sustituye a {@code spring.jpa.open-in-view}) excepto en
+ * login y registro. Con él, la petición conserva su conexión a la base de datos desde la primera consulta
+ * hasta que termina; en esos dos endpoints eso incluiría la espera por BCrypt, y una avalancha de logins
+ * acapararía el pool de conexiones y bloquearía al resto de la API.
+ */
+@Configuration
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     * @param entityManagerFactory Factoría de EntityManagers de la aplicación.
+     */
+    public OpenEntityManagerInViewConfig(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor)
+                .excludePathPatterns("/api/auth/login", "/api/auth/registro");
+    }
+}
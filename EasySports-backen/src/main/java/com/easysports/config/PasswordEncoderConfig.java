@@ -1,10 +1,14 @@
 package com.easysports.config;
 
+import com.easysports.security.BoundedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 /**
  * Clase de configuración para la gestión de codificación de contraseñas.
  * Provee un bean {@link BCryptPasswordEncoder} para ser utilizado en toda la aplicación.
@@ -15,10 +19,18 @@ public class PasswordEncoderConfig {
     /**
      * Define y provee una instancia de {@link BCryptPasswordEncoder} como un bean de Spring.
      * Este codificador se utiliza para hashear y verificar contraseñas de forma segura.
-     * @return Una instancia de {@link BCryptPasswordEncoder}.
+     * BCrypt se ejecuta en un pool acotado ({@link BoundedPasswordEncoder}) para que los logins no
+     * consuman los hilos ni la CPU del resto de peticiones.
+     * @param hilos Hilos dedicados al hash de contraseñas (0 = la mitad de los procesadores, mínimo 1).
+     * @param cola Operaciones que pueden esperar turno antes de rechazarse con 503.
+     * @param espera Tiempo máximo de espera de una petición por su resultado.
+     * @return Una instancia de {@link BoundedPasswordEncoder} sobre {@link BCryptPasswordEncoder}.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${easysports.contrasenas.hilos:0}") int hilos,
+                                                  @Value("${easysports.contrasenas.cola:16}") int cola,
+                                                  @Value("${easysports.contrasenas.espera:5s}") Duration espera) {
+        int hilosEfectivos = hilos > 0 ? hilos : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), hilosEfectivos, cola, espera);
     }
 }
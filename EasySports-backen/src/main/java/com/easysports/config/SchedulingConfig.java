@@ -0,0 +1,12 @@
+package com.easysports.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas con {@code @Scheduled} (p. ej. el barrido de invitaciones expiradas).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,8 @@
 package com.easysports.config;
 
 import com.easysports.security.JwtAuthenticationFilter;
+import com.easysports.security.RateLimitFilter;
+import com.easysports.security.RateLimiter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -23,15 +25,19 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final AuthenticationProvider authenticationProvider;
+    private final RateLimiter rateLimiter;
 
     /**
      * Constructor para inyección de dependencias.
      * @param jwtAuthFilter Filtro para la autenticación JWT.
      * @param authenticationProvider Proveedor de autenticación.
+     * @param rateLimiter Límites de peticiones de las rutas más costosas.
      */
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, AuthenticationProvider authenticationProvider) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, AuthenticationProvider authenticationProvider,
+                          RateLimiter rateLimiter) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.authenticationProvider = authenticationProvider;
+        this.rateLimiter = rateLimiter;
     }
 
     /**
@@ -54,7 +60,9 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS) // Sesiones sin estado para JWT
                 )
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class); // Añade el filtro JWT
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class) // Añade el filtro JWT
+                // Límites por ruta, ya con el usuario autenticado (429 + Retry-After)
+                .addFilterAfter(new RateLimitFilter(rateLimiter), JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -2,24 +2,31 @@ package com.easysports.controller;
 
 import com.easysports.dto.liga.TablaPosicionesResponse;
 import com.easysports.service.LigaService;
+import com.easysports.service.cache.StandingsSnapshot;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 /**
  * Controlador REST para la gestión de ligas.
  * Expone endpoints para consultar la clasificación de las ligas.
+ * La clasificación se envía ya serializada desde memoria ({@link StandingsSnapshot}).
  */
 @RestController
 @RequestMapping("/api/v1/ligas")
@@ -29,16 +36,46 @@ public class LigaController {
 
     private final LigaService ligaService;
 
-    @Operation(summary = "Obtener tabla de posiciones de una liga", description = "Devuelve la tabla de clasificación para una liga específica, ordenada por puntos.")
+    @Operation(summary = "Obtener tabla de posiciones de una liga", description = "Devuelve la tabla de clasificación para una liga específica, ordenada por puntos. Admite gzip y peticiones condicionales con If-None-Match.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Clasificación obtenida exitosamente"),
+            @ApiResponse(responseCode = "200", description = "Clasificación obtenida exitosamente",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TablaPosicionesResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "La clasificación no ha cambiado desde el ETag indicado"),
             @ApiResponse(responseCode = "401", description = "No autenticado"),
             @ApiResponse(responseCode = "404", description = "Liga no encontrada")
     })
-    @GetMapping("/{ligaId}/clasificacion")
+    @GetMapping(value = "/{ligaId}/clasificacion", produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<TablaPosicionesResponse>> getClasificacion(@Parameter(description = "ID de la liga") @PathVariable Long ligaId) {
-        List<TablaPosicionesResponse> clasificacion = ligaService.getClasificacion(ligaId);
-        return ResponseEntity.ok(clasificacion);
+    public ResponseEntity<byte[]> getClasificacion(
+            @Parameter(description = "ID de la liga") @PathVariable Long ligaId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        StandingsSnapshot clasificacion = ligaService.getClasificacionSnapshot(ligaId);
+        boolean gzip = aceptaGzip(acceptEncoding);
+
+        // Con el ETag en la respuesta, Spring contesta 304 sin cuerpo si coincide con If-None-Match
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .eTag(clasificacion.etag(gzip));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(clasificacion.cuerpo(gzip));
+    }
+
+    // gzip figura en Accept-Encoding sin "q=0"
+    private static boolean aceptaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String codificacion : acceptEncoding.split(",")) {
+            String[] partes = codificacion.split(";");
+            if (partes[0].trim().equalsIgnoreCase("gzip")) {
+                String calidad = partes.length > 1 ? partes[1].replace(" ", "") : "q=1";
+                return !calidad.matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 }
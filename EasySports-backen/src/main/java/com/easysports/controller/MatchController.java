@@ -2,19 +2,24 @@ package com.easysports.controller;
 
 import com.easysports.dto.match.MatchRequest;
 import com.easysports.dto.match.MatchResponse;
+import com.easysports.dto.match.MatchScrollResponse;
 import com.easysports.dto.match.ResultRequest;
 import com.easysports.enums.Deporte;
 import com.easysports.enums.MatchStatus;
 import com.easysports.service.MatchService;
+import com.easysports.util.ETags;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 
@@ -26,6 +31,8 @@ import java.time.LocalDateTime;
 @RequestMapping("/api/v1/matches")
 public class MatchController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final MatchService matchService;
 
     /**
@@ -45,7 +52,8 @@ public class MatchController {
      * @param fechaDesde Filtro por fecha de inicio (formato ISO: "2025-12-01T10:00:00").
      * @param fechaHasta Filtro por fecha de fin (formato ISO: "2025-12-31T23:59:59").
      * @param pageable Objeto de paginación y ordenamiento (ej: "?page=0&size=10&sort=fechaProgramada,desc").
-     * @return ResponseEntity con una página de encuentros y estado HTTP 200.
+     * @param request Petición actual, para comparar el ETag con la cabecera If-None-Match.
+     * @return ResponseEntity con una página de encuentros y estado HTTP 200, o 304 si la página no ha cambiado.
      */
     @GetMapping
     @PreAuthorize("hasRole('USER')")
@@ -54,23 +62,84 @@ public class MatchController {
             @RequestParam(required = false) MatchStatus estado,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaDesde,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaHasta,
-            Pageable pageable) {
+            Pageable pageable,
+            WebRequest request) {
 
         Page<MatchResponse> matches = matchService.findAll(deporte, estado, fechaDesde, fechaHasta, pageable);
+        // Si el cliente ya tiene esta página, checkNotModified prepara el 304 y no se serializa nada
+        if (request.checkNotModified(ETags.of(matches))) {
+            return null;
+        }
         return ResponseEntity.ok(matches);
     }
 
+    /**
+     * Recorre los encuentros hacia adelante con un cursor opaco (paginación por clave).
+     * No ejecuta la consulta de conteo de {@link #findAllMatches}, por lo que es el modo
+     * recomendado para clientes con scroll infinito.
+     *
+     * @param deporte Filtro por deporte (ej: "FUTBOL").
+     * @param estado Filtro por estado del encuentro (ej: "ABIERTO").
+     * @param fechaDesde Filtro por fecha de inicio (formato ISO: "2025-12-01T10:00:00").
+     * @param fechaHasta Filtro por fecha de fin (formato ISO: "2025-12-31T23:59:59").
+     * @param cursor Valor de "nextCursor" de la respuesta anterior; se omite para la primera porción.
+     * @param size Número máximo de encuentros por porción (1-100, por defecto 20).
+     * @return ResponseEntity con la porción de encuentros y el cursor siguiente, con estado HTTP 200.
+     */
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<MatchScrollResponse> scrollMatches(
+            @RequestParam(required = false) Deporte deporte,
+            @RequestParam(required = false) MatchStatus estado,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaDesde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaHasta,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        MatchScrollResponse matches = matchService.scroll(deporte, estado, fechaDesde, fechaHasta, cursor, size);
+        return ResponseEntity.ok(matches);
+    }
+
+    /**
+     * Exporta en NDJSON (un encuentro JSON por línea) todos los encuentros que cumplen los filtros.
+     * La respuesta se escribe mientras se leen los datos, sin paginar ni cargarlos en memoria.
+     * Solo los gestores de liga pueden acceder.
+     *
+     * @param deporte Filtro por deporte (ej: "FUTBOL").
+     * @param estado Filtro por estado del encuentro (ej: "FINALIZADO").
+     * @param fechaDesde Filtro por fecha de inicio (formato ISO: "2025-12-01T10:00:00").
+     * @param fechaHasta Filtro por fecha de fin (formato ISO: "2025-12-31T23:59:59").
+     * @return ResponseEntity con el cuerpo en streaming y estado HTTP 200.
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    @PreAuthorize("hasRole('LEAGUE_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportMatches(
+            @RequestParam(required = false) Deporte deporte,
+            @RequestParam(required = false) MatchStatus estado,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaDesde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaHasta) {
+
+        StreamingResponseBody body = out -> matchService.exportAll(deporte, estado, fechaDesde, fechaHasta, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
     /**
      * Busca un encuentro por su código único y devuelve sus detalles.
      * Solo usuarios autenticados pueden acceder.
      *
      * @param codigo El código único del encuentro.
-     * @return ResponseEntity con los detalles del encuentro y estado HTTP 200.
+     * @param request Petición actual, para comparar el ETag con la cabecera If-None-Match.
+     * @return ResponseEntity con los detalles del encuentro y estado HTTP 200, o 304 si no ha cambiado.
      */
     @GetMapping("/{codigo}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<MatchResponse> findMatchByCodigo(@PathVariable String codigo) {
+    public ResponseEntity<MatchResponse> findMatchByCodigo(@PathVariable String codigo, WebRequest request) {
         MatchResponse response = matchService.findByCodigo(codigo);
+        if (request.checkNotModified(ETags.of(response))) {
+            return null;
+        }
         return ResponseEntity.ok(response);
     }
 
@@ -1,11 +1,17 @@
 package com.easysports.controller;
 
 import com.easysports.dto.team.CreateTeamRequest;
+import com.easysports.dto.team.InvitacionResponse;
 import com.easysports.dto.team.InvitarMiembroRequest;
+import com.easysports.dto.team.InvitarMiembrosRequest;
+import com.easysports.dto.team.MiEquipoResponse;
 import com.easysports.dto.team.TeamResponse;
 import com.easysports.dto.team.UpdateTeamRequest;
+import com.easysports.enums.Deporte;
 import com.easysports.service.TeamService;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -61,6 +67,21 @@ public class TeamController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Invita a varios usuarios a unirse a un equipo en una sola llamada.
+     * Solo el capitán del equipo puede invitar.
+     * @param equipoId ID del equipo al que se invita.
+     * @param request DTO con los emails de los usuarios a invitar (máximo 200).
+     * @param authentication Contexto de autenticación del capitán.
+     * @return ResponseEntity con el resultado de cada email y estado HTTP 200.
+     */
+    @PostMapping("/{equipoId}/invitar/bulk")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<List<InvitacionResponse>> invitarMiembros(@PathVariable Long equipoId, @Valid @RequestBody InvitarMiembrosRequest request, Authentication authentication) {
+        List<InvitacionResponse> resultados = teamService.invitarMiembros(equipoId, request, authentication);
+        return ResponseEntity.ok(resultados);
+    }
+
     /**
      * Acepta una invitación a unirse a un equipo.
      * Solo el usuario destinatario de la invitación puede aceptarla.
@@ -91,13 +112,15 @@ public class TeamController {
 
     /**
      * Obtiene los equipos a los que pertenece o ha sido invitado un usuario autenticado.
+     * Devuelve un resumen por equipo; la plantilla completa se obtiene con {@link #findTeamById}.
      * @param authentication Contexto de autenticación del usuario.
-     * @return ResponseEntity con una lista de equipos del usuario.
+     * @param pageable Objeto de paginación y ordenamiento (ej: "?page=0&size=20&sort=nombre,asc").
+     * @return ResponseEntity con una página de equipos del usuario.
      */
     @GetMapping("/mios")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<TeamResponse>> getMisEquipos(Authentication authentication) {
-        List<TeamResponse> equipos = teamService.getMisEquipos(authentication);
+    public ResponseEntity<Page<MiEquipoResponse>> getMisEquipos(Authentication authentication, Pageable pageable) {
+        Page<MiEquipoResponse> equipos = teamService.getMisEquipos(authentication, pageable);
         return ResponseEntity.ok(equipos);
     }
 
@@ -150,14 +173,37 @@ public class TeamController {
     }
 
     /**
-     * Obtiene todos los equipos registrados.
+     * Obtiene una página de los equipos registrados.
      * Útil para seleccionar rivales.
-     * @return ResponseEntity con la lista de todos los equipos.
+     * @param tipoDeporte Filtro por deporte (ej: "FUTBOL").
+     * @param pageable Objeto de paginación y ordenamiento (ej: "?page=0&size=20&sort=nombre,asc").
+     * @return ResponseEntity con una página de equipos.
      */
     @GetMapping
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<TeamResponse>> getAllTeams() {
-        List<TeamResponse> teams = teamService.getAllTeams();
+    public ResponseEntity<Page<TeamResponse>> getAllTeams(
+            @RequestParam(required = false) Deporte tipoDeporte,
+            Pageable pageable) {
+        Page<TeamResponse> teams = teamService.getAllTeams(tipoDeporte, pageable);
+        return ResponseEntity.ok(teams);
+    }
+
+    /**
+     * Busca equipos por nombre, del más al menos relevante, sin distinguir tildes ni mayúsculas y
+     * tolerando erratas. Solo usuarios autenticados pueden acceder.
+     *
+     * @param q Texto a buscar (entre 2 y 100 caracteres).
+     * @param deporte Filtro por deporte (opcional).
+     * @param pageable Objeto de paginación (ej: "?page=0&size=20"); el orden es siempre por relevancia.
+     * @return ResponseEntity con una página de equipos encontrados.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<Page<TeamResponse>> buscarEquipos(
+            @RequestParam String q,
+            @RequestParam(required = false) Deporte deporte,
+            Pageable pageable) {
+        Page<TeamResponse> teams = teamService.buscarEquipos(q, deporte, pageable);
         return ResponseEntity.ok(teams);
     }
 }
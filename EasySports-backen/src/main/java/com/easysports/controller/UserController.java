@@ -3,15 +3,21 @@ package com.easysports.controller;
 import com.easysports.dto.UserSearchDTO;
 import com.easysports.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/users")
 public class UserController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private UserService userService;
 
@@ -29,4 +35,21 @@ public class UserController {
         List<UserSearchDTO> users = userService.searchUsers(query, equipoId);
         return ResponseEntity.ok(users);
     }
+
+    /**
+     * Da de alta en bloque los usuarios de un CSV (por ejemplo, los jugadores de una liga que se incorpora),
+     * opcionalmente como miembros de sus equipos. El archivo se procesa mientras se recibe y la respuesta
+     * informa en NDJSON de cada fila rechazada, del progreso por lotes y del resumen final.
+     * Solo los gestores de liga pueden acceder.
+     * @param csv Cuerpo de la petición con el CSV en UTF-8 (Content-Type: text/csv).
+     * @return ResponseEntity con los eventos de la importación en streaming y estado HTTP 200.
+     */
+    @PostMapping(value = "/importar", consumes = "text/csv", produces = NDJSON)
+    @PreAuthorize("hasRole('LEAGUE_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> importarUsuarios(InputStream csv) {
+        StreamingResponseBody body = out -> userService.importarUsuarios(csv, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
 }
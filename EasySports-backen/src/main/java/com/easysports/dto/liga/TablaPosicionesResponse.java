@@ -1,15 +1,25 @@
 package com.easysports.dto.liga;
 
 import com.easysports.enums.Deporte;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /**
  * DTO para la respuesta de una entrada en la tabla de posiciones de una liga.
+ * Se construye directamente en la consulta (el orden de los campos debe coincidir con
+ * {@code TablaDePosicionesRepository.findClasificacion}).
  */
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class TablaPosicionesResponse {
+
+    // Posición en la clasificación; los equipos empatados comparten posición y la siguiente se salta
+    private Long posicion;
+
     private Long equipoId;
     private String nombreEquipo;
     private Long ligaId;
@@ -0,0 +1,59 @@
+package com.easysports.dto.match;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición dentro del listado de encuentros ordenado por {@code (fechaProgramada, id)}.
+ * Se entrega al cliente como un texto opaco (Base64 URL-safe) y se usa para continuar
+ * la lectura con paginación por clave (keyset) en lugar de OFFSET.
+ *
+ * @param fechaProgramada Fecha programada del último encuentro entregado.
+ * @param id              ID del último encuentro entregado, para desempatar fechas iguales.
+ */
+public record MatchCursor(LocalDateTime fechaProgramada, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Crea el cursor que apunta justo después del encuentro indicado.
+     *
+     * @param match Último encuentro de la porción actual.
+     * @return El cursor correspondiente.
+     */
+    public static MatchCursor after(MatchResponse match) {
+        return new MatchCursor(match.getFechaProgramada(), match.getId());
+    }
+
+    /**
+     * Codifica el cursor como texto opaco para el cliente.
+     *
+     * @return El cursor codificado.
+     */
+    public String encode() {
+        String raw = fechaProgramada.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor recibido del cliente.
+     *
+     * @param encoded Texto opaco generado previamente por {@link #encode()}.
+     * @return El cursor decodificado.
+     * @throws IllegalArgumentException Si el texto no es un cursor válido.
+     */
+    public static MatchCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor inválido.");
+            }
+            return new MatchCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor inválido.", ex);
+        }
+    }
+}
@@ -3,17 +3,23 @@ package com.easysports.dto.match;
 import com.easysports.enums.Deporte;
 import com.easysports.enums.MatchStatus;
 import com.easysports.enums.MatchType;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 /**
  * DTO para la respuesta de un encuentro (partido).
  * Contiene la información relevante de un encuentro una vez creado o consultado.
+ * El constructor completo se usa en las proyecciones JPQL de {@code MatchRepositoryCustom},
+ * por lo que el orden de los campos debe mantenerse alineado con esas consultas.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
 public class MatchResponse {
     private Long id;
     private String codigo;
@@ -28,10 +34,12 @@ public class MatchResponse {
     private String equipoLocalNombre;
     private Long equipoVisitanteId;
     private String equipoVisitanteNombre;
+    private Long ligaId;
 
     private Integer maxJugadores;
     private Integer jugadoresActuales;
     private Integer golesLocal;
     private Integer golesVisitante;
     private String comentarios;
+    private Long version;
 }
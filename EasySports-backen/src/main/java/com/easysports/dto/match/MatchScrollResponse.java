@@ -0,0 +1,36 @@
+package com.easysports.dto.match;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para una porción del listado de encuentros recorrido por cursor.
+ * No incluye totales: el modo cursor evita deliberadamente la consulta de conteo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchScrollResponse {
+
+    private List<MatchResponse> content;
+
+    /**
+     * Tamaño de porción solicitado.
+     */
+    private int size;
+
+    /**
+     * Indica si existen más encuentros después de esta porción.
+     */
+    private boolean hasNext;
+
+    /**
+     * Cursor opaco para pedir la siguiente porción; nulo si no hay más resultados.
+     */
+    private String nextCursor;
+}
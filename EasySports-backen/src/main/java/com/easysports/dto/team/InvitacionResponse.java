@@ -0,0 +1,20 @@
+package com.easysports.dto.team;
+
+import com.easysports.enums.ResultadoInvitacion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el resultado de la invitación de un email en una invitación masiva.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvitacionResponse {
+
+    private String email;
+    private ResultadoInvitacion resultado;
+}
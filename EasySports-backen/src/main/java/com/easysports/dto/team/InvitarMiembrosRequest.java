@@ -0,0 +1,24 @@
+package com.easysports.dto.team;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO para la solicitud de invitación de varios miembros a un equipo en una sola llamada.
+ */
+@Data
+public class InvitarMiembrosRequest {
+
+    /**
+     * Los emails de los usuarios a invitar.
+     * Entre 1 y 200 emails con formato válido.
+     */
+    @NotEmpty(message = "Debe indicar al menos un email")
+    @Size(max = 200, message = "No se pueden invitar más de 200 usuarios a la vez")
+    private List<@Email(message = "El formato del email no es válido") @NotBlank(message = "El email no puede estar vacío") String> emailsUsuarios;
+}
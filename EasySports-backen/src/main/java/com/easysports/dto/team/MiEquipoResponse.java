@@ -0,0 +1,32 @@
+package com.easysports.dto.team;
+
+import com.easysports.enums.Deporte;
+import com.easysports.enums.EstadoMiembro;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO resumido de un equipo del usuario autenticado para el listado "mis equipos".
+ * Se construye directamente en la consulta (el orden de los campos debe coincidir con
+ * {@code MiembroEquipoRepository.findMisEquipos}), sin cargar la plantilla completa.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MiEquipoResponse {
+
+    private Long id;
+    private String nombre;
+    private Deporte tipoDeporte;
+    private Long capitanId;
+    private String capitanNombre;
+    private Integer partidosGanados;
+
+    // Estado de la membresía del usuario autenticado (ACEPTADO o INVITADO_PENDIENTE)
+    private EstadoMiembro estadoMiembro;
+
+    private Long totalMiembros;
+}
@@ -0,0 +1,39 @@
+package com.easysports.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con un evento de la importación de usuarios desde CSV; la respuesta es una línea JSON por evento.
+ * Los errores llevan la fila y el motivo; el progreso y el fin llevan los contadores acumulados.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportacionEvento {
+
+    /**
+     * Tipo de evento de la importación.
+     */
+    public enum Tipo {
+        /** Una fila no se ha importado. */
+        ERROR,
+        /** Se ha terminado de procesar un lote. */
+        PROGRESO,
+        /** Se ha terminado de procesar el archivo. */
+        FIN
+    }
+
+    private Tipo tipo;
+    private Integer fila;
+    private String email;
+    private String motivo;
+    private Integer procesadas;
+    private Integer creados;
+    private Integer errores;
+}
@@ -8,5 +8,6 @@ public enum EstadoMiembro {
     ACEPTADO,
     RECHAZADO,
     EXPULSADO,
+    EXPIRADO, // Invitación que no se respondió a tiempo; puede volver a enviarse
     NO_MIEMBRO
 }
\ No newline at end of file
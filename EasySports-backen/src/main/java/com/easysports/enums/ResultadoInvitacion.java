@@ -0,0 +1,11 @@
+package com.easysports.enums;
+
+/**
+ * Enumeración para el resultado de cada email en una invitación masiva a un equipo.
+ */
+public enum ResultadoInvitacion {
+    INVITADO,
+    USUARIO_NO_ENCONTRADO,
+    YA_MIEMBRO_O_INVITADO,
+    DUPLICADO
+}
@@ -1,5 +1,6 @@
 package com.easysports.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -48,6 +49,17 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(ex.getReason(), ex.getStatusCode());
     }
 
+    /**
+     * Maneja los conflictos de bloqueo optimista: otro usuario modificó el recurso entre su lectura y su escritura.
+     *
+     * @param ex Excepción de bloqueo optimista.
+     * @return ResponseEntity con un mensaje de error y estado HTTP 409.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return new ResponseEntity<>("El recurso fue modificado por otra petición. Vuelve a intentarlo.", HttpStatus.CONFLICT);
+    }
+
     /**
      * Maneja excepciones de credenciales incorrectas de Spring Security.
      *
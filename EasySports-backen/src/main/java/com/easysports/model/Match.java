@@ -79,6 +79,14 @@ public class Match {
     @JoinColumn(name = "equipo_visitante_id")
     private Team equipoVisitante;
     
+    /**
+     * La liga a la que pertenece el encuentro. Es nulo salvo en partidos formales de liga, cuyo
+     * resultado actualiza la clasificación.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "liga_id")
+    private Liga liga;
+
     /**
      * La cancha donde se jugará el encuentro.
      */
@@ -112,4 +120,12 @@ public class Match {
 
     @Column(length = 500)
     private String comentarios;
+
+    /**
+     * Versión para el bloqueo optimista. Cambia con cada modificación del encuentro
+     * y sirve de base para los ETag de la API.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
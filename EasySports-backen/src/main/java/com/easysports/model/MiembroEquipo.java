@@ -25,7 +25,8 @@ public class MiembroEquipo {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "miembro_equipo_seq")
-    @SequenceGenerator(name = "miembro_equipo_seq", sequenceName = "miembros_equipos_id_seq", allocationSize = 1)
+    // Los IDs se reservan en bloques de 50 para poder insertar invitaciones en lote (ver V7)
+    @SequenceGenerator(name = "miembro_equipo_seq", sequenceName = "miembros_equipos_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
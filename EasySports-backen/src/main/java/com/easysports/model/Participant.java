@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
  * Permite registrar cuándo se unió un usuario al partido.
  */
 @Entity
-@Table(name = "participantes_encuentro") // Asegúrate de que coincida con el nombre en tu base de datos
+@Table(name = "participantes_encuentro", // Asegúrate de que coincida con el nombre en tu base de datos
+        uniqueConstraints = @UniqueConstraint(name = "uk_participantes_encuentro_usuario", columnNames = {"encuentro_id", "user_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,40 @@
+package com.easysports.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Modelo de lectura con la plantilla de un equipo: una fila por miembro aceptado,
+ * con los datos que se devuelven en {@code TeamResponse}. Mapea a la tabla "roster_equipos".
+ * Se actualiza junto con {@link MiembroEquipo} al crear el equipo, aceptar una invitación
+ * o expulsar a un miembro.
+ */
+@Entity
+@Table(name = "roster_equipos")
+@IdClass(RosterEquipoId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RosterEquipo {
+
+    @Id
+    @Column(name = "equipo_id")
+    private Long equipoId;
+
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    @Column(name = "nombre_completo", nullable = false, length = 100)
+    private String nombreCompleto;
+
+    @Column(nullable = false, length = 150)
+    private String email;
+
+    @Column(name = "es_capitan", nullable = false)
+    private boolean esCapitan;
+}
@@ -0,0 +1,16 @@
+package com.easysports.model;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class RosterEquipoId implements Serializable {
+    private Long equipoId;  // Corresponde al campo 'equipoId' en la entidad RosterEquipo
+    private Long usuarioId; // Corresponde al campo 'usuarioId' en la entidad RosterEquipo
+}
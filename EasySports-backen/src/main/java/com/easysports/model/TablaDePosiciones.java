@@ -9,9 +9,11 @@ import lombok.NoArgsConstructor;
 /**
  * Entidad que representa la posición de un equipo en una liga.
  * Mapea a la tabla "tabla_posiciones".
+ * Los contadores sólo se modifican con incrementos atómicos desde {@code StandingsEngine}.
  */
 @Entity
-@Table(name = "tabla_posiciones")
+@Table(name = "tabla_posiciones",
+        uniqueConstraints = @UniqueConstraint(name = "uk_tabla_posiciones_liga_equipo", columnNames = {"liga_id", "equipo_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,18 +32,18 @@ public class TablaDePosiciones {
     @JoinColumn(name = "equipo_id")
     private Team equipo;
 
-    @Column(columnDefinition = "INT DEFAULT 0")
+    @Column(nullable = false, columnDefinition = "INT DEFAULT 0")
     private Integer puntos;
 
-    @Column(name = "pj", columnDefinition = "INT DEFAULT 0")
+    @Column(name = "pj", nullable = false, columnDefinition = "INT DEFAULT 0")
     private Integer partidosJugados;
 
-    @Column(name = "pg", columnDefinition = "INT DEFAULT 0")
+    @Column(name = "pg", nullable = false, columnDefinition = "INT DEFAULT 0")
     private Integer partidosGanados;
 
-    @Column(name = "pp", columnDefinition = "INT DEFAULT 0")
+    @Column(name = "pp", nullable = false, columnDefinition = "INT DEFAULT 0")
     private Integer partidosPerdidos;
 
-    @Column(name = "pe", columnDefinition = "INT DEFAULT 0")
+    @Column(name = "pe", nullable = false, columnDefinition = "INT DEFAULT 0")
     private Integer partidosEmpatados;
 }
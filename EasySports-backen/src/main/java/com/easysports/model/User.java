@@ -63,6 +63,10 @@ public class User {
     @Column(name = "fecha_registro", updatable = false)
     private LocalDateTime fechaRegistro;
 
+    // Versión vigente de sus JWT; sólo la cambia TokenVersions con un UPDATE atómico, nunca al guardar el usuario
+    @Column(name = "token_version", insertable = false, updatable = false, columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long tokenVersion;
+
     // Relación uno a muchos con MiembroEquipo (un usuario puede pertenecer a muchos equipos)
     @OneToMany(mappedBy = "usuario", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<MiembroEquipo> miembroEquipoList; // Lista de pertenencias/invitaciones del usuario
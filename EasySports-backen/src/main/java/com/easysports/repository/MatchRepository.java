@@ -4,6 +4,9 @@ import com.easysports.model.Court;
 import com.easysports.model.Match;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -13,7 +16,7 @@ import java.util.Optional;
  * Repositorio para la gestión de datos de la entidad Match (Encuentro).
  */
 @Repository
-public interface MatchRepository extends JpaRepository<Match, Long>, JpaSpecificationExecutor<Match> {
+public interface MatchRepository extends JpaRepository<Match, Long>, JpaSpecificationExecutor<Match>, MatchRepositoryCustom {
 
     /**
      * Busca un encuentro por su código único.
@@ -29,4 +32,22 @@ public interface MatchRepository extends JpaRepository<Match, Long>, JpaSpecific
      * @return true si existe un partido en esa cancha a esa hora, false en caso contrario.
      */
     boolean existsByCanchaAndFechaProgramada(Court cancha, LocalDateTime fechaProgramada);
+
+    /**
+     * Reserva plazas en un encuentro abierto con una única sentencia UPDATE condicional: incrementa
+     * {@code jugadoresActuales} sólo si el encuentro sigue ABIERTO y le quedan plazas suficientes, y lo
+     * marca como LLENO al ocupar la última. La fila queda bloqueada hasta el fin de la transacción, así que
+     * reservas simultáneas nunca superan {@code maxJugadores}. Como toda modificación, incrementa la versión.
+     *
+     * @param id     El id del encuentro.
+     * @param plazas Número de plazas a reservar.
+     * @return 1 si se reservaron las plazas, 0 si el encuentro no está abierto o no tiene plazas suficientes.
+     */
+    @Modifying
+    @Query("UPDATE Match m SET m.jugadoresActuales = m.jugadoresActuales + :plazas, m.version = m.version + 1, "
+            + "m.estado = CASE WHEN m.jugadoresActuales + :plazas >= m.maxJugadores "
+            + "THEN com.easysports.enums.MatchStatus.LLENO ELSE m.estado END "
+            + "WHERE m.id = :id AND m.estado = com.easysports.enums.MatchStatus.ABIERTO "
+            + "AND m.jugadoresActuales + :plazas <= m.maxJugadores")
+    int reservarPlazas(@Param("id") Long id, @Param("plazas") int plazas);
 }
@@ -0,0 +1,61 @@
+package com.easysports.repository;
+
+import com.easysports.dto.match.MatchCursor;
+import com.easysports.dto.match.MatchResponse;
+import com.easysports.model.Match;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Fragmento de repositorio con consultas de lectura de encuentros que proyectan
+ * directamente a DTOs, sin cargar entidades ni sus asociaciones perezosas.
+ */
+public interface MatchRepositoryCustom {
+
+    /**
+     * Busca una página de encuentros que cumplen la especificación y la devuelve ya proyectada
+     * a {@link MatchResponse}. Los nombres de los equipos se resuelven en la misma consulta SQL,
+     * por lo que cada página cuesta una consulta de datos más, como mucho, una de conteo.
+     *
+     * @param spec     Especificación con los filtros a aplicar (puede definir un orden por defecto).
+     * @param pageable Información de paginación y ordenamiento; si trae orden, prevalece sobre el de la especificación.
+     * @return Una página de DTOs de encuentros.
+     */
+    Page<MatchResponse> findAllAsResponse(Specification<Match> spec, Pageable pageable);
+
+    /**
+     * Busca la porción de encuentros que sigue al cursor, ordenados por {@code (fechaProgramada, id)}.
+     * Usa paginación por clave (keyset): no ejecuta consulta de conteo ni recorre filas con OFFSET.
+     *
+     * @param spec   Especificación con los filtros a aplicar; su orden se sustituye por el del cursor.
+     * @param cursor Posición a partir de la cual continuar (nulo para la primera porción).
+     * @param size   Número máximo de encuentros a devolver.
+     * @return Una porción de DTOs que indica si hay más resultados.
+     */
+    Slice<MatchResponse> findSliceAsResponse(Specification<Match> spec, MatchCursor cursor, int size);
+
+    /**
+     * Busca un encuentro por su código y lo devuelve ya proyectado a {@link MatchResponse} en una sola consulta.
+     *
+     * @param codigo Código único del encuentro.
+     * @return El DTO del encuentro, o vacío si no existe.
+     */
+    Optional<MatchResponse> findResponseByCodigo(String codigo);
+
+    /**
+     * Recorre hacia adelante, ordenados por {@code (fechaProgramada, id)}, todos los encuentros que cumplen
+     * la especificación, proyectados a {@link MatchResponse}. Las filas se leen del cursor JDBC en bloques de
+     * {@code fetchSize} y no se guardan en el contexto de persistencia, así que la memoria no crece con el
+     * tamaño del resultado. El flujo debe consumirse y cerrarse dentro de la transacción que lo abre.
+     *
+     * @param spec      Especificación con los filtros a aplicar; su orden se sustituye por el de recorrido.
+     * @param fetchSize Número de filas que el driver trae de la base de datos en cada viaje.
+     * @return Un flujo de DTOs que hay que cerrar tras usarlo.
+     */
+    Stream<MatchResponse> streamAsResponse(Specification<Match> spec, int fetchSize);
+}
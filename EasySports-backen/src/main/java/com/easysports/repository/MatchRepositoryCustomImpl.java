@@ -0,0 +1,182 @@
+package com.easysports.repository;
+
+import com.easysports.dto.match.MatchCursor;
+import com.easysports.dto.match.MatchResponse;
+import com.easysports.model.Match;
+import com.easysports.model.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de {@link MatchRepositoryCustom} basada en la Criteria API.
+ * Reutiliza las mismas {@link Specification} que el repositorio estándar, pero selecciona
+ * un constructor de {@link MatchResponse} en lugar de la entidad {@link Match}.
+ */
+@Transactional(readOnly = true)
+public class MatchRepositoryCustomImpl implements MatchRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<MatchResponse> findAllAsResponse(Specification<Match> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MatchResponse> query = cb.createQuery(MatchResponse.class);
+        Root<Match> root = query.from(Match.class);
+        query.select(responseSelection(cb, root));
+        applySpecification(spec, root, query, cb);
+
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<MatchResponse> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<MatchResponse> content = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<MatchResponse> findSliceAsResponse(Specification<Match> spec, MatchCursor cursor, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MatchResponse> query = cb.createQuery(MatchResponse.class);
+        Root<Match> root = query.from(Match.class);
+        query.select(responseSelection(cb, root));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        Path<LocalDateTime> fechaProgramada = root.get("fechaProgramada");
+        Path<Long> id = root.get("id");
+        if (cursor != null) {
+            // (fechaProgramada, id) > (cursor.fecha, cursor.id)
+            predicates.add(cb.or(
+                    cb.greaterThan(fechaProgramada, cursor.fechaProgramada()),
+                    cb.and(cb.equal(fechaProgramada, cursor.fechaProgramada()), cb.greaterThan(id, cursor.id()))));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(fechaProgramada), cb.asc(id));
+
+        // Se pide una fila de más para saber si existe una porción siguiente sin contar
+        List<MatchResponse> content = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+        return new SliceImpl<>(content, PageRequest.ofSize(size), hasNext);
+    }
+
+    @Override
+    public Optional<MatchResponse> findResponseByCodigo(String codigo) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MatchResponse> query = cb.createQuery(MatchResponse.class);
+        Root<Match> root = query.from(Match.class);
+        query.select(responseSelection(cb, root));
+        query.where(cb.equal(root.get("codigo"), codigo));
+        return entityManager.createQuery(query).getResultList().stream().findFirst();
+    }
+
+    @Override
+    public Stream<MatchResponse> streamAsResponse(Specification<Match> spec, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MatchResponse> query = cb.createQuery(MatchResponse.class);
+        Root<Match> root = query.from(Match.class);
+        query.select(responseSelection(cb, root));
+        applySpecification(spec, root, query, cb);
+        query.orderBy(cb.asc(root.get("fechaProgramada")), cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    /**
+     * Cuenta los encuentros que cumplen la especificación, descartando el orden que ésta pudiera definir.
+     */
+    private long count(Specification<Match> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Match> root = query.from(Match.class);
+        applySpecification(spec, root, query, cb);
+        query.select(cb.count(root));
+        query.orderBy(Collections.emptyList());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private void applySpecification(Specification<Match> spec, Root<Match> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (spec == null) {
+            return;
+        }
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    /**
+     * Construye la selección de {@link MatchResponse}. Las referencias a cancha y creador se leen
+     * de sus claves foráneas; sólo los equipos necesitan un LEFT JOIN para obtener su nombre.
+     */
+    private CompoundSelection<MatchResponse> responseSelection(CriteriaBuilder cb, Root<Match> root) {
+        Join<Match, Team> equipoLocal = root.join("equipoLocal", JoinType.LEFT);
+        Join<Match, Team> equipoVisitante = root.join("equipoVisitante", JoinType.LEFT);
+
+        return cb.construct(MatchResponse.class,
+                root.get("id"),
+                root.get("codigo"),
+                root.get("tipo"),
+                root.get("deporte"),
+                root.get("estado"),
+                root.get("fechaProgramada"),
+                root.get("cancha").get("id"),
+                root.get("nombreCanchaTexto"),
+                root.get("creador").get("id"),
+                equipoLocal.get("id"),
+                equipoLocal.get("nombre"),
+                equipoVisitante.get("id"),
+                equipoVisitante.get("nombre"),
+                root.get("liga").get("id"),
+                root.get("maxJugadores"),
+                root.get("jugadoresActuales"),
+                root.get("golesLocal"),
+                root.get("golesVisitante"),
+                root.get("comentarios"),
+                root.get("version"));
+    }
+}
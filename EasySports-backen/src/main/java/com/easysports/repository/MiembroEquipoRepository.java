@@ -1,12 +1,18 @@
 package com.easysports.repository;
 
+import com.easysports.dto.team.MiEquipoResponse;
 import com.easysports.model.MiembroEquipo;
 import com.easysports.enums.EstadoMiembro;
 import com.easysports.model.Team;
 import com.easysports.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,6 +54,33 @@ public interface MiembroEquipoRepository extends JpaRepository<MiembroEquipo, Lo
      */
     Optional<MiembroEquipo> findByUsuarioIdAndEquipoIdAndEstado(Long usuarioId, Long equipoId, EstadoMiembro estado);
 
+    /**
+     * Busca en una sola consulta las relaciones (en cualquier estado) de varios usuarios con un equipo.
+     * @param equipoId ID del equipo.
+     * @param usuarioIds IDs de los usuarios a comprobar.
+     * @return Relaciones existentes de esos usuarios con el equipo.
+     */
+    List<MiembroEquipo> findByEquipoIdAndUsuarioIdIn(Long equipoId, Collection<Long> usuarioIds);
+
     // Opcional: Método para buscar por equipoId y usuarioId (sin estado específico)
     Optional<MiembroEquipo> findByEquipoIdAndUsuarioId(Long equipoId, Long usuarioId);
-}
\ No newline at end of file
+
+    /**
+     * Equipos del usuario en los estados indicados, con su estado de membresía, capitán y número de miembros,
+     * resueltos en una sola consulta. El orden se indica con los alias de la consulta
+     * ({@code t} para el equipo, {@code m} para la membresía).
+     * @param usuarioId ID del usuario.
+     * @param estados Estados de membresía a incluir.
+     * @param pageable Paginación y ordenamiento.
+     * @return Página de equipos del usuario.
+     */
+    @Query(value = "SELECT new com.easysports.dto.team.MiEquipoResponse("
+            + "t.id, t.nombre, t.tipoDeporte, c.id, c.nombreCompleto, t.partidosGanados, m.estado, "
+            + "(SELECT COUNT(r) FROM RosterEquipo r WHERE r.equipoId = t.id)) "
+            + "FROM MiembroEquipo m JOIN m.equipo t JOIN t.capitan c "
+            + "WHERE m.usuario.id = :usuarioId AND m.estado IN :estados",
+            countQuery = "SELECT COUNT(m) FROM MiembroEquipo m WHERE m.usuario.id = :usuarioId AND m.estado IN :estados")
+    Page<MiEquipoResponse> findMisEquipos(@Param("usuarioId") Long usuarioId,
+                                          @Param("estados") Collection<EstadoMiembro> estados,
+                                          Pageable pageable);
+}
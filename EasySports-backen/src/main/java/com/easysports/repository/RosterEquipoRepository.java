@@ -0,0 +1,53 @@
+package com.easysports.repository;
+
+import com.easysports.model.RosterEquipo;
+import com.easysports.model.RosterEquipoId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio de la plantilla materializada de los equipos.
+ */
+@Repository
+public interface RosterEquipoRepository extends JpaRepository<RosterEquipo, RosterEquipoId> {
+
+    /**
+     * Plantilla de un equipo, con el capitán primero.
+     * @param equipoId ID del equipo.
+     * @return Miembros aceptados del equipo.
+     */
+    List<RosterEquipo> findByEquipoIdOrderByEsCapitanDescNombreCompletoAsc(Long equipoId);
+
+    /**
+     * Plantillas de varios equipos en una sola consulta.
+     * @param equipoIds IDs de los equipos.
+     * @return Miembros aceptados de todos los equipos indicados.
+     */
+    List<RosterEquipo> findByEquipoIdInOrderByEsCapitanDescNombreCompletoAsc(Collection<Long> equipoIds);
+
+    /**
+     * Quita a un usuario de la plantilla de un equipo sin cargar la fila.
+     * @param equipoId ID del equipo.
+     * @param usuarioId ID del usuario.
+     * @return Número de filas eliminadas (0 o 1).
+     */
+    @Modifying
+    @Query("DELETE FROM RosterEquipo r WHERE r.equipoId = :equipoId AND r.usuarioId = :usuarioId")
+    int eliminar(@Param("equipoId") Long equipoId, @Param("usuarioId") Long usuarioId);
+
+    /**
+     * Propaga el cambio de nombre de un usuario a todas las plantillas en las que aparece.
+     * @param usuarioId ID del usuario.
+     * @param nombreCompleto Nuevo nombre.
+     * @return Número de filas actualizadas.
+     */
+    @Modifying
+    @Query("UPDATE RosterEquipo r SET r.nombreCompleto = :nombreCompleto WHERE r.usuarioId = :usuarioId")
+    int actualizarNombre(@Param("usuarioId") Long usuarioId, @Param("nombreCompleto") String nombreCompleto);
+}
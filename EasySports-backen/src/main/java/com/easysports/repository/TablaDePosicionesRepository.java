@@ -1,9 +1,13 @@
 package com.easysports.repository;
 
+import com.easysports.dto.liga.TablaPosicionesResponse;
 import com.easysports.model.Liga;
 import com.easysports.model.TablaDePosiciones;
 import com.easysports.model.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -32,4 +36,61 @@ public interface TablaDePosicionesRepository extends JpaRepository<TablaDePosici
      * @return Una lista de {@link TablaDePosiciones} para la liga especificada.
      */
     List<TablaDePosiciones> findByLiga(Liga liga);
+
+    /**
+     * Clasificación de una liga en una sola consulta: resuelve los nombres del equipo y de la liga, ordena en
+     * la base de datos (índice {@code idx_tabla_posiciones_clasificacion}) y calcula la posición con
+     * {@code RANK()}, de modo que los equipos empatados en puntos, ganados y empatados comparten posición.
+     * El orden de los campos debe coincidir con el constructor de {@link TablaPosicionesResponse}.
+     *
+     * @param ligaId ID de la liga.
+     * @return La clasificación ordenada; vacía si la liga no existe o aún no tiene equipos.
+     */
+    @Query("SELECT new com.easysports.dto.liga.TablaPosicionesResponse("
+            + "RANK() OVER (ORDER BY t.puntos DESC, t.partidosGanados DESC, t.partidosEmpatados DESC), "
+            + "e.id, e.nombre, l.id, l.nombre, l.deporte, t.puntos, t.partidosJugados, t.partidosGanados, "
+            + "t.partidosPerdidos, t.partidosEmpatados) "
+            + "FROM TablaDePosiciones t JOIN t.equipo e JOIN t.liga l "
+            + "WHERE t.liga.id = :ligaId "
+            + "ORDER BY t.puntos DESC, t.partidosGanados DESC, t.partidosEmpatados DESC, e.nombre")
+    List<TablaPosicionesResponse> findClasificacion(@Param("ligaId") Long ligaId);
+
+    /**
+     * IDs de las ligas en cuya clasificación aparece un equipo.
+     *
+     * @param equipoId ID del equipo.
+     * @return Las ligas del equipo; vacía si no juega ninguna.
+     */
+    @Query("SELECT t.liga.id FROM TablaDePosiciones t WHERE t.equipo.id = :equipoId")
+    List<Long> findLigaIdsByEquipoId(@Param("equipoId") Long equipoId);
+
+    /**
+     * Crea la fila de un equipo en la clasificación de una liga, con los contadores a cero, si aún no existe.
+     * Con transacciones concurrentes sobre el mismo equipo, la segunda espera a la primera y no inserta nada.
+     *
+     * @param ligaId ID de la liga.
+     * @param equipoId ID del equipo.
+     * @return 1 si se creó la fila, 0 si ya existía.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tabla_posiciones (liga_id, equipo_id, puntos, pj, pg, pp, pe) "
+            + "VALUES (:ligaId, :equipoId, 0, 0, 0, 0, 0) "
+            + "ON CONFLICT (liga_id, equipo_id) DO NOTHING", nativeQuery = true)
+    int crearSiNoExiste(@Param("ligaId") Long ligaId, @Param("equipoId") Long equipoId);
+
+    /**
+     * Suma (o resta, con valores negativos) los contadores de un equipo en la clasificación de una liga.
+     * El incremento lo hace la base de datos sobre la fila bloqueada, sin leer antes los valores, de modo
+     * que los resultados concurrentes de distintos encuentros nunca se pisan.
+     *
+     * @return 1 si se actualizó la fila, 0 si el equipo no tiene fila en la liga.
+     */
+    @Modifying
+    @Query("UPDATE TablaDePosiciones t SET t.puntos = t.puntos + :puntos, "
+            + "t.partidosJugados = t.partidosJugados + :jugados, t.partidosGanados = t.partidosGanados + :ganados, "
+            + "t.partidosEmpatados = t.partidosEmpatados + :empatados, t.partidosPerdidos = t.partidosPerdidos + :perdidos "
+            + "WHERE t.liga.id = :ligaId AND t.equipo.id = :equipoId")
+    int sumar(@Param("ligaId") Long ligaId, @Param("equipoId") Long equipoId, @Param("puntos") int puntos,
+              @Param("jugados") int jugados, @Param("ganados") int ganados,
+              @Param("empatados") int empatados, @Param("perdidos") int perdidos);
 }
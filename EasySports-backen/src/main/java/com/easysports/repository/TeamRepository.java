@@ -1,7 +1,13 @@
 package com.easysports.repository;
 
+import com.easysports.enums.Deporte;
 import com.easysports.model.Team;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,4 +19,50 @@ import java.util.Optional;
 public interface TeamRepository extends JpaRepository<Team, Long> {
     
     Optional<Team> findByNombre(String nombre);
-}
\ No newline at end of file
+
+    /**
+     * Busca una página de equipos de un deporte.
+     * @param tipoDeporte Deporte de los equipos.
+     * @param pageable Paginación y ordenamiento.
+     * @return Página de equipos (sin miembros cargados).
+     */
+    Page<Team> findByTipoDeporte(Deporte tipoDeporte, Pageable pageable);
+
+    /**
+     * Busca equipos por nombre con los índices de texto completo y de trigramas de V9 (solo PostgreSQL).
+     * Un equipo coincide si contiene todas las palabras buscadas o si su nombre se parece al texto
+     * (erratas, palabras a medio escribir); se ordenan de más a menos relevante.
+     * @param texto Texto buscado, tal como lo escribe el usuario.
+     * @param tipoDeporte Nombre del deporte para filtrar, o {@code null} para todos.
+     * @param pageable Paginación (el orden lo fija la relevancia).
+     * @return Página de equipos (sin miembros cargados).
+     */
+    @Query(value = """
+            SELECT t.* FROM equipos t
+            WHERE (CAST(:deporte AS VARCHAR) IS NULL OR t.tipo_deporte = CAST(:deporte AS VARCHAR))
+              AND (t.nombre_busqueda @@ plainto_tsquery('simple', normalizar_busqueda(:texto))
+                   OR normalizar_busqueda(t.nombre) %> normalizar_busqueda(:texto))
+            ORDER BY ts_rank(t.nombre_busqueda, plainto_tsquery('simple', normalizar_busqueda(:texto))) DESC,
+                     word_similarity(normalizar_busqueda(:texto), normalizar_busqueda(t.nombre)) DESC,
+                     t.id
+            """,
+            countQuery = """
+            SELECT COUNT(*) FROM equipos t
+            WHERE (CAST(:deporte AS VARCHAR) IS NULL OR t.tipo_deporte = CAST(:deporte AS VARCHAR))
+              AND (t.nombre_busqueda @@ plainto_tsquery('simple', normalizar_busqueda(:texto))
+                   OR normalizar_busqueda(t.nombre) %> normalizar_busqueda(:texto))
+            """,
+            nativeQuery = true)
+    Page<Team> buscarPorNombre(@Param("texto") String texto, @Param("deporte") String tipoDeporte, Pageable pageable);
+
+    /**
+     * Suma (o resta, con un valor negativo) partidos ganados a un equipo con un incremento atómico.
+     *
+     * @param equipoId ID del equipo.
+     * @param delta Partidos ganados a sumar.
+     * @return 1 si se actualizó el equipo, 0 si no existe.
+     */
+    @Modifying
+    @Query("UPDATE Team t SET t.partidosGanados = t.partidosGanados + :delta WHERE t.id = :equipoId")
+    int sumarPartidosGanados(@Param("equipoId") Long equipoId, @Param("delta") int delta);
+}
@@ -2,10 +2,12 @@ package com.easysports.repository;
 
 import com.easysports.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +16,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    /**
+     * Busca en una sola consulta los usuarios con cualquiera de los emails indicados.
+     * @param emails Emails a buscar.
+     * @return Usuarios encontrados (los emails sin usuario no aparecen).
+     */
+    List<User> findByEmailIn(Collection<String> emails);
+
     /**
      * Busca usuarios por nombre completo o email, excluyendo al usuario actual y a los miembros de un equipo específico.
      * @param query El término de búsqueda.
@@ -23,4 +32,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u WHERE u.id <> :currentUserId AND u.id NOT IN (SELECT m.usuario.id FROM MiembroEquipo m WHERE m.equipo.id = :equipoId) AND (LOWER(u.nombreCompleto) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%')))")
     List<User> searchUsers(@Param("query") String query, @Param("equipoId") Long equipoId, @Param("currentUserId") Long currentUserId);
+
+    /**
+     * Obtiene la versión vigente de los tokens de un usuario sin cargar la entidad.
+     * @param id ID del usuario.
+     * @return La versión, o vacío si el usuario no existe.
+     */
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+    /**
+     * Incrementa la versión de los tokens de un usuario con una única sentencia UPDATE, así que dos
+     * revocaciones simultáneas se suman las dos.
+     * @param id ID del usuario.
+     * @return Número de filas actualizadas (0 si el usuario no existe).
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementarTokenVersion(@Param("id") Long id);
 }
@@ -0,0 +1,143 @@
+package com.easysports.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link PasswordEncoder} que ejecuta el hash y la verificación de contraseñas (BCrypt, caro a propósito)
+ * en un pool propio de pocos hilos con una cola acotada. Así una avalancha de logins o registros sólo
+ * ocupa esos hilos de CPU y no deja sin procesador al resto de endpoints: el hilo de la petición espera
+ * sin consumir CPU y, si la cola está llena o la espera supera el límite, la petición se rechaza al momento
+ * con un 503 en lugar de acumularse.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration espera;
+    private final AtomicInteger rechazadas = new AtomicInteger();
+
+    /**
+     * @param delegate Codificador que hace el trabajo (BCrypt).
+     * @param hilos    Hilos dedicados al hash de contraseñas.
+     * @param cola     Operaciones que pueden esperar turno; a partir de ahí se rechazan. Debe poder despacharse
+     *                 dentro de {@code espera}: con una cola mayor las peticiones caducan antes de llegar su turno.
+     * @param espera   Tiempo máximo que una petición espera su resultado.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int hilos, int cola, Duration espera) {
+        this.delegate = delegate;
+        this.espera = espera;
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola), new HashThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return ejecutar(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return ejecutar(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * @return El codificador que hace el trabajo, sin pool ni límites; para procesos por lotes que
+     * gestionan su propio pool (ej: la importación de usuarios desde CSV).
+     */
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("easysports.contrasenas.cola", executor, pool -> pool.getQueue().size())
+                .description("Operaciones de hash de contraseñas esperando un hilo")
+                .register(registry);
+        Gauge.builder("easysports.contrasenas.activas", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Operaciones de hash de contraseñas en curso")
+                .register(registry);
+        FunctionCounter.builder("easysports.contrasenas.rechazadas", rechazadas, AtomicInteger::get)
+                .description("Operaciones rechazadas por saturación del pool de contraseñas")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /* --------------------- Helpers --------------------- */
+
+    private <T> T ejecutar(Callable<T> operacion) {
+        Future<T> resultado;
+        try {
+            resultado = executor.submit(operacion);
+        } catch (RejectedExecutionException ex) {
+            throw saturado();
+        }
+        try {
+            return resultado.get(espera.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            abandonar(resultado);
+            throw saturado();
+        } catch (InterruptedException ex) {
+            abandonar(resultado);
+            Thread.currentThread().interrupt();
+            throw saturado();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    // Una tarea cancelada seguiría ocupando su hueco en la cola hasta que un hilo la descartara
+    private void abandonar(Future<?> resultado) {
+        resultado.cancel(true);
+        if (resultado instanceof Runnable tarea) {
+            executor.remove(tarea);
+        }
+    }
+
+    private ResponseStatusException saturado() {
+        rechazadas.incrementAndGet();
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "El servicio de autenticación está saturado. Vuelve a intentarlo en unos segundos.");
+    }
+
+    private static final class HashThreadFactory implements ThreadFactory {
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "hash-contrasenas-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -14,25 +14,31 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Filtro de autenticación JWT que se ejecuta una vez por cada petición.
  * Intercepta las peticiones para validar el token JWT presente en la cabecera "Authorization".
+ * El principal se construye con los datos firmados del token, sin consultar la base de datos; sólo los
+ * tokens emitidos antes de incluir el ID del usuario requieren cargarlo.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenVersions tokenVersions;
 
     /**
      * Constructor para la inyección de dependencias.
      * @param jwtUtil Utilidad para manejar operaciones JWT.
-     * @param userDetailsService Servicio para cargar los detalles del usuario.
+     * @param userDetailsService Servicio para cargar los detalles del usuario (tokens sin ID de usuario).
+     * @param tokenVersions Versiones vigentes de los tokens, para rechazar los revocados.
      */
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, TokenVersions tokenVersions) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tokenVersions = tokenVersions;
     }
 
     /**
@@ -49,18 +55,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Un único análisis por petición (o ninguno si el token ya se verificó antes)
+            Optional<JwtUtil.VerifiedToken> token = jwtUtil.verify(authorizationHeader.substring(7));
 
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            UserDetails userDetails = token.map(this::principal).orElse(null);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 usernamePasswordAuthenticationToken
@@ -70,4 +71,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Obtiene el principal de un token verificado.
+     * @param token Datos del token.
+     * @return El principal, o {@code null} si el token se ha revocado.
+     */
+    private UserDetails principal(JwtUtil.VerifiedToken token) {
+        UserDetailsImpl userDetails = token.userId() != null
+                ? UserDetailsImpl.desdeToken(token)
+                : (UserDetailsImpl) userDetailsService.loadUserByUsername(token.username());
+        // Un token más nuevo que la versión recordada sólo indica que ésta aún no se ha releído: se acepta
+        long vigente = tokenVersions.actual(userDetails.getUser().getId());
+        return token.version() >= vigente ? userDetails : null;
+    }
 }
@@ -0,0 +1,52 @@
+package com.easysports.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Filtro que aplica los límites de {@link RateLimiter} justo después de {@link JwtAuthenticationFilter},
+ * de modo que las rutas limitadas por usuario ya conocen al usuario. Una petición que supera el límite
+ * recibe un 429 con la cabecera {@code Retry-After} sin llegar al controlador, la base de datos ni BCrypt.
+ * <p>
+ * No es un {@code @Component}: Spring Boot lo registraría además como filtro de servlet, delante de la
+ * cadena de seguridad y sin el usuario autenticado. Lo crea {@code SecurityConfig}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    /**
+     * @param rateLimiter Limitador con las reglas por ruta.
+     */
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Duration espera = rateLimiter.consumir(request);
+        if (espera.isZero()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // Retry-After se expresa en segundos enteros; se redondea hacia arriba para no invitar a reintentar antes
+        long segundos = Math.max(1, (espera.toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("Demasiadas peticiones. Vuelve a intentarlo en " + segundos + " segundos.");
+    }
+}
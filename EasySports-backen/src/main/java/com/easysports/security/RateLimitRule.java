@@ -0,0 +1,92 @@
+package com.easysports.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Límite de peticiones de una ruta: un cubo de {@code capacidad} fichas que se rellena a razón de
+ * {@code capacidad} fichas por {@code periodo}. Permite ráfagas de hasta {@code capacidad} peticiones y,
+ * sostenido, el ritmo del periodo. El cubo es por usuario autenticado o, si no lo hay, por IP del cliente.
+ */
+public final class RateLimitRule {
+
+    private final String nombre;
+    private final AntPathRequestMatcher matcher;
+    private final boolean porUsuario;
+    private final int capacidad;
+    private final Duration periodo;
+    private final AtomicLong rechazadas = new AtomicLong();
+
+    /**
+     * @param nombre     Nombre de la regla (prefijo de las claves y etiqueta de las métricas).
+     * @param metodo     Método HTTP al que se aplica.
+     * @param patron     Patrón Ant de la ruta (ej: "/api/v1/users/search").
+     * @param porUsuario {@code true} para limitar por usuario autenticado; {@code false} siempre por IP.
+     * @param capacidad  Ráfaga máxima; 0 desactiva la regla.
+     * @param periodo    Tiempo en que se recupera la capacidad completa.
+     */
+    public RateLimitRule(String nombre, HttpMethod metodo, String patron, boolean porUsuario, int capacidad, Duration periodo) {
+        if (capacidad < 0 || periodo.isNegative() || (capacidad > 0 && periodo.isZero())) {
+            throw new IllegalArgumentException("Límite no válido para " + nombre + ": " + capacidad + "/" + periodo);
+        }
+        this.nombre = nombre;
+        this.matcher = new AntPathRequestMatcher(patron, metodo.name());
+        this.porUsuario = porUsuario;
+        this.capacidad = capacidad;
+        this.periodo = periodo;
+    }
+
+    /**
+     * Construye la regla a partir de un límite con formato {@code "capacidad/periodo"} (ej: "10/1m", "5/30s").
+     * Un límite "0" desactiva la regla.
+     */
+    public static RateLimitRule of(String nombre, HttpMethod metodo, String patron, boolean porUsuario, String limite) {
+        String[] partes = limite.trim().split("/", 2);
+        try {
+            int capacidad = Integer.parseInt(partes[0].trim());
+            Duration periodo = partes.length > 1 ? DurationStyle.detectAndParse(partes[1].trim()) : Duration.ZERO;
+            return new RateLimitRule(nombre, metodo, patron, porUsuario, capacidad, periodo);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Límite no válido para " + nombre + ": '" + limite + "'", ex);
+        }
+    }
+
+    boolean aplicaA(HttpServletRequest request) {
+        return capacidad > 0 && matcher.matches(request);
+    }
+
+    // Tiempo entre dos fichas
+    long intervaloNanos() {
+        return periodo.toNanos() / capacidad;
+    }
+
+    // Adelanto máximo sobre el ritmo sostenido que se tolera: el resto de la ráfaga
+    long toleranciaNanos() {
+        return intervaloNanos() * (capacidad - 1);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public boolean isPorUsuario() {
+        return porUsuario;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public Duration getPeriodo() {
+        return periodo;
+    }
+
+    AtomicLong rechazadas() {
+        return rechazadas;
+    }
+}
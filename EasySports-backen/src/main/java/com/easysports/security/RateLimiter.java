@@ -0,0 +1,127 @@
+package com.easysports.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de peticiones por cubos de fichas, sin bloqueos.
+ * <p>
+ * Cada cubo se guarda como un único {@code long}: el instante teórico en que volvería a estar lleno
+ * (algoritmo GCRA, equivalente al cubo de fichas). Consumir una ficha es una comparación y un
+ * compare-and-set, así que las peticiones concurrentes del mismo cliente nunca se esperan entre sí.
+ * Los cubos viven en una caché acotada que descarta los que llevan un periodo completo sin uso: para
+ * entonces ya estarían llenos y descartarlos no cambia nada.
+ */
+@Component
+public class RateLimiter implements MeterBinder {
+
+    private final List<RateLimitRule> reglas;
+    private final LongSupplier reloj;
+    private final Cache<String, AtomicLong> cubos;
+
+    /**
+     * Constructor para la inyección de dependencias, con un límite {@code "capacidad/periodo"} por ruta.
+     * @param login          Límite de {@code POST /api/auth/login}, por IP.
+     * @param registro       Límite de {@code POST /api/auth/registro}, por IP.
+     * @param unirse         Límite de {@code POST /api/v1/matches/{codigo}/unirse}, por usuario.
+     * @param buscarUsuarios Límite de {@code GET /api/v1/users/search}, por usuario.
+     * @param maxClaves      Máximo de cubos (clientes por ruta) que se conservan.
+     */
+    @Autowired
+    public RateLimiter(@Value("${easysports.limites.login:20/1m}") String login,
+                       @Value("${easysports.limites.registro:5/10m}") String registro,
+                       @Value("${easysports.limites.unirse:30/1m}") String unirse,
+                       @Value("${easysports.limites.buscar-usuarios:60/1m}") String buscarUsuarios,
+                       @Value("${easysports.limites.max-claves:100000}") long maxClaves) {
+        this(List.of(
+                RateLimitRule.of("login", HttpMethod.POST, "/api/auth/login", false, login),
+                RateLimitRule.of("registro", HttpMethod.POST, "/api/auth/registro", false, registro),
+                RateLimitRule.of("unirse", HttpMethod.POST, "/api/v1/matches/*/unirse", true, unirse),
+                RateLimitRule.of("buscar-usuarios", HttpMethod.GET, "/api/v1/users/search", true, buscarUsuarios)),
+                maxClaves, System::nanoTime);
+    }
+
+    RateLimiter(List<RateLimitRule> reglas, long maxClaves, LongSupplier reloj) {
+        this.reglas = reglas;
+        this.reloj = reloj;
+        Duration mayorPeriodo = reglas.stream().map(RateLimitRule::getPeriodo).max(Duration::compareTo).orElse(Duration.ZERO);
+        this.cubos = Caffeine.newBuilder()
+                .maximumSize(maxClaves)
+                .expireAfterAccess(mayorPeriodo)
+                .ticker(reloj::getAsLong)
+                .build();
+    }
+
+    /**
+     * Consume una ficha del cubo del cliente para la ruta de la petición, si alguna regla se aplica a ella.
+     *
+     * @param request La petición HTTP (ya autenticada, si lleva token).
+     * @return {@link Duration#ZERO} si la petición puede continuar; si no, el tiempo hasta que haya ficha.
+     */
+    public Duration consumir(HttpServletRequest request) {
+        for (RateLimitRule regla : reglas) {
+            if (regla.aplicaA(request)) {
+                return consumir(regla, clave(regla, request));
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (RateLimitRule regla : reglas) {
+            FunctionCounter.builder("easysports.limites.rechazadas", regla.rechazadas(), AtomicLong::get)
+                    .description("Peticiones rechazadas con 429 por superar el límite de la ruta")
+                    .tag("ruta", regla.getNombre())
+                    .register(registry);
+        }
+    }
+
+    /* --------------------- Helpers --------------------- */
+
+    Duration consumir(RateLimitRule regla, String clave) {
+        AtomicLong cubo = cubos.get(clave, k -> new AtomicLong(Long.MIN_VALUE));
+        long intervalo = regla.intervaloNanos();
+        long tolerancia = regla.toleranciaNanos();
+        while (true) {
+            long ahora = reloj.getAsLong();
+            long lleno = cubo.get();
+            // Un cubo nuevo o inactivo está lleno: cuenta desde ahora
+            long base = lleno == Long.MIN_VALUE || lleno - ahora < 0 ? ahora : lleno;
+            long adelanto = base - ahora;
+            if (adelanto > tolerancia) {
+                regla.rechazadas().incrementAndGet();
+                return Duration.ofNanos(adelanto - tolerancia);
+            }
+            if (cubo.compareAndSet(lleno, base + intervalo)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    private static String clave(RateLimitRule regla, HttpServletRequest request) {
+        if (regla.isPorUsuario()) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl detalles
+                    && detalles.getUser().getId() != null) {
+                return regla.getNombre() + ":u" + detalles.getUser().getId();
+            }
+        }
+        return regla.getNombre() + ":ip" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,70 @@
+package com.easysports.security;
+
+import com.easysports.repository.UserRepository;
+import com.easysports.util.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * Versión vigente de los tokens de cada usuario. Cada JWT lleva la versión de su usuario al emitirse y
+ * el filtro de autenticación lo rechaza si es anterior a la actual, así que {@link #revocar(long)}
+ * invalida de golpe todos los tokens emitidos hasta ese momento.
+ * <p>
+ * Cualquier cambio de contraseña o de roles de un usuario debe llamar a {@link #revocar(long)}.
+ * La versión se guarda en {@code usuarios.token_version}, por lo que una revocación sobrevive a los
+ * reinicios. Aquí sólo se recuerda la de los usuarios con tokens en uso, cargada la primera vez que se
+ * necesita; la caducidad de cada entrada acota el tiempo que otra instancia tarda en ver una revocación.
+ */
+@Component
+public class TokenVersions {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Long> versiones;
+
+    /**
+     * @param userRepository Repositorio de usuarios, de donde se leen y donde se incrementan las versiones.
+     * @param maxSize        Máximo de usuarios cuya versión se recuerda.
+     * @param ttl            Tiempo tras el que se vuelve a leer la versión de un usuario.
+     */
+    public TokenVersions(UserRepository userRepository,
+                         @Value("${jwt.versiones.max-size:100000}") long maxSize,
+                         @Value("${jwt.versiones.ttl:1m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.versiones = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @param usuarioId ID del usuario.
+     * @return La versión mínima que deben llevar sus tokens para ser aceptados (0 si el usuario no existe).
+     */
+    public long actual(long usuarioId) {
+        return versiones.get(usuarioId, id -> userRepository.findTokenVersionById(id).orElse(0L));
+    }
+
+    /**
+     * Invalida todos los tokens emitidos hasta ahora para el usuario.
+     *
+     * @param usuarioId ID del usuario.
+     * @return La nueva versión, que llevarán los tokens que se emitan a partir de ahora.
+     */
+    @Transactional
+    public long revocar(long usuarioId) {
+        if (userRepository.incrementarTokenVersion(usuarioId) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuario no encontrado.");
+        }
+        long nueva = userRepository.findTokenVersionById(usuarioId).orElseThrow();
+        // Las versiones sólo crecen: una lectura anterior a la revocación nunca sustituye a la nueva
+        TransactionHooks.afterCommit(() -> versiones.asMap().merge(usuarioId, nueva, Math::max));
+        return nueva;
+    }
+}
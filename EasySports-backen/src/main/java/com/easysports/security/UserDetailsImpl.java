@@ -1,6 +1,7 @@
 package com.easysports.security;
 
 import com.easysports.model.User;
+import com.easysports.util.JwtUtil;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
@@ -19,8 +20,27 @@ import java.util.List;
 @AllArgsConstructor
 public class UserDetailsImpl implements UserDetails {
 
+    private static final String ROLE_LEAGUE_MANAGER = "ROLE_LEAGUE_MANAGER";
+
     private final User user;
 
+    /**
+     * Construye el principal a partir de un token ya verificado, sin consultar la base de datos.
+     * El {@link User} resultante sólo tiene ID, email y rol de gestor de liga: basta para los servicios,
+     * que cargan el usuario completo cuando lo necesitan.
+     *
+     * @param token Datos del token verificado (debe incluir el ID del usuario).
+     * @return El principal del usuario del token.
+     */
+    public static UserDetailsImpl desdeToken(JwtUtil.VerifiedToken token) {
+        User user = User.builder()
+                .id(token.userId())
+                .email(token.username())
+                .esLeagueManager(token.roles().contains(ROLE_LEAGUE_MANAGER))
+                .build();
+        return new UserDetailsImpl(user);
+    }
+
     /**
      * Retorna las autoridades (roles) otorgadas al usuario.
      * @return Una colección de {@link GrantedAuthority} representando los roles del usuario.
@@ -31,7 +51,7 @@ public class UserDetailsImpl implements UserDetails {
         authorities.add(new SimpleGrantedAuthority("ROLE_USER")); // Rol base para todos
 
         if (Boolean.TRUE.equals(user.getEsLeagueManager())) {
-            authorities.add(new SimpleGrantedAuthority("ROLE_LEAGUE_MANAGER"));
+            authorities.add(new SimpleGrantedAuthority(ROLE_LEAGUE_MANAGER));
         }
 
         return authorities;
@@ -1,6 +1,7 @@
 package com.easysports.service;
 
 import com.easysports.dto.liga.TablaPosicionesResponse;
+import com.easysports.service.cache.StandingsSnapshot;
 
 import java.util.List;
 
@@ -17,4 +18,13 @@ public interface LigaService {
      * @return Una lista de {@link TablaPosicionesResponse} con la clasificación de la liga, ordenada por puntos.
      */
     List<TablaPosicionesResponse> getClasificacion(Long ligaId);
+
+    /**
+     * Obtiene la tabla de clasificación de una liga ya serializada en JSON (y comprimida con gzip), lista para
+     * enviarse. Sólo consulta la base de datos la primera vez tras un cambio en la clasificación.
+     *
+     * @param ligaId El ID de la liga de la que se desea obtener la clasificación.
+     * @return La instantánea de la clasificación, con el mismo contenido que {@link #getClasificacion(Long)}.
+     */
+    StandingsSnapshot getClasificacionSnapshot(Long ligaId);
 }
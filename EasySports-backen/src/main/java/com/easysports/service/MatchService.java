@@ -2,6 +2,7 @@ package com.easysports.service;
 
 import com.easysports.dto.match.MatchRequest;
 import com.easysports.dto.match.MatchResponse;
+import com.easysports.dto.match.MatchScrollResponse;
 import com.easysports.dto.match.ResultRequest;
 import com.easysports.enums.Deporte;
 import com.easysports.enums.MatchStatus;
@@ -9,6 +10,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 
 /**
@@ -47,6 +50,34 @@ public interface MatchService {
      */
     Page<MatchResponse> findAll(Deporte deporte, MatchStatus estado, LocalDateTime fechaDesde, LocalDateTime fechaHasta, Pageable pageable);
 
+    /**
+     * Recorre los encuentros hacia adelante usando un cursor opaco, ordenados por fecha programada e ID.
+     * A diferencia de {@link #findAll}, no calcula el total de resultados ni usa OFFSET.
+     *
+     * @param deporte Filtro por deporte (opcional).
+     * @param estado Filtro por estado del encuentro (opcional).
+     * @param fechaDesde Filtro por fecha de inicio (opcional).
+     * @param fechaHasta Filtro por fecha de fin (opcional).
+     * @param cursor Cursor devuelto por la porción anterior (nulo para empezar desde el principio).
+     * @param size Número máximo de encuentros de la porción.
+     * @return La porción de encuentros y el cursor para pedir la siguiente.
+     */
+    MatchScrollResponse scroll(Deporte deporte, MatchStatus estado, LocalDateTime fechaDesde, LocalDateTime fechaHasta, String cursor, int size);
+
+    /**
+     * Escribe en formato NDJSON (un encuentro JSON por línea) todos los encuentros que cumplen los filtros,
+     * ordenados por fecha programada e ID. Los encuentros se leen de la base de datos a medida que se escriben,
+     * por lo que la memoria usada no depende del número de resultados.
+     *
+     * @param deporte Filtro por deporte (opcional).
+     * @param estado Filtro por estado del encuentro (opcional).
+     * @param fechaDesde Filtro por fecha de inicio (opcional).
+     * @param fechaHasta Filtro por fecha de fin (opcional).
+     * @param out Flujo de salida donde escribir; no se cierra.
+     * @throws IOException Si falla la escritura (p. ej. el cliente cierra la conexión).
+     */
+    void exportAll(Deporte deporte, MatchStatus estado, LocalDateTime fechaDesde, LocalDateTime fechaHasta, OutputStream out) throws IOException;
+
     /**
      * Busca un encuentro por su código único y devuelve sus detalles.
      *
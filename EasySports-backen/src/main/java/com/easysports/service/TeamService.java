@@ -1,8 +1,14 @@
 package com.easysports.service;
 
 import com.easysports.dto.team.CreateTeamRequest;
+import com.easysports.dto.team.InvitacionResponse;
 import com.easysports.dto.team.InvitarMiembroRequest;
+import com.easysports.dto.team.InvitarMiembrosRequest;
+import com.easysports.dto.team.MiEquipoResponse;
 import com.easysports.dto.team.TeamResponse;
+import com.easysports.enums.Deporte;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 
 import java.util.List;
@@ -31,6 +37,17 @@ public interface TeamService {
      */
     void invitarMiembro(Long equipoId, InvitarMiembroRequest request, Authentication authentication);
 
+    /**
+     * Invita a varios usuarios a unirse a un equipo en una sola operación.
+     * Los emails sin usuario, repetidos o de usuarios que ya tienen relación con el equipo no detienen el resto.
+     *
+     * @param equipoId ID del equipo al que se invita.
+     * @param request DTO con los emails de los usuarios a invitar.
+     * @param authentication Contexto de autenticación del capitán.
+     * @return El resultado de cada email, en el mismo orden de la solicitud.
+     */
+    List<InvitacionResponse> invitarMiembros(Long equipoId, InvitarMiembrosRequest request, Authentication authentication);
+
     /**
      * Acepta una invitación a unirse a un equipo.
      *
@@ -65,12 +82,14 @@ public interface TeamService {
     TeamResponse findByIdWithUserStatus(Long id, Authentication authentication);
 
     /**
-     * Obtiene una lista de todos los equipos en los que el usuario autenticado es miembro.
+     * Obtiene una página de los equipos en los que el usuario autenticado es miembro o tiene una invitación pendiente,
+     * con su estado de membresía, capitán y número de miembros.
      *
      * @param authentication Contexto de autenticación del usuario.
-     * @return Lista de DTOs con la información de los equipos.
+     * @param pageable Paginación y orden (por id, nombre, tipoDeporte, partidosGanados o estadoMiembro).
+     * @return Página de DTOs resumidos de los equipos.
      */
-    List<TeamResponse> getMisEquipos(Authentication authentication);
+    Page<MiEquipoResponse> getMisEquipos(Authentication authentication, Pageable pageable);
 
     /**
      * Expulsa a un miembro de un equipo.
@@ -94,9 +113,22 @@ public interface TeamService {
     TeamResponse updateTeam(Long equipoId, com.easysports.dto.team.UpdateTeamRequest request, Authentication authentication);
 
     /**
-     * Obtiene una lista de todos los equipos registrados en la plataforma.
+     * Obtiene una página de los equipos registrados en la plataforma, con sus miembros aceptados.
+     *
+     * @param tipoDeporte Filtro por deporte (opcional).
+     * @param pageable Objeto con la información de paginación y ordenamiento.
+     * @return Página de DTOs con la información de los equipos.
+     */
+    Page<TeamResponse> getAllTeams(Deporte tipoDeporte, Pageable pageable);
+
+    /**
+     * Busca equipos por nombre, tolerando tildes, mayúsculas, erratas y palabras incompletas.
+     * Los resultados se ordenan por relevancia, con sus miembros aceptados.
      *
-     * @return Lista de DTOs con la información de todos los equipos.
+     * @param texto Texto a buscar (entre 2 y 100 caracteres).
+     * @param tipoDeporte Filtro por deporte (opcional).
+     * @param pageable Objeto con la información de paginación; el ordenamiento se ignora.
+     * @return Página de DTOs con los equipos encontrados, del más al menos relevante.
      */
-    List<TeamResponse> getAllTeams();
+    Page<TeamResponse> buscarEquipos(String texto, Deporte tipoDeporte, Pageable pageable);
 }
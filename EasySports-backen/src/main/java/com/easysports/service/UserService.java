@@ -1,6 +1,10 @@
 package com.easysports.service;
 
 import com.easysports.dto.UserSearchDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface UserService {
@@ -11,4 +15,16 @@ public interface UserService {
      * @return Una lista de DTOs de usuario que coinciden con la búsqueda.
      */
     List<UserSearchDTO> searchUsers(String query, Long equipoId);
+
+    /**
+     * Da de alta los usuarios de un CSV (alta de una liga con sus jugadores), leyéndolo y procesándolo
+     * por lotes sin cargarlo entero en memoria.
+     * Escribe en {@code out} una línea JSON por evento: cada fila rechazada con su motivo, el progreso
+     * tras cada lote y un resumen final.
+     * @param csv Contenido del CSV en UTF-8 con cabecera (email, nombre_completo, password, sexo,
+     *            edad_anios, edad_meses y, opcionales, posicion_preferida y equipo_id).
+     * @param out Flujo de salida donde se escriben los eventos.
+     * @throws IOException Si falla la lectura del CSV o la escritura de la respuesta.
+     */
+    void importarUsuarios(InputStream csv, OutputStream out) throws IOException;
 }
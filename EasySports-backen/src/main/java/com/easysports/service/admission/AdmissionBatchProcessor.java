@@ -0,0 +1,20 @@
+package com.easysports.service.admission;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Procesa en una sola transacción un lote de solicitudes de unión a un mismo encuentro.
+ */
+@FunctionalInterface
+public interface AdmissionBatchProcessor {
+
+    /**
+     * Admite, en orden de llegada, a tantos usuarios del lote como plazas libres tenga el encuentro.
+     *
+     * @param matchId    Id del encuentro.
+     * @param usuarioIds Ids de los usuarios que solicitan unirse, en orden de llegada (sin repetidos).
+     * @return La respuesta para cada usuario del lote.
+     */
+    Map<Long, AdmissionResult> procesar(Long matchId, List<Long> usuarioIds);
+}
@@ -0,0 +1,15 @@
+package com.easysports.service.admission;
+
+/**
+ * Respuesta individual de la etapa de admisión a una solicitud de unión a un encuentro.
+ */
+public enum AdmissionResult {
+    /** Se reservó la plaza y se registró la participación. */
+    ADMITIDO,
+    /** No quedaban plazas libres. */
+    LLENO,
+    /** El encuentro ya no admite jugadores (finalizado, cancelado, ...). */
+    NO_ABIERTO,
+    /** El usuario ya participaba en el encuentro. */
+    YA_INSCRITO
+}
@@ -0,0 +1,96 @@
+package com.easysports.service.admission;
+
+import com.easysports.enums.MatchStatus;
+import com.easysports.repository.MatchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Procesa un lote de uniones con un coste fijo de sentencias, sea cual sea su tamaño: bloqueo de la fila
+ * del encuentro, consulta de los ya inscritos, una única actualización del contador y una única
+ * inserción de varias filas en {@code participantes_encuentro}.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcAdmissionBatchProcessor implements AdmissionBatchProcessor {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MatchRepository matchRepository;
+
+    @Override
+    public Map<Long, AdmissionResult> procesar(Long matchId, List<Long> usuarioIds) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, AdmissionResult> resultados = new LinkedHashMap<>();
+
+            // 1. Bloqueo de la fila: serializa los lotes de todas las instancias sobre el mismo encuentro
+            List<Cupo> filas = jdbcTemplate.query(
+                    "SELECT estado, jugadores_actuales, max_jugadores FROM encuentros WHERE id = :id FOR UPDATE",
+                    new MapSqlParameterSource("id", matchId),
+                    (rs, rowNum) -> new Cupo(
+                            MatchStatus.valueOf(rs.getString("estado")),
+                            rs.getInt("jugadores_actuales"),
+                            rs.getInt("max_jugadores")));
+            if (filas.isEmpty()) {
+                usuarioIds.forEach(id -> resultados.put(id, AdmissionResult.NO_ABIERTO));
+                return resultados;
+            }
+            boolean abierto = filas.get(0).estado() == MatchStatus.ABIERTO;
+            int libres = abierto ? filas.get(0).maxJugadores() - filas.get(0).jugadoresActuales() : 0;
+
+            // 2. Usuarios del lote que ya participaban
+            Set<Long> inscritos = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT user_id FROM participantes_encuentro WHERE encuentro_id = :id AND user_id IN (:usuarios)",
+                    new MapSqlParameterSource("id", matchId).addValue("usuarios", usuarioIds),
+                    Long.class));
+
+            List<Long> admitidos = new ArrayList<>();
+            for (Long usuarioId : usuarioIds) {
+                if (inscritos.contains(usuarioId)) {
+                    resultados.put(usuarioId, AdmissionResult.YA_INSCRITO);
+                } else if (!abierto) {
+                    resultados.put(usuarioId, AdmissionResult.NO_ABIERTO);
+                } else if (admitidos.size() < libres) {
+                    admitidos.add(usuarioId);
+                    resultados.put(usuarioId, AdmissionResult.ADMITIDO);
+                } else {
+                    resultados.put(usuarioId, AdmissionResult.LLENO);
+                }
+            }
+            if (admitidos.isEmpty()) {
+                return resultados;
+            }
+
+            // 3. Una sola actualización del contador (y del estado si se ocupa la última plaza)
+            if (matchRepository.reservarPlazas(matchId, admitidos.size()) == 0) {
+                throw new IllegalStateException("No se pudieron reservar las plazas del encuentro " + matchId);
+            }
+
+            // 4. Una sola inserción de varias filas
+            StringBuilder sql = new StringBuilder("INSERT INTO participantes_encuentro (encuentro_id, user_id, joined_at) VALUES ");
+            MapSqlParameterSource params = new MapSqlParameterSource("id", matchId)
+                    .addValue("ahora", Timestamp.valueOf(LocalDateTime.now()));
+            for (int i = 0; i < admitidos.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append("(:id, :u").append(i).append(", :ahora)");
+                params.addValue("u" + i, admitidos.get(i));
+            }
+            jdbcTemplate.update(sql.toString(), params);
+            return resultados;
+        });
+    }
+
+    private record Cupo(MatchStatus estado, int jugadoresActuales, int maxJugadores) {
+    }
+}
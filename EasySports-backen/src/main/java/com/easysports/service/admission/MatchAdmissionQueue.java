@@ -0,0 +1,205 @@
+package com.easysports.service.admission;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Etapa de admisión delante de la unión a encuentros. Las solicitudes se encolan por encuentro y un único
+ * hilo por encuentro las admite en lotes de hasta {@link #MAX_LOTE}, de modo que una ráfaga de uniones
+ * cuesta una actualización de la fila y una inserción por lote en lugar de competir todas por el bloqueo
+ * de la misma fila. Cada solicitante recibe su propia respuesta a través de un {@link CompletableFuture}.
+ * Quien deja de esperar debe cancelarlo: las solicitudes canceladas se descartan al formar el lote. Una
+ * solicitud que ya forma parte de un lote no se puede cancelar ({@code cancel} devuelve {@code false}), porque
+ * su transacción puede confirmarla; quien la envió debe seguir esperando su respuesta.
+ */
+@Slf4j
+@Component
+public class MatchAdmissionQueue implements DisposableBean {
+
+    // Máximo de solicitudes admitidas en una misma transacción
+    static final int MAX_LOTE = 50;
+
+    private final AdmissionBatchProcessor processor;
+    private final ExecutorService executor;
+    private final Map<Long, Carril> carriles = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MatchAdmissionQueue(AdmissionBatchProcessor processor,
+                               @Value("${easysports.admision.hilos:4}") int hilos) {
+        this(processor, Executors.newFixedThreadPool(hilos, new AdmissionThreadFactory()));
+    }
+
+    MatchAdmissionQueue(AdmissionBatchProcessor processor, ExecutorService executor) {
+        this.processor = processor;
+        this.executor = executor;
+    }
+
+    /**
+     * Encola la solicitud de un usuario para unirse a un encuentro.
+     *
+     * @param matchId   Id del encuentro.
+     * @param usuarioId Id del usuario que solicita unirse.
+     * @return Un futuro que se completa con la respuesta individual una vez procesado su lote. Si se cancela
+     *         antes de que su lote empiece, la solicitud no se procesa; después, la cancelación se rechaza.
+     */
+    public CompletableFuture<AdmissionResult> admitir(Long matchId, Long usuarioId) {
+        Solicitud solicitud = new Solicitud(usuarioId, new Respuesta());
+        Carril carril = carriles.computeIfAbsent(matchId, id -> new Carril());
+        carril.pendientes.add(solicitud);
+        programar(matchId, carril);
+        return solicitud.respuesta();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /* --------------------- Helpers --------------------- */
+
+    // Lanza el drenado del carril salvo que ya haya un hilo drenándolo
+    private void programar(Long matchId, Carril carril) {
+        if (!carril.drenando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> drenar(matchId, carril));
+        } catch (RejectedExecutionException ex) {
+            carril.drenando.set(false);
+            Solicitud pendiente;
+            while ((pendiente = carril.pendientes.poll()) != null) {
+                pendiente.respuesta().completeExceptionally(ex);
+            }
+        }
+    }
+
+    private void drenar(Long matchId, Carril carril) {
+        try {
+            List<Solicitud> lote;
+            while (!(lote = carril.siguienteLote()).isEmpty()) {
+                procesarLote(matchId, lote);
+            }
+        } finally {
+            carril.drenando.set(false);
+        }
+        // Una solicitud encolada después del último poll no puede quedarse sin procesar
+        if (!carril.pendientes.isEmpty()) {
+            programar(matchId, carril);
+        } else {
+            carriles.remove(matchId, carril);
+        }
+    }
+
+    private void procesarLote(Long matchId, List<Solicitud> lote) {
+        // El solicitante que dejó de esperar canceló su respuesta: no debe ocupar plaza. Las demás quedan
+        // tomadas por el lote y ya no se pueden cancelar
+        List<Solicitud> tomadas = new ArrayList<>(lote.size());
+        for (Solicitud solicitud : lote) {
+            if (solicitud.respuesta().tomar()) {
+                tomadas.add(solicitud);
+            }
+        }
+        if (!tomadas.isEmpty()) {
+            admitirTomadas(matchId, tomadas);
+        }
+    }
+
+    private void admitirTomadas(Long matchId, List<Solicitud> lote) {
+        // Un mismo usuario puede repetir la solicitud en el mismo lote; sólo la primera cuenta
+        Map<Long, List<CompletableFuture<AdmissionResult>>> porUsuario = new LinkedHashMap<>();
+        for (Solicitud solicitud : lote) {
+            porUsuario.computeIfAbsent(solicitud.usuarioId(), k -> new ArrayList<>()).add(solicitud.respuesta());
+        }
+        try {
+            Map<Long, AdmissionResult> resultados = processor.procesar(matchId, new ArrayList<>(porUsuario.keySet()));
+            porUsuario.forEach((usuarioId, respuestas) -> {
+                AdmissionResult resultado = resultados.get(usuarioId);
+                AdmissionResult repetida = resultado == AdmissionResult.ADMITIDO ? AdmissionResult.YA_INSCRITO : resultado;
+                for (int i = 0; i < respuestas.size(); i++) {
+                    respuestas.get(i).complete(i == 0 ? resultado : repetida);
+                }
+            });
+        } catch (DataIntegrityViolationException ex) {
+            if (porUsuario.size() == 1) {
+                porUsuario.values().forEach(respuestas -> respuestas.forEach(r -> r.completeExceptionally(ex)));
+                return;
+            }
+            // Una fila inválida revierte el lote entero: se reintenta usuario a usuario para aislarla
+            log.warn("Lote de admisión del encuentro {} revertido; se reintenta por usuario", matchId, ex);
+            for (Solicitud solicitud : lote) {
+                admitirTomadas(matchId, List.of(solicitud));
+            }
+        } catch (RuntimeException ex) {
+            porUsuario.values().forEach(respuestas -> respuestas.forEach(r -> r.completeExceptionally(ex)));
+        }
+    }
+
+    private record Solicitud(Long usuarioId, Respuesta respuesta) {
+    }
+
+    /**
+     * Respuesta de una solicitud que sólo se puede cancelar mientras sigue en la cola.
+     */
+    private static final class Respuesta extends CompletableFuture<AdmissionResult> {
+
+        private static final int PENDIENTE = 0;
+        private static final int EN_LOTE = 1;
+        private static final int CANCELADA = 2;
+
+        private final AtomicInteger estado = new AtomicInteger(PENDIENTE);
+
+        // La toma el lote que va a procesarla; falla si el solicitante ya la canceló
+        private boolean tomar() {
+            return estado.compareAndSet(PENDIENTE, EN_LOTE);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return estado.compareAndSet(PENDIENTE, CANCELADA) && super.cancel(mayInterruptIfRunning);
+        }
+    }
+
+    private static final class Carril {
+        private final Queue<Solicitud> pendientes = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean drenando = new AtomicBoolean();
+
+        private List<Solicitud> siguienteLote() {
+            List<Solicitud> lote = new ArrayList<>();
+            Solicitud solicitud;
+            while (lote.size() < MAX_LOTE && (solicitud = pendientes.poll()) != null) {
+                lote.add(solicitud);
+            }
+            return lote;
+        }
+    }
+
+    private static final class AdmissionThreadFactory implements ThreadFactory {
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "admision-encuentros-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
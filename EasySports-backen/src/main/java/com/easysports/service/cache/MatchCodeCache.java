@@ -0,0 +1,86 @@
+package com.easysports.service.cache;
+
+import com.easysports.dto.match.MatchResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Caché acotada (por número de entradas y tiempo de vida) de encuentros por código, con el
+ * {@link MatchResponse} ya mapeado. Los códigos se comparten en chats de grupo, así que unos pocos
+ * encuentros concentran la mayoría de las lecturas.
+ * <p>
+ * Las escrituras sobre un encuentro deben invalidar su entrada tras confirmar la transacción; una carga
+ * concurrente en curso se descarta al invalidar, por lo que nunca queda un recuento de jugadores obsoleto.
+ */
+@Component
+public class MatchCodeCache implements MeterBinder {
+
+    // Nombre con el que se publican las estadísticas (cache.gets, cache.evictions, ...)
+    private static final String CACHE_NAME = "encuentrosPorCodigo";
+
+    private final Cache<String, MatchResponse> cache;
+
+    public MatchCodeCache(@Value("${easysports.cache.encuentros.max-size:10000}") long maxSize,
+                          @Value("${easysports.cache.encuentros.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Devuelve el encuentro con el código dado, cargándolo con {@code loader} si no está en caché.
+     * Si el cargador lanza una excepción (p. ej. encuentro no encontrado), no se guarda nada.
+     *
+     * @param codigo Código del encuentro.
+     * @param loader Función que obtiene el encuentro de la base de datos.
+     * @return El encuentro mapeado.
+     */
+    public MatchResponse obtener(String codigo, Function<String, MatchResponse> loader) {
+        return cache.get(codigo, loader);
+    }
+
+    /**
+     * Elimina la entrada de un encuentro para que la siguiente lectura lo recargue.
+     *
+     * @param codigo Código del encuentro modificado.
+     */
+    public void invalidar(String codigo) {
+        if (codigo != null) {
+            cache.invalidate(codigo);
+        }
+    }
+
+    /**
+     * Elimina las entradas de los encuentros de un equipo, que llevan su nombre, para que la siguiente
+     * lectura las recargue.
+     *
+     * @param equipoId ID del equipo modificado.
+     */
+    public void invalidarEquipo(Long equipoId) {
+        cache.asMap().values().removeIf(match -> equipoId.equals(match.getEquipoLocalId())
+                || equipoId.equals(match.getEquipoVisitanteId()));
+    }
+
+    /**
+     * @return Estadísticas acumuladas de aciertos, fallos, cargas y desalojos.
+     */
+    public CacheStats estadisticas() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
@@ -0,0 +1,323 @@
+package com.easysports.service.cache;
+
+import com.easysports.dto.match.MatchResponse;
+import com.easysports.enums.Deporte;
+import com.easysports.enums.MatchStatus;
+import com.easysports.repository.MatchRepository;
+import com.easysports.service.specification.MatchSpecification;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tablero en memoria con los encuentros vigentes (ABIERTO o LLENO), particionado por deporte y agrupado
+ * en franjas de 15 minutos (la granularidad con la que se programan los encuentros).
+ * <p>
+ * Se reconstruye desde la base de datos al arrancar y, a partir de ahí, lo mantienen al día las operaciones
+ * de {@code MatchServiceImpl} y el renombrado de equipos tras confirmar su transacción. El listado de
+ * encuentros lo consulta primero y sólo recurre a la base de datos cuando los filtros piden algo que el
+ * tablero no cubre (históricos, encuentros finalizados u otro orden).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenMatchBoard implements MeterBinder {
+
+    // Duración de una franja en segundos
+    private static final long SLOT_SECONDS = 15 * 60;
+
+    // Orden del listado servido desde el tablero: fecha programada y, a igual fecha, id
+    private static final Comparator<MatchResponse> ORDEN = Comparator
+            .comparing(MatchResponse::getFechaProgramada)
+            .thenComparing(MatchResponse::getId);
+
+    private final MatchRepository matchRepository;
+    private final MatchSpecification matchSpecification;
+
+    // Deporte -> franja -> (id -> encuentro)
+    private final Map<Deporte, ConcurrentSkipListMap<Long, Map<Long, MatchResponse>>> franjas = new EnumMap<>(Deporte.class);
+    // Índice por id para localizar la franja actual de un encuentro al actualizarlo
+    private final Map<Long, MatchResponse> porId = new ConcurrentHashMap<>();
+    // Última versión de los encuentros retirados, para que una instantánea anterior que llegue tarde no los reinserte.
+    // Las publicaciones ocurren al confirmar, así que basta con recordarlas unos minutos
+    private final Cache<Long, Long> versionesRetiradas = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    // Fecha a partir de la cual el tablero contiene todos los encuentros vigentes; null hasta la primera carga
+    private volatile LocalDateTime inicioCobertura;
+
+    {
+        for (Deporte deporte : Deporte.values()) {
+            franjas.put(deporte, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    /**
+     * Carga el tablero con los encuentros vigentes desde el momento actual, una vez que la aplicación
+     * (incluida la carga de datos inicial) está lista.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        reconstruir(LocalDateTime.now().withSecond(0).withNano(0));
+    }
+
+    /**
+     * Sustituye el contenido del tablero por los encuentros vigentes programados a partir de {@code desde}.
+     *
+     * @param desde Fecha desde la que el tablero pasa a ser completo.
+     */
+    public synchronized void reconstruir(LocalDateTime desde) {
+        List<MatchResponse> vigentes = matchRepository
+                .findAllAsResponse(matchSpecification.vigentesDesde(desde), Pageable.unpaged())
+                .getContent();
+
+        franjas.values().forEach(Map::clear);
+        porId.clear();
+        versionesRetiradas.invalidateAll();
+        for (MatchResponse match : vigentes) {
+            insertar(match);
+        }
+        inicioCobertura = desde;
+        log.info("Tablero de encuentros abiertos cargado con {} encuentros desde {}", vigentes.size(), desde);
+    }
+
+    /**
+     * Refleja en el tablero el estado actual de un encuentro: lo inserta o mueve si sigue vigente y lo retira
+     * en caso contrario. Debe invocarse después de confirmar la transacción que lo modificó.
+     * <p>
+     * Las publicaciones de transacciones concurrentes pueden llegar desordenadas, así que se ignora el estado
+     * cuya versión no sea posterior a la que ya refleja el tablero.
+     *
+     * @param match Estado confirmado del encuentro.
+     */
+    public synchronized void actualizar(MatchResponse match) {
+        if (match == null || match.getId() == null) {
+            return;
+        }
+        MatchResponse anterior = porId.get(match.getId());
+        Long ultimaVersion = anterior != null ? anterior.getVersion() : versionesRetiradas.getIfPresent(match.getId());
+        if (match.getVersion() != null && ultimaVersion != null && match.getVersion() <= ultimaVersion) {
+            return;
+        }
+        LocalDateTime cobertura = inicioCobertura;
+        boolean vigente = esVigente(match.getEstado()) && match.getDeporte() != null && match.getFechaProgramada() != null
+                && cobertura != null && !match.getFechaProgramada().isBefore(cobertura);
+        // Si sigue en la misma franja se sustituye en sitio, sin que un lector concurrente deje de verlo
+        if (anterior != null && !(vigente && mismaFranja(anterior, match))) {
+            retirar(match.getId());
+        }
+        if (vigente) {
+            versionesRetiradas.invalidate(match.getId());
+            insertar(match);
+        } else if (match.getVersion() != null) {
+            versionesRetiradas.put(match.getId(), match.getVersion());
+        }
+    }
+
+    /**
+     * Aplica el nuevo nombre de un equipo a sus encuentros del tablero. Renombrar un equipo no modifica sus
+     * encuentros, así que no llega por {@link #actualizar(MatchResponse)}. Debe invocarse después de
+     * confirmar la transacción que lo renombró.
+     *
+     * @param equipoId ID del equipo renombrado.
+     * @param nombre   Nuevo nombre del equipo.
+     */
+    public synchronized void renombrarEquipo(Long equipoId, String nombre) {
+        for (MatchResponse match : List.copyOf(porId.values())) {
+            boolean local = equipoId.equals(match.getEquipoLocalId());
+            boolean visitante = equipoId.equals(match.getEquipoVisitanteId());
+            if (local || visitante) {
+                // Misma franja e id: sustituye la entrada en sitio
+                insertar(match.toBuilder()
+                        .equipoLocalNombre(local ? nombre : match.getEquipoLocalNombre())
+                        .equipoVisitanteNombre(visitante ? nombre : match.getEquipoVisitanteNombre())
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Resuelve el listado de encuentros desde memoria si los filtros caen dentro de lo que cubre el tablero.
+     *
+     * @param deporte    Deporte por el que filtrar (opcional).
+     * @param estado     Estado por el que filtrar; sólo ABIERTO y LLENO se sirven desde el tablero.
+     * @param fechaDesde Inicio del rango; debe estar dentro de la cobertura del tablero.
+     * @param fechaHasta Fin del rango (opcional).
+     * @param pageable   Paginación; sólo se admite sin orden o por fecha programada ascendente.
+     * @return La página resultante, o vacío si la consulta debe ir a la base de datos.
+     */
+    public Optional<Page<MatchResponse>> buscar(Deporte deporte, MatchStatus estado, LocalDateTime fechaDesde,
+                                                LocalDateTime fechaHasta, Pageable pageable) {
+        podar();
+        if (!cubre(estado, fechaDesde, fechaHasta, pageable.getSort())) {
+            fallos.increment();
+            return Optional.empty();
+        }
+
+        long desde = slot(fechaDesde);
+        List<MatchResponse> encontrados = new ArrayList<>();
+        List<Deporte> deportes = deporte != null ? List.of(deporte) : List.of(Deporte.values());
+        for (Deporte d : deportes) {
+            ConcurrentSkipListMap<Long, Map<Long, MatchResponse>> porFranja = franjas.get(d);
+            ConcurrentNavigableMap<Long, Map<Long, MatchResponse>> rango = fechaHasta != null
+                    ? porFranja.subMap(desde, true, slot(fechaHasta), true)
+                    : porFranja.tailMap(desde, true);
+            for (Map<Long, MatchResponse> franja : rango.values()) {
+                for (MatchResponse match : franja.values()) {
+                    if (match.getEstado() == estado
+                            && !match.getFechaProgramada().isBefore(fechaDesde)
+                            && (fechaHasta == null || !match.getFechaProgramada().isAfter(fechaHasta))) {
+                        encontrados.add(match);
+                    }
+                }
+            }
+        }
+        // Una poda concurrente pudo dejar la consulta fuera de la cobertura mientras se recorría el tablero
+        if (fechaDesde.isBefore(inicioCobertura)) {
+            fallos.increment();
+            return Optional.empty();
+        }
+        encontrados.sort(ORDEN);
+
+        aciertos.increment();
+        if (pageable.isUnpaged()) {
+            return Optional.of(new PageImpl<>(encontrados, pageable, encontrados.size()));
+        }
+        int inicio = (int) Math.min(pageable.getOffset(), encontrados.size());
+        int fin = Math.min(inicio + pageable.getPageSize(), encontrados.size());
+        return Optional.of(new PageImpl<>(new ArrayList<>(encontrados.subList(inicio, fin)), pageable, encontrados.size()));
+    }
+
+    /**
+     * @return Número de encuentros en el tablero.
+     */
+    public int size() {
+        return porId.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("easysports.tablero.consultas", aciertos, LongAdder::sum)
+                .description("Consultas del listado de encuentros resueltas por el tablero en memoria")
+                .tag("resultado", "acierto")
+                .register(registry);
+        FunctionCounter.builder("easysports.tablero.consultas", fallos, LongAdder::sum)
+                .description("Consultas del listado de encuentros derivadas a la base de datos")
+                .tag("resultado", "fallo")
+                .register(registry);
+        Gauge.builder("easysports.tablero.encuentros", porId, Map::size)
+                .description("Encuentros vigentes en el tablero en memoria")
+                .register(registry);
+    }
+
+    /* --------------------- Helpers --------------------- */
+
+    private boolean cubre(MatchStatus estado, LocalDateTime fechaDesde, LocalDateTime fechaHasta, Sort sort) {
+        LocalDateTime cobertura = inicioCobertura;
+        if (cobertura == null || !esVigente(estado) || fechaDesde == null || fechaDesde.isBefore(cobertura)) {
+            return false;
+        }
+        if (fechaHasta != null && fechaHasta.isBefore(fechaDesde)) {
+            return false;
+        }
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1
+                && "fechaProgramada".equals(orders.get(0).getProperty())
+                && orders.get(0).isAscending();
+    }
+
+    // Descarta las franjas anteriores a la hora actual y adelanta la cobertura en consecuencia
+    private void podar() {
+        LocalDateTime cobertura = inicioCobertura;
+        LocalDateTime limite = LocalDateTime.now().withSecond(0).withNano(0);
+        if (cobertura == null || slot(limite) <= slot(cobertura)) {
+            return;
+        }
+        synchronized (this) {
+            if (inicioCobertura == null || slot(inicioCobertura) >= slot(limite)) {
+                return;
+            }
+            LocalDateTime nuevaCobertura = inicioSlot(slot(limite));
+            long primerSlot = slot(nuevaCobertura);
+            for (ConcurrentSkipListMap<Long, Map<Long, MatchResponse>> porFranja : franjas.values()) {
+                ConcurrentNavigableMap<Long, Map<Long, MatchResponse>> pasadas = porFranja.headMap(primerSlot, false);
+                pasadas.values().forEach(franja -> franja.keySet().forEach(porId::remove));
+                pasadas.clear();
+            }
+            inicioCobertura = nuevaCobertura;
+        }
+    }
+
+    private void insertar(MatchResponse match) {
+        franjas.get(match.getDeporte())
+                .computeIfAbsent(slot(match.getFechaProgramada()), k -> new ConcurrentHashMap<>())
+                .put(match.getId(), match);
+        porId.put(match.getId(), match);
+    }
+
+    private void retirar(Long id) {
+        MatchResponse anterior = porId.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        ConcurrentSkipListMap<Long, Map<Long, MatchResponse>> porFranja = franjas.get(anterior.getDeporte());
+        long clave = slot(anterior.getFechaProgramada());
+        Map<Long, MatchResponse> franja = porFranja.get(clave);
+        if (franja != null) {
+            franja.remove(id);
+            if (franja.isEmpty()) {
+                porFranja.remove(clave, franja);
+            }
+        }
+    }
+
+    private static boolean mismaFranja(MatchResponse a, MatchResponse b) {
+        return a.getDeporte() == b.getDeporte() && slot(a.getFechaProgramada()) == slot(b.getFechaProgramada());
+    }
+
+    private static boolean esVigente(MatchStatus estado) {
+        return estado == MatchStatus.ABIERTO || estado == MatchStatus.LLENO;
+    }
+
+    private static long slot(LocalDateTime fecha) {
+        return Math.floorDiv(fecha.toEpochSecond(ZoneOffset.UTC), SLOT_SECONDS);
+    }
+
+    private static LocalDateTime inicioSlot(long slot) {
+        return LocalDateTime.ofEpochSecond(slot * SLOT_SECONDS, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,50 @@
+package com.easysports.service.cache;
+
+/**
+ * Clasificación de una liga ya serializada, lista para enviarse tal cual: el JSON en UTF-8 y su versión
+ * comprimida con gzip. Es inmutable: los arrays se comparten entre todas las respuestas y no deben
+ * modificarse.
+ * <p>
+ * El ETag se deriva del contenido y no de la versión, de modo que una reconstrucción que produce la misma
+ * tabla (o un reinicio del servidor) no invalida la copia del cliente, y dos tablas distintas nunca
+ * comparten ETag. Cada codificación tiene el suyo, como exige un ETag fuerte.
+ */
+public final class StandingsSnapshot {
+
+    private final long version;
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String etag;
+    private final String etagGzip;
+
+    StandingsSnapshot(long version, byte[] json, byte[] gzip, String huella) {
+        this.version = version;
+        this.json = json;
+        this.gzip = gzip;
+        this.etag = "\"" + huella + "\"";
+        this.etagGzip = "\"" + huella + "-gz\"";
+    }
+
+    /**
+     * @return Número de construcción de la instantánea; crece cada vez que se reconstruye alguna liga.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @param comprimida {@code true} para la versión gzip.
+     * @return El cuerpo de la respuesta en la codificación pedida.
+     */
+    public byte[] cuerpo(boolean comprimida) {
+        return comprimida ? gzip : json;
+    }
+
+    /**
+     * @param comprimida {@code true} para la versión gzip.
+     * @return ETag fuerte del cuerpo en la codificación pedida.
+     */
+    public String etag(boolean comprimida) {
+        return comprimida ? etagGzip : etag;
+    }
+}
@@ -0,0 +1,117 @@
+package com.easysports.service.cache;
+
+import com.easysports.dto.liga.TablaPosicionesResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Instantáneas de la clasificación de cada liga, ya serializadas y comprimidas. La clasificación se pide cada
+ * vez que se abre la pantalla de la liga pero sólo cambia al registrar un resultado, así que servirla desde
+ * aquí no consulta la base de datos ni serializa nada.
+ * <p>
+ * {@code StandingsEngine} invalida la liga tras confirmar cada cambio en su clasificación, y
+ * {@code TeamServiceImpl} las ligas de un equipo al renombrarlo; la siguiente lectura la reconstruye.
+ * Como en {@link MatchCodeCache}, una reconstrucción en curso al invalidar se descarta, por lo que nunca
+ * queda guardada una tabla anterior al cambio.
+ */
+@Component
+public class StandingsSnapshotStore implements MeterBinder {
+
+    // Nombre con el que se publican las estadísticas (cache.gets, cache.evictions, ...)
+    private static final String CACHE_NAME = "clasificaciones";
+
+    // Bytes del resumen del contenido que forman el ETag
+    private static final int HUELLA_BYTES = 12;
+
+    private final Cache<Long, StandingsSnapshot> cache;
+    private final ObjectWriter writer;
+    private final AtomicLong versiones = new AtomicLong();
+
+    public StandingsSnapshotStore(ObjectMapper objectMapper,
+                                  @Value("${easysports.cache.clasificaciones.max-size:1000}") long maxSize,
+                                  @Value("${easysports.cache.clasificaciones.ttl:1h}") Duration ttl) {
+        this.writer = objectMapper.writerFor(new TypeReference<List<TablaPosicionesResponse>>() { });
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Devuelve la instantánea de la clasificación de una liga, construyéndola con {@code loader} si no existe.
+     * Si el cargador lanza una excepción (p. ej. liga no encontrada), no se guarda nada.
+     *
+     * @param ligaId ID de la liga.
+     * @param loader Función que obtiene la clasificación de la base de datos.
+     * @return La instantánea de la clasificación.
+     */
+    public StandingsSnapshot obtener(Long ligaId, Function<Long, List<TablaPosicionesResponse>> loader) {
+        return cache.get(ligaId, id -> construir(loader.apply(id)));
+    }
+
+    /**
+     * Descarta la instantánea de una liga para que la siguiente lectura la reconstruya.
+     *
+     * @param ligaId ID de la liga cuya clasificación ha cambiado.
+     */
+    public void invalidar(Long ligaId) {
+        if (ligaId != null) {
+            cache.invalidate(ligaId);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private StandingsSnapshot construir(List<TablaPosicionesResponse> clasificacion) {
+        try {
+            byte[] json = writer.writeValueAsBytes(clasificacion);
+            return new StandingsSnapshot(versiones.incrementAndGet(), json, comprimir(json), huella(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la clasificación", e);
+        }
+    }
+
+    private static byte[] comprimir(byte[] datos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(datos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+
+    private static String huella(byte[] datos) {
+        try {
+            byte[] resumen = MessageDigest.getInstance("SHA-256").digest(datos);
+            return HexFormat.of().formatHex(resumen, 0, HUELLA_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
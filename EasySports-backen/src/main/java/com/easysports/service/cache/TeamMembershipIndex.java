@@ -0,0 +1,247 @@
+package com.easysports.service.cache;
+
+import com.easysports.enums.EstadoMiembro;
+import com.easysports.enums.RolMiembro;
+import com.easysports.util.LongLongHashMap;
+import com.easysports.util.LongObjectHashMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Índice en memoria de las membresías a equipos, para responder las comprobaciones de autorización
+ * (¿es el capitán?, ¿qué relación tiene el usuario con el equipo?) sin consultar la base de datos.
+ * <p>
+ * Guarda el capitán de cada equipo y, por usuario, sus equipos con el estado y el rol de la membresía
+ * empaquetados en un {@code long} por equipo, todo en mapas de claves primitivas. Se carga al arrancar y
+ * lo mantiene {@code TeamServiceImpl} tras confirmar cada cambio. El capitán de un equipo no cambia, así que
+ * un equipo desconocido (creado en otra instancia) se busca en la base de datos y se incorpora al índice.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamMembershipIndex implements MeterBinder {
+
+    private static final long[] SIN_MEMBRESIAS = new long[0];
+    private static final int BITS_ROL = 4;
+    private static final int BITS_ESTADO = 4;
+    private static final int BITS_RELACION = BITS_ROL + BITS_ESTADO;
+    private static final EstadoMiembro[] ESTADOS = EstadoMiembro.values();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Equipo -> capitán
+    private final LongLongHashMap capitanes = new LongLongHashMap();
+    // Usuario -> membresías empaquetadas (equipo, estado, rol); cada array se sustituye entero, nunca se modifica
+    private final LongObjectHashMap<long[]> membresias = new LongObjectHashMap<>();
+
+    // Hasta la primera carga las consultas de membresía van a la base de datos
+    private volatile boolean cargado;
+
+    /**
+     * Carga el índice completo una vez que la aplicación está lista.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        lock.writeLock().lock();
+        try {
+            capitanes.clear();
+            membresias.clear();
+            jdbcTemplate.query("SELECT id, capitan_id FROM equipos", rs -> {
+                capitanes.put(rs.getLong("id"), rs.getLong("capitan_id"));
+            });
+            // En orden de id: si hubiera varias relaciones del mismo usuario con un equipo, prevalece la última
+            jdbcTemplate.query("SELECT usuario_id, equipo_id, estado, rol FROM miembros_equipos ORDER BY id", rs -> {
+                aplicar(rs.getLong("usuario_id"), rs.getLong("equipo_id"),
+                        EstadoMiembro.valueOf(rs.getString("estado")), RolMiembro.valueOf(rs.getString("rol")));
+            });
+            cargado = true;
+            log.info("Índice de membresías cargado: {} equipos, {} usuarios", capitanes.size(), membresias.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param equipoId ID del equipo.
+     * @return El ID del capitán, o vacío si el equipo no existe.
+     */
+    public OptionalLong capitan(long equipoId) {
+        long capitanId;
+        lock.readLock().lock();
+        try {
+            capitanId = capitanes.get(equipoId, 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (capitanId != 0) {
+            return OptionalLong.of(capitanId);
+        }
+
+        List<Long> filas = jdbcTemplate.queryForList("SELECT capitan_id FROM equipos WHERE id = :id",
+                new MapSqlParameterSource("id", equipoId), Long.class);
+        if (filas.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        registrarEquipo(equipoId, filas.get(0));
+        return OptionalLong.of(filas.get(0));
+    }
+
+    /**
+     * @param equipoId ID del equipo.
+     * @param usuarioId ID del usuario.
+     * @return {@code true} si el equipo existe y el usuario es su capitán.
+     */
+    public boolean esCapitan(long equipoId, long usuarioId) {
+        OptionalLong capitanId = capitan(equipoId);
+        return capitanId.isPresent() && capitanId.getAsLong() == usuarioId;
+    }
+
+    /**
+     * @param usuarioId ID del usuario.
+     * @param equipoId ID del equipo.
+     * @return El estado de la relación del usuario con el equipo, o vacío si no tiene ninguna.
+     */
+    public Optional<EstadoMiembro> estado(long usuarioId, long equipoId) {
+        if (!cargado) {
+            return jdbcTemplate.queryForList(
+                            "SELECT estado FROM miembros_equipos WHERE usuario_id = :usuarioId AND equipo_id = :equipoId ORDER BY id DESC",
+                            new MapSqlParameterSource("usuarioId", usuarioId).addValue("equipoId", equipoId), String.class)
+                    .stream().findFirst().map(EstadoMiembro::valueOf);
+        }
+        long[] relaciones;
+        lock.readLock().lock();
+        try {
+            relaciones = membresias.get(usuarioId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        int i = buscar(relaciones, equipoId);
+        return i < 0 ? Optional.empty() : Optional.of(ESTADOS[(int) (relaciones[i] >>> BITS_ROL) & ((1 << BITS_ESTADO) - 1)]);
+    }
+
+    /**
+     * Registra un equipo nuevo. Debe invocarse después de confirmar la transacción que lo creó.
+     *
+     * @param equipoId ID del equipo.
+     * @param capitanId ID de su capitán.
+     */
+    public void registrarEquipo(long equipoId, long capitanId) {
+        lock.writeLock().lock();
+        try {
+            capitanes.put(equipoId, capitanId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Refleja el estado actual de una membresía. Debe invocarse después de confirmar la transacción que la modificó.
+     *
+     * @param usuarioId ID del usuario.
+     * @param equipoId ID del equipo.
+     * @param estado Estado confirmado de la membresía.
+     * @param rol Rol del usuario en el equipo.
+     */
+    public void registrarMembresia(long usuarioId, long equipoId, EstadoMiembro estado, RolMiembro rol) {
+        lock.writeLock().lock();
+        try {
+            aplicar(usuarioId, equipoId, estado, rol);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vuelve a leer de la base de datos las membresías de varios usuarios, tras un cambio masivo hecho fuera
+     * de {@code TeamServiceImpl} (p. ej. el barrido de invitaciones expiradas). La lectura se hace dentro del
+     * bloqueo de escritura para que ningún registro posterior al commit quede sobrescrito por datos anteriores.
+     *
+     * @param usuarioIds IDs de los usuarios afectados.
+     */
+    public void recargarUsuarios(Collection<Long> usuarioIds) {
+        if (usuarioIds.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Long usuarioId : usuarioIds) {
+                membresias.put(usuarioId, SIN_MEMBRESIAS);
+            }
+            jdbcTemplate.query(
+                    "SELECT usuario_id, equipo_id, estado, rol FROM miembros_equipos WHERE usuario_id IN (:usuarios) ORDER BY id",
+                    new MapSqlParameterSource("usuarios", usuarioIds),
+                    rs -> {
+                        aplicar(rs.getLong("usuario_id"), rs.getLong("equipo_id"),
+                                EstadoMiembro.valueOf(rs.getString("estado")), RolMiembro.valueOf(rs.getString("rol")));
+                    });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("easysports.membresias.equipos", this, index -> index.tamano(capitanes::size))
+                .description("Equipos en el índice de membresías")
+                .register(registry);
+        Gauge.builder("easysports.membresias.usuarios", this, index -> index.tamano(membresias::size))
+                .description("Usuarios con membresías en el índice")
+                .register(registry);
+    }
+
+    /* --------------------- Helpers --------------------- */
+
+    // Requiere el bloqueo de escritura
+    private void aplicar(long usuarioId, long equipoId, EstadoMiembro estado, RolMiembro rol) {
+        long relacion = (equipoId << BITS_RELACION) | ((long) estado.ordinal() << BITS_ROL) | rol.ordinal();
+        long[] actuales = membresias.get(usuarioId);
+        int i = buscar(actuales, equipoId);
+        long[] nuevas;
+        if (i >= 0) {
+            nuevas = actuales.clone();
+            nuevas[i] = relacion;
+        } else {
+            nuevas = actuales == null ? new long[1] : Arrays.copyOf(actuales, actuales.length + 1);
+            nuevas[nuevas.length - 1] = relacion;
+        }
+        membresias.put(usuarioId, nuevas);
+    }
+
+    private static int buscar(long[] relaciones, long equipoId) {
+        if (relaciones == null) {
+            return -1;
+        }
+        for (int i = 0; i < relaciones.length; i++) {
+            if (relaciones[i] >>> BITS_RELACION == equipoId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private double tamano(IntSupplier size) {
+        lock.readLock().lock();
+        try {
+            return size.getAsInt();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.easysports.dto.user.UpdateUserRequest;
 import com.easysports.dto.user.PerfilUsuarioResponse;
 import com.easysports.enums.Sexo;
 import com.easysports.model.User;
+import com.easysports.repository.RosterEquipoRepository;
 import com.easysports.repository.UserRepository;
 import com.easysports.security.UserDetailsImpl;
 import com.easysports.service.AuthService;
@@ -17,6 +18,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
@@ -32,6 +34,7 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final RosterEquipoRepository rosterEquipoRepository;
 
     /**
      * Constructor para la inyección de dependencias.
@@ -40,12 +43,15 @@ public class AuthServiceImpl implements AuthService {
      * @param passwordEncoder     Codificador de contraseñas para seguridad.
      * @param jwtUtil             Utilidad para la generación y validación de JWT.
      * @param authenticationManager Gestor de autenticación de Spring Security.
+     * @param rosterEquipoRepository Repositorio de las plantillas de equipo, que copian el nombre del usuario.
      */
-    public AuthServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, AuthenticationManager authenticationManager) {
+    public AuthServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, AuthenticationManager authenticationManager,
+                           RosterEquipoRepository rosterEquipoRepository) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.authenticationManager = authenticationManager;
+        this.rosterEquipoRepository = rosterEquipoRepository;
     }
 
     /**
@@ -78,21 +84,20 @@ public class AuthServiceImpl implements AuthService {
      */
     @Override
     public String login(LoginRequest request) {
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getEmail(),
                         request.getPassword()
                 )
         );
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado."));
-
-        UserDetailsImpl userDetails = new UserDetailsImpl(user);
+        // El proveedor ya cargó el usuario para comprobar la contraseña: no hace falta buscarlo otra vez
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         return jwtUtil.generateToken(userDetails);
     }
 
     @Override
+    @Transactional
     public void updateProfile(UpdateUserRequest request, Authentication authentication) {
         // Obtener el usuario autenticado
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
@@ -103,6 +108,8 @@ public class AuthServiceImpl implements AuthService {
         // Solo actualizamos si el campo no es nulo en el DTO
         if (request.getNombreCompleto() != null) {
             user.setNombreCompleto(request.getNombreCompleto());
+            // Las plantillas de equipo guardan una copia del nombre
+            rosterEquipoRepository.actualizarNombre(user.getId(), request.getNombreCompleto());
         }
         if (request.getPosicionPreferida() != null) {
             user.setPosicionPreferida(request.getPosicionPreferida());
@@ -1,28 +1,42 @@
 package com.easysports.service.impl;
 
+import com.easysports.dto.match.MatchCursor;
 import com.easysports.dto.match.MatchRequest;
 import com.easysports.dto.match.MatchResponse;
+import com.easysports.dto.match.MatchScrollResponse;
 import com.easysports.dto.match.ResultRequest;
 import com.easysports.enums.Deporte;
 import com.easysports.enums.MatchStatus;
 import com.easysports.enums.MatchType;
 import com.easysports.model.Court;
+import com.easysports.model.Liga;
 import com.easysports.model.Match;
 import com.easysports.model.Participant;
 import com.easysports.model.Team;
 import com.easysports.model.User;
 import com.easysports.repository.CourtRepository;
+import com.easysports.repository.LigaRepository;
 import com.easysports.repository.MatchRepository;
 import com.easysports.repository.ParticipantRepository;
 import com.easysports.repository.TeamRepository;
 import com.easysports.repository.UserRepository;
 import com.easysports.security.UserDetailsImpl;
 import com.easysports.service.MatchService;
+import com.easysports.service.admission.AdmissionResult;
+import com.easysports.service.admission.MatchAdmissionQueue;
+import com.easysports.service.cache.MatchCodeCache;
+import com.easysports.service.cache.OpenMatchBoard;
+import com.easysports.service.cache.TeamMembershipIndex;
 import com.easysports.service.specification.MatchSpecification;
+import com.easysports.service.standings.StandingsEngine;
+import com.easysports.util.MatchCodeGenerator;
+import com.easysports.util.TransactionHooks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
@@ -30,9 +44,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.Objects;
-import java.util.Random;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio de lógica de negocio para la gestión de encuentros deportivos.
@@ -47,13 +70,21 @@ public class MatchServiceImpl implements MatchService {
     private final CourtRepository courtRepository;
     private final ParticipantRepository participantRepository;
     private final MatchSpecification matchSpecification;
-
-    // Código alfanumérico
-    private static final String ALPHANUM = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    // Longitud del código
-    private static final int CODE_LENGTH = 6;
-    // Generador de números aleatorios
-    private final Random random = new Random();
+    private final OpenMatchBoard openMatchBoard;
+    private final MatchCodeCache matchCodeCache;
+    private final MatchCodeGenerator matchCodeGenerator;
+    private final MatchAdmissionQueue matchAdmissionQueue;
+    private final ObjectMapper objectMapper;
+    private final TeamMembershipIndex teamMembershipIndex;
+    private final LigaRepository ligaRepository;
+    private final StandingsEngine standingsEngine;
+
+    // Espera máxima de una solicitud en la etapa de admisión
+    private static final long ADMISSION_TIMEOUT_SECONDS = 10;
+    // Tamaño máximo de una porción en el modo cursor
+    private static final int MAX_SCROLL_SIZE = 100;
+    // Filas que se leen del cursor JDBC en cada viaje durante la exportación
+    private static final int EXPORT_FETCH_SIZE = 500;
 
     @Override
     @Transactional
@@ -114,12 +145,13 @@ public class MatchServiceImpl implements MatchService {
             if (request.getEquipoLocalId() == null) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Para partidos formales, se debe especificar el equipo local.");
             }
-            equipoLocal = teamRepository.findById(request.getEquipoLocalId())
+            // Solo el capitán del equipo local puede crear el partido formal (se comprueba sin cargar el equipo)
+            long capitanLocalId = teamMembershipIndex.capitan(request.getEquipoLocalId())
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Equipo local no encontrado."));
-            // Solo el capitán del equipo local puede crear el partido formal
-            if (equipoLocal.getCapitan() == null || !Objects.equals(equipoLocal.getCapitan().getId(), creador.getId())) {
+            if (!Objects.equals(capitanLocalId, creador.getId())) {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Solo el capitán del equipo local puede crear un partido formal.");
             }
+            equipoLocal = teamRepository.getReferenceById(request.getEquipoLocalId());
             // visitante es opcional; si se proporciona, validar existencia
             if (request.getEquipoVisitanteId() != null) {
                 equipoVisitante = teamRepository.findById(request.getEquipoVisitanteId())
@@ -127,15 +159,21 @@ public class MatchServiceImpl implements MatchService {
             }
         }
 
-        // --- 5. Generar código único (manejar potencial colisión) ---
-        String codigo;
-        int attempts = 0;
-        do {
-            codigo = generateMatchCode();
-            attempts++;
-            if (attempts > 5) break;
-        } while (matchRepository.findByCodigo(codigo).isPresent());
+        // --- 5. Liga: sólo partidos formales entre dos equipos y del deporte de la liga ---
+        Liga liga = null;
+        if (request.getLigaId() != null) {
+            if (request.getTipo() != MatchType.FORMAL || equipoVisitante == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Un partido de liga debe ser formal y tener equipo local y visitante.");
+            }
+            liga = ligaRepository.findById(request.getLigaId())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada."));
+            if (liga.getDeporte() != request.getDeporte()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El deporte del encuentro no coincide con el de la liga.");
+            }
+        }
 
+        // --- 6. Generar código único (el generador ya salta los de encuentros anteriores a él) ---
+        String codigo = matchCodeGenerator.next();
 
         Match match = new Match();
         match.setCodigo(codigo);
@@ -148,17 +186,13 @@ public class MatchServiceImpl implements MatchService {
         match.setCreador(creador);
         match.setEquipoLocal(equipoLocal);
         match.setEquipoVisitante(equipoVisitante);
+        match.setLiga(liga);
         match.setMaxJugadores(request.getMaxJugadores());
         match.setJugadoresActuales(1); // el creador cuenta como jugador
 
-        try {
-            matchRepository.save(match);
-        } catch (DataIntegrityViolationException ex) {
-            match.setCodigo(generateMatchCode());
-            matchRepository.save(match);
-        }
+        matchRepository.save(match);
 
-        // --- 6. Registrar al creador en participantes (tabla pivote) ---
+        // --- 7. Registrar al creador en participantes (tabla pivote) ---
         Participant creatorParticipant = Participant.builder()
                 .match(match)
                 .user(creador)
@@ -166,60 +200,98 @@ public class MatchServiceImpl implements MatchService {
                 .build();
         participantRepository.save(creatorParticipant);
 
-
-        return toResponse(match);
+        MatchResponse response = toResponse(match);
+        publicarCambios(response);
+        return response;
     }
 
     @Override
-    @Transactional
     public MatchResponse joinMatch(String codigo, Authentication authentication) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         Long usuarioId = userDetails.getUser().getId();
-        User usuario = userRepository.findById(usuarioId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuario no encontrado."));
 
-        Match match = matchRepository.findByCodigo(codigo)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Encuentro no encontrado."));
+        // El id y el creador de un encuentro no cambian, así que se toman de la caché por código
+        MatchResponse encuentro = matchCodeCache.obtener(codigo, this::cargarPorCodigo);
 
-        if (match.getEstado() != MatchStatus.ABIERTO) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "No puedes unirte a un encuentro que no está abierto.");
+        if (Objects.equals(encuentro.getCreadorId(), usuarioId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El creador del encuentro ya está participando.");
         }
 
-        if (match.getJugadoresActuales() >= match.getMaxJugadores()) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "El encuentro está lleno.");
+        // La etapa de admisión agrupa las uniones simultáneas al mismo encuentro en lotes transaccionales
+        switch (esperarAdmision(matchAdmissionQueue.admitir(encuentro.getId(), usuarioId))) {
+            case LLENO -> throw new ResponseStatusException(HttpStatus.CONFLICT, "El encuentro está lleno.");
+            case NO_ABIERTO -> throw new ResponseStatusException(HttpStatus.CONFLICT, "No puedes unirte a un encuentro que no está abierto.");
+            case YA_INSCRITO -> throw new ResponseStatusException(HttpStatus.CONFLICT, "Ya estás inscrito en este encuentro.");
+            case ADMITIDO -> { }
         }
 
-        boolean yaParticipa = participantRepository.existsByMatchAndUser(match, usuario);
-        if (yaParticipa) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ya estás inscrito en este encuentro.");
+        MatchResponse response = cargarPorCodigo(codigo);
+        publicarCambios(response);
+        return response;
+    }
+
+    // Sin transacción: un acierto del tablero no necesita conexión; en un fallo, la consulta abre la suya
+    @Override
+    public Page<MatchResponse> findAll(Deporte deporte, MatchStatus estado, LocalDateTime fechaDesde, LocalDateTime fechaHasta, Pageable pageable) {
+        // Los encuentros vigentes de los próximos días se sirven desde el tablero en memoria
+        Optional<Page<MatchResponse>> desdeTablero = openMatchBoard.buscar(deporte, estado, fechaDesde, fechaHasta, pageable);
+        if (desdeTablero.isPresent()) {
+            return desdeTablero.get();
         }
+        Specification<Match> spec = matchSpecification.findByCriteria(deporte, estado, fechaDesde, fechaHasta);
+        // Proyección directa a DTO: evita cargar cancha, creador y equipos de forma perezosa fila a fila
+        return matchRepository.findAllAsResponse(spec, pageable);
+    }
 
-        if (match.getCreador() != null && Objects.equals(match.getCreador().getId(), usuario.getId())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "El creador del encuentro ya está participando.");
+    @Override
+    @Transactional(readOnly = true)
+    public MatchScrollResponse scroll(Deporte deporte, MatchStatus estado, LocalDateTime fechaDesde, LocalDateTime fechaHasta, String cursor, int size) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El tamaño de la porción debe estar entre 1 y " + MAX_SCROLL_SIZE + ".");
+        }
+        MatchCursor posicion = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                posicion = MatchCursor.decode(cursor);
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El cursor proporcionado no es válido.");
+            }
         }
 
-        Participant participant = Participant.builder()
-                .match(match)
-                .user(usuario)
-                .joinedAt(LocalDateTime.now())
-                .build();
-        participantRepository.save(participant);
+        Specification<Match> spec = matchSpecification.findByCriteria(deporte, estado, fechaDesde, fechaHasta);
+        Slice<MatchResponse> slice = matchRepository.findSliceAsResponse(spec, posicion, size);
 
-        match.setJugadoresActuales(match.getJugadoresActuales() + 1);
-        if (match.getJugadoresActuales() >= match.getMaxJugadores()) {
-            match.setEstado(MatchStatus.LLENO);
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            MatchResponse ultimo = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = MatchCursor.after(ultimo).encode();
         }
-        matchRepository.save(match);
-
-        return toResponse(match);
+        return MatchScrollResponse.builder()
+                .content(slice.getContent())
+                .size(size)
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<MatchResponse> findAll(Deporte deporte, MatchStatus estado, LocalDateTime fechaDesde, LocalDateTime fechaHasta, Pageable pageable) {
+    public void exportAll(Deporte deporte, MatchStatus estado, LocalDateTime fechaDesde, LocalDateTime fechaHasta, OutputStream out) throws IOException {
         Specification<Match> spec = matchSpecification.findByCriteria(deporte, estado, fechaDesde, fechaHasta);
-        Page<Match> matches = matchRepository.findAll(spec, pageable);
-        return matches.map(this::toResponse);
+        ObjectWriter writer = objectMapper.writerFor(MatchResponse.class);
+        try (Stream<MatchResponse> matches = matchRepository.streamAsResponse(spec, EXPORT_FETCH_SIZE)) {
+            Iterator<MatchResponse> iterator = matches.iterator();
+            int escritos = 0;
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+                // Vacía el búfer con cada bloque leído para que el cliente reciba los datos progresivamente
+                if (++escritos % EXPORT_FETCH_SIZE == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
     }
 
     @Override
@@ -236,25 +308,88 @@ public class MatchServiceImpl implements MatchService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Solo el creador del encuentro puede registrar el resultado.");
         }
 
+        // Si ya tenía resultado, la clasificación se corrige con la diferencia entre ambos
+        StandingsEngine.Marcador anterior = match.getEstado() == MatchStatus.FINALIZADO
+                && match.getGolesLocal() != null && match.getGolesVisitante() != null
+                ? new StandingsEngine.Marcador(match.getGolesLocal(), match.getGolesVisitante())
+                : null;
+
         match.setGolesLocal(request.getGolesLocal());
         match.setGolesVisitante(request.getGolesVisitante());
         match.setComentarios(request.getComentarios());
         match.setEstado(MatchStatus.FINALIZADO);
 
-        matchRepository.save(match);
-        return toResponse(match);
+        // Se vuelca ya para que la respuesta lleve la nueva versión. Con dos resultados simultáneos del mismo
+        // encuentro, la versión hace fallar al segundo antes de tocar la clasificación
+        matchRepository.saveAndFlush(match);
+        if (match.getTipo() == MatchType.FORMAL && match.getEquipoLocal() != null && match.getEquipoVisitante() != null) {
+            standingsEngine.aplicar(match.getLiga() != null ? match.getLiga().getId() : null,
+                    match.getEquipoLocal().getId(), match.getEquipoVisitante().getId(), anterior,
+                    new StandingsEngine.Marcador(match.getGolesLocal(), match.getGolesVisitante()));
+        }
+        MatchResponse response = toResponse(match);
+        publicarCambios(response);
+        return response;
     }
 
+    // Sin transacción: un acierto de la caché no necesita conexión; en un fallo, la consulta abre la suya
     @Override
-    @Transactional(readOnly = true)
     public MatchResponse findByCodigo(String codigo) {
-        return matchRepository.findByCodigo(codigo)
-                .map(this::toResponse)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Encuentro no encontrado con el código: " + codigo));
+        return matchCodeCache.obtener(codigo, this::cargarPorCodigo);
     }
 
     /* --------------------- Helpers --------------------- */
 
+    private AdmissionResult esperarAdmision(CompletableFuture<AdmissionResult> admision) {
+        try {
+            return admision.get(ADMISSION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException ex) {
+            // Cancelada, la cola ya no la admite. Si ya está en un lote, éste puede confirmarla: vale su respuesta
+            if (!admision.cancel(false)) {
+                return esperarAdmision(admision);
+            }
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "No se pudo procesar la unión a tiempo, inténtalo de nuevo.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            if (!admision.cancel(false)) {
+                return esperarLoteEnCurso(admision);
+            }
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "La unión al encuentro fue interrumpida.");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    // Espera sin atender interrupciones a la respuesta de una solicitud cuyo lote ya está en curso
+    private AdmissionResult esperarLoteEnCurso(CompletableFuture<AdmissionResult> admision) {
+        try {
+            return admision.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private MatchResponse cargarPorCodigo(String codigo) {
+        return matchRepository.findResponseByCodigo(codigo)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Encuentro no encontrado con el código: " + codigo));
+    }
+
+    /**
+     * Propaga el nuevo estado de un encuentro a las estructuras en memoria una vez confirmada la transacción.
+     */
+    private void publicarCambios(MatchResponse response) {
+        TransactionHooks.afterCommit(() -> {
+            openMatchBoard.actualizar(response);
+            matchCodeCache.invalidar(response.getCodigo());
+        });
+    }
+
     private MatchResponse toResponse(Match match) {
         return MatchResponse.builder()
                 .id(match.getId())
@@ -270,19 +405,13 @@ public class MatchServiceImpl implements MatchService {
                 .equipoLocalNombre(match.getEquipoLocal() != null ? match.getEquipoLocal().getNombre() : null)
                 .equipoVisitanteId(match.getEquipoVisitante() != null ? match.getEquipoVisitante().getId() : null)
                 .equipoVisitanteNombre(match.getEquipoVisitante() != null ? match.getEquipoVisitante().getNombre() : null)
+                .ligaId(match.getLiga() != null ? match.getLiga().getId() : null)
                 .maxJugadores(match.getMaxJugadores())
                 .jugadoresActuales(match.getJugadoresActuales())
                 .golesLocal(match.getGolesLocal())
                 .golesVisitante(match.getGolesVisitante())
                 .comentarios(match.getComentarios())
+                .version(match.getVersion())
                 .build();
     }
-
-    private String generateMatchCode() {
-        StringBuilder sb = new StringBuilder(CODE_LENGTH);
-        for (int i = 0; i < CODE_LENGTH; i++) {
-            sb.append(ALPHANUM.charAt(random.nextInt(ALPHANUM.length())));
-        }
-        return sb.toString();
-    }
-}
\ No newline at end of file
+}
@@ -1,20 +1,36 @@
 package com.easysports.service.impl;
 
 import com.easysports.dto.team.CreateTeamRequest;
+import com.easysports.dto.team.InvitacionResponse;
 import com.easysports.dto.team.InvitarMiembroRequest;
+import com.easysports.dto.team.InvitarMiembrosRequest;
+import com.easysports.dto.team.MiEquipoResponse;
 import com.easysports.dto.team.TeamResponse;
 import com.easysports.enums.Deporte;
 import com.easysports.enums.EstadoMiembro;
+import com.easysports.enums.ResultadoInvitacion;
 import com.easysports.enums.RolMiembro;
 import com.easysports.model.MiembroEquipo;
+import com.easysports.model.RosterEquipo;
 import com.easysports.model.Team;
 import com.easysports.model.User;
 import com.easysports.repository.MiembroEquipoRepository;
+import com.easysports.repository.RosterEquipoRepository;
+import com.easysports.repository.TablaDePosicionesRepository;
 import com.easysports.repository.TeamRepository;
 import com.easysports.repository.UserRepository;
 import com.easysports.security.UserDetailsImpl;
 import com.easysports.service.TeamService;
+import com.easysports.service.cache.MatchCodeCache;
+import com.easysports.service.cache.OpenMatchBoard;
+import com.easysports.service.cache.StandingsSnapshotStore;
+import com.easysports.service.cache.TeamMembershipIndex;
+import com.easysports.util.TransactionHooks;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
@@ -22,9 +38,15 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -37,6 +59,26 @@ public class TeamServiceImpl implements TeamService {
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
     private final MiembroEquipoRepository miembroEquipoRepository;
+    private final RosterEquipoRepository rosterEquipoRepository;
+    private final TeamMembershipIndex teamMembershipIndex;
+    private final TablaDePosicionesRepository tablaDePosicionesRepository;
+    private final StandingsSnapshotStore standingsSnapshotStore;
+    private final OpenMatchBoard openMatchBoard;
+    private final MatchCodeCache matchCodeCache;
+
+    private static final List<EstadoMiembro> ESTADOS_MIS_EQUIPOS = List.of(EstadoMiembro.ACEPTADO, EstadoMiembro.INVITADO_PENDIENTE);
+    // Propiedades por las que se puede ordenar "mis equipos" y su expresión en la consulta
+    private static final Map<String, String> COLUMNAS_MIS_EQUIPOS = Map.of(
+            "id", "t.id",
+            "nombre", "t.nombre",
+            "tipoDeporte", "t.tipoDeporte",
+            "partidosGanados", "t.partidosGanados",
+            "estadoMiembro", "m.estado");
+    // Por defecto, primero los equipos aceptados y después las invitaciones, por nombre
+    private static final Sort ORDEN_MIS_EQUIPOS_DEFECTO = Sort.by("estadoMiembro", "nombre");
+    // Con menos de 2 caracteres no hay trigramas útiles; el nombre de un equipo tiene como mucho 100
+    private static final int MIN_LONGITUD_BUSQUEDA = 2;
+    private static final int MAX_LONGITUD_BUSQUEDA = 100;
 
     @Override
     @Transactional
@@ -62,8 +104,12 @@ public class TeamServiceImpl implements TeamService {
         miembroCapitan.setFechaEstado(LocalDateTime.now());
 
         miembroEquipoRepository.save(miembroCapitan);
+        Long equipoId = savedTeam.getId();
+        TransactionHooks.afterCommit(() -> teamMembershipIndex.registrarEquipo(equipoId, capitan.getId()));
+        publicarMembresia(miembroCapitan);
+        RosterEquipo rosterCapitan = rosterEquipoRepository.save(toRoster(savedTeam, capitan));
 
-        return toResponse(savedTeam);
+        return toResponse(savedTeam, List.of(rosterCapitan));
     }
 
     @Override
@@ -72,20 +118,22 @@ public class TeamServiceImpl implements TeamService {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         Long capitanId = userDetails.getUser().getId();
 
-        Team equipo = teamRepository.findById(equipoId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Equipo no encontrado."));
-
-        if (!Objects.equals(equipo.getCapitan().getId(), capitanId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "No tienes autorización para invitar a miembros a este equipo.");
-        }
+        comprobarCapitan(equipoId, capitanId, "No tienes autorización para invitar a miembros a este equipo.");
+        // Sólo hace falta como referencia para la nueva relación
+        Team equipo = teamRepository.getReferenceById(equipoId);
 
         User usuarioAInvitar = userRepository.findByEmail(request.getEmailUsuario())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuario a invitar no encontrado."));
 
-        // Validar si ya es miembro o tiene invitación pendiente
-        if (miembroEquipoRepository.findByEquipoIdAndUsuarioId(equipoId, usuarioAInvitar.getId()).isPresent()) {
+        // Validar si ya es miembro o tiene invitación pendiente; una invitación expirada se vuelve a enviar
+        Optional<MiembroEquipo> relacion = miembroEquipoRepository.findByEquipoIdAndUsuarioId(equipoId, usuarioAInvitar.getId());
+        if (relacion.isPresent() && relacion.get().getEstado() != EstadoMiembro.EXPIRADO) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "El usuario ya es miembro o tiene una invitación pendiente para este equipo.");
         }
+        if (relacion.isPresent()) {
+            reenviarInvitacion(relacion.get(), LocalDateTime.now());
+            return;
+        }
 
         MiembroEquipo nuevaInvitacion = MiembroEquipo.builder()
                 .equipo(equipo)
@@ -96,6 +144,64 @@ public class TeamServiceImpl implements TeamService {
                 .build();
 
         miembroEquipoRepository.save(nuevaInvitacion);
+        publicarMembresia(nuevaInvitacion);
+    }
+
+    @Override
+    @Transactional
+    public List<InvitacionResponse> invitarMiembros(Long equipoId, InvitarMiembrosRequest request, Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        Long capitanId = userDetails.getUser().getId();
+
+        comprobarCapitan(equipoId, capitanId, "No tienes autorización para invitar a miembros a este equipo.");
+        // Sólo hace falta como referencia para la nueva relación
+        Team equipo = teamRepository.getReferenceById(equipoId);
+
+        List<String> emails = request.getEmailsUsuarios().stream().map(String::trim).toList();
+
+        // Una consulta para todos los usuarios y otra para todas sus relaciones con el equipo
+        Map<String, User> usuariosPorEmail = userRepository.findByEmailIn(new HashSet<>(emails)).stream()
+                .collect(Collectors.toMap(User::getEmail, Function.identity()));
+        Map<Long, MiembroEquipo> relaciones = usuariosPorEmail.isEmpty()
+                ? Map.of()
+                : miembroEquipoRepository.findByEquipoIdAndUsuarioIdIn(equipoId,
+                                usuariosPorEmail.values().stream().map(User::getId).toList()).stream()
+                        .collect(Collectors.toMap(m -> m.getUsuario().getId(), Function.identity(), (a, b) -> a));
+
+        LocalDateTime ahora = LocalDateTime.now();
+        Set<String> vistos = new HashSet<>();
+        List<MiembroEquipo> nuevasInvitaciones = new ArrayList<>();
+        List<InvitacionResponse> resultados = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            User usuario = usuariosPorEmail.get(email);
+            ResultadoInvitacion resultado;
+            if (!vistos.add(email)) {
+                resultado = ResultadoInvitacion.DUPLICADO;
+            } else if (usuario == null) {
+                resultado = ResultadoInvitacion.USUARIO_NO_ENCONTRADO;
+            } else if (relaciones.containsKey(usuario.getId())
+                    && relaciones.get(usuario.getId()).getEstado() != EstadoMiembro.EXPIRADO) {
+                resultado = ResultadoInvitacion.YA_MIEMBRO_O_INVITADO;
+            } else if (relaciones.containsKey(usuario.getId())) {
+                reenviarInvitacion(relaciones.get(usuario.getId()), ahora);
+                resultado = ResultadoInvitacion.INVITADO;
+            } else {
+                nuevasInvitaciones.add(MiembroEquipo.builder()
+                        .equipo(equipo)
+                        .usuario(usuario)
+                        .estado(EstadoMiembro.INVITADO_PENDIENTE)
+                        .rol(RolMiembro.MIEMBRO)
+                        .fechaEstado(ahora)
+                        .build());
+                resultado = ResultadoInvitacion.INVITADO;
+            }
+            resultados.add(InvitacionResponse.builder().email(email).resultado(resultado).build());
+        }
+
+        // Con IDs reservados por bloques, las invitaciones se insertan en lotes JDBC al hacer commit
+        miembroEquipoRepository.saveAll(nuevasInvitaciones);
+        nuevasInvitaciones.forEach(this::publicarMembresia);
+        return resultados;
     }
 
     @Override
@@ -112,6 +218,8 @@ public class TeamServiceImpl implements TeamService {
         invitacion.setFechaEstado(LocalDateTime.now());
 
         miembroEquipoRepository.save(invitacion);
+        rosterEquipoRepository.save(toRoster(invitacion.getEquipo(), invitacion.getUsuario()));
+        publicarMembresia(invitacion);
     }
 
     @Override
@@ -126,6 +234,7 @@ public class TeamServiceImpl implements TeamService {
         invitacion.setEstado(EstadoMiembro.RECHAZADO);
         invitacion.setFechaEstado(LocalDateTime.now());
         miembroEquipoRepository.save(invitacion);
+        publicarMembresia(invitacion);
     }
 
     @Override
@@ -146,13 +255,13 @@ public class TeamServiceImpl implements TeamService {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         Long usuarioId = userDetails.getUser().getId();
 
-        // Determinar el estado de membresía del usuario en este equipo
+        // Determinar el estado de membresía del usuario en este equipo (desde el índice en memoria)
         EstadoMiembro estadoMiembro = EstadoMiembro.ACEPTADO; // Valor por defecto para el capitán
-        Optional<MiembroEquipo> relacion = miembroEquipoRepository.findByEquipoIdAndUsuarioId(id, usuarioId);
+        Optional<EstadoMiembro> relacion = teamMembershipIndex.estado(usuarioId, id);
 
         // Buscar la relación del usuario con el equipo
         if (relacion.isPresent()) {
-            estadoMiembro = relacion.get().getEstado();
+            estadoMiembro = relacion.get();
         } else if (team.getCapitan().getId().equals(usuarioId)) {
             // El usuario es el capitán, por lo tanto miembro aceptado
             estadoMiembro = EstadoMiembro.ACEPTADO;
@@ -166,80 +275,53 @@ public class TeamServiceImpl implements TeamService {
     }
 
     private TeamResponse toResponseWithUserStatus(Team team, EstadoMiembro estadoMiembro) {
-        List<com.easysports.dto.team.MiembroResponse> miembrosResponse = team.getMiembrosEquipo() != null
-                ? team.getMiembrosEquipo().stream()
-                .filter(m -> m.getEstado() == EstadoMiembro.ACEPTADO)
-                .map(m -> com.easysports.dto.team.MiembroResponse.builder()
-                        .id(m.getUsuario().getId())
-                        .nombreCompleto(m.getUsuario().getNombreCompleto())
-                        .email(m.getUsuario().getEmail())
-                        .esCapitan(Objects.equals(m.getUsuario().getId(), team.getCapitan().getId()))
-                        .build())
-                .collect(Collectors.toList())
-                : java.util.Collections.emptyList();
-
-        return TeamResponse.builder()
-                .id(team.getId())
-                .nombre(team.getNombre())
-                .tipoDeporte(team.getTipoDeporte())
-                .capitanId(team.getCapitan() != null ? team.getCapitan().getId() : null)
-                .partidosGanados(team.getPartidosGanados())
-                .miembros(miembrosResponse)
-                .estadoMiembro(estadoMiembro) // Incluir el estado de membresía del usuario actual
-                .build();
+        TeamResponse response = toResponse(team);
+        response.setEstadoMiembro(estadoMiembro); // Incluir el estado de membresía del usuario actual
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TeamResponse> getMisEquipos(Authentication authentication) {
+    public Page<MiEquipoResponse> getMisEquipos(Authentication authentication, Pageable pageable) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         Long usuarioId = userDetails.getUser().getId();
 
-        List<MiembroEquipo> relacionesAceptadas = miembroEquipoRepository.findByUsuarioIdAndEstado(usuarioId, EstadoMiembro.ACEPTADO);
-        List<MiembroEquipo> invitacionesPendientes = miembroEquipoRepository.findByUsuarioIdAndEstado(usuarioId, EstadoMiembro.INVITADO_PENDIENTE);
-
-        // Combinar ambas listas
-        List<MiembroEquipo> todasLasRelaciones = new java.util.ArrayList<>(relacionesAceptadas);
-        todasLasRelaciones.addAll(invitacionesPendientes);
-
-        // Convertir a DTOs, asegurando que cada uno tenga el estado de membresía correcto
-        return todasLasRelaciones.stream()
-                .map(this::convertirMiembroEquipoATeamResponse)
-                .distinct() // Evitar equipos duplicados si un usuario es miembro y tiene una invitación (caso anómalo)
-                .collect(Collectors.toList());
+        return miembroEquipoRepository.findMisEquipos(usuarioId, ESTADOS_MIS_EQUIPOS, ordenarMisEquipos(pageable));
     }
 
     /**
-     * Convierte una entidad MiembroEquipo a un DTO TeamResponse, incluyendo el estado de la membresía.
-     * @param miembro La relación MiembroEquipo.
-     * @return El DTO TeamResponse con el estado de membresía correcto.
+     * Traduce el orden pedido por el cliente (propiedades de {@link MiEquipoResponse}) a los alias de la consulta,
+     * y añade el ID del equipo como desempate para que la paginación sea estable.
+     * @param pageable Paginación recibida del cliente.
+     * @return Paginación con el orden expresado sobre la consulta.
      */
-    private TeamResponse convertirMiembroEquipoATeamResponse(MiembroEquipo miembro) {
-        Team team = miembro.getEquipo();
-        TeamResponse response = toResponse(team); // Reutiliza el mapeo base
-        response.setEstadoMiembro(miembro.getEstado()); // Establece el estado específico de esta relación
-        return response;
+    private Pageable ordenarMisEquipos(Pageable pageable) {
+        Sort solicitado = pageable.getSort().isSorted() ? pageable.getSort() : ORDEN_MIS_EQUIPOS_DEFECTO;
+        List<Sort.Order> orden = new ArrayList<>();
+        for (Sort.Order order : solicitado) {
+            String columna = COLUMNAS_MIS_EQUIPOS.get(order.getProperty());
+            if (columna == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No se puede ordenar por: " + order.getProperty());
+            }
+            orden.add(order.withProperty(columna));
+        }
+        orden.add(Sort.Order.asc("t.id"));
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orden));
     }
 
-
     @Override
     @Transactional
     public void expulsarMiembro(Long equipoId, Long usuarioId, Authentication authentication) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         Long capitanId = userDetails.getUser().getId();
 
-        Team equipo = teamRepository.findById(equipoId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Equipo no encontrado."));
-
-        if (!Objects.equals(equipo.getCapitan().getId(), capitanId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "No tienes autorización para expulsar miembros de este equipo.");
-        }
+        comprobarCapitan(equipoId, capitanId, "No tienes autorización para expulsar miembros de este equipo.");
 
         MiembroEquipo membresia = miembroEquipoRepository.findByEquipoIdAndUsuarioId(equipoId, usuarioId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "La relación miembro-equipo no existe."));
 
         // No se puede expulsar al capitán del equipo
-        if (Objects.equals(equipo.getCapitan().getId(), usuarioId)) {
+        if (Objects.equals(capitanId, usuarioId)) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "No se puede expulsar al capitán del equipo.");
         }
 
@@ -249,6 +331,8 @@ public class TeamServiceImpl implements TeamService {
         membresia.setFechaIngreso(null);
 
         miembroEquipoRepository.save(membresia);
+        rosterEquipoRepository.eliminar(equipoId, usuarioId);
+        publicarMembresia(membresia);
     }
 
     @Override
@@ -257,41 +341,95 @@ public class TeamServiceImpl implements TeamService {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         Long capitanId = userDetails.getUser().getId();
 
+        comprobarCapitan(equipoId, capitanId, "No tienes autorización para editar este equipo.");
         Team equipo = teamRepository.findById(equipoId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Equipo no encontrado."));
 
-        if (!Objects.equals(equipo.getCapitan().getId(), capitanId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "No tienes autorización para editar este equipo.");
-        }
-
+        boolean renombrado = !Objects.equals(equipo.getNombre(), request.getNombre());
         equipo.setNombre(request.getNombre());
         equipo.setTipoDeporte(request.getTipoDeporte());
 
         Team equipoActualizado = teamRepository.save(equipo);
+        if (renombrado) {
+            // Las clasificaciones ya serializadas y los encuentros en memoria llevan el nombre del equipo
+            String nombre = equipoActualizado.getNombre();
+            List<Long> ligaIds = tablaDePosicionesRepository.findLigaIdsByEquipoId(equipoId);
+            TransactionHooks.afterCommit(() -> {
+                ligaIds.forEach(standingsSnapshotStore::invalidar);
+                openMatchBoard.renombrarEquipo(equipoId, nombre);
+                matchCodeCache.invalidarEquipo(equipoId);
+            });
+        }
 
         return toResponse(equipoActualizado);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TeamResponse> getAllTeams() {
-        return teamRepository.findAll().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public Page<TeamResponse> getAllTeams(Deporte tipoDeporte, Pageable pageable) {
+        Page<Team> teams = tipoDeporte != null
+                ? teamRepository.findByTipoDeporte(tipoDeporte, pageable)
+                : teamRepository.findAll(pageable);
+        return conPlantillas(teams);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TeamResponse> buscarEquipos(String texto, Deporte tipoDeporte, Pageable pageable) {
+        String busqueda = texto == null ? "" : texto.strip();
+        if (busqueda.length() < MIN_LONGITUD_BUSQUEDA || busqueda.length() > MAX_LONGITUD_BUSQUEDA) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La búsqueda debe tener entre " + MIN_LONGITUD_BUSQUEDA + " y " + MAX_LONGITUD_BUSQUEDA + " caracteres.");
+        }
+        // El orden lo fija la relevancia; un sort del cliente no se traduciría a la consulta nativa
+        Pageable pagina = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<Team> teams = teamRepository.buscarPorNombre(busqueda, tipoDeporte != null ? tipoDeporte.name() : null, pagina);
+        return conPlantillas(teams);
     }
 
+    /**
+     * Convierte una página de equipos a DTO cargando las plantillas de toda la página en una sola consulta.
+     * @param teams Página de equipos.
+     * @return Página de DTOs con sus miembros.
+     */
+    private Page<TeamResponse> conPlantillas(Page<Team> teams) {
+        if (teams.isEmpty()) {
+            return teams.map(team -> toResponse(team, Collections.emptyList()));
+        }
+
+        // Las plantillas de toda la página se cargan en una sola consulta
+        List<Long> equipoIds = teams.getContent().stream().map(Team::getId).toList();
+        Map<Long, List<RosterEquipo>> miembrosPorEquipo = rosterEquipoRepository
+                .findByEquipoIdInOrderByEsCapitanDescNombreCompletoAsc(equipoIds).stream()
+                .collect(Collectors.groupingBy(RosterEquipo::getEquipoId));
+
+        return teams.map(team -> toResponse(team, miembrosPorEquipo.getOrDefault(team.getId(), Collections.emptyList())));
+    }
+
+    /**
+     * Convierte un equipo a DTO leyendo su plantilla materializada.
+     * @param team Equipo a convertir.
+     * @return El DTO del equipo.
+     */
     private TeamResponse toResponse(Team team) {
-        List<com.easysports.dto.team.MiembroResponse> miembrosResponse = team.getMiembrosEquipo() != null
-                ? team.getMiembrosEquipo().stream()
-                .filter(m -> m.getEstado() == EstadoMiembro.ACEPTADO)
-                .map(m -> com.easysports.dto.team.MiembroResponse.builder()
-                        .id(m.getUsuario().getId())
-                        .nombreCompleto(m.getUsuario().getNombreCompleto())
-                        .email(m.getUsuario().getEmail())
-                        .esCapitan(Objects.equals(m.getUsuario().getId(), team.getCapitan().getId()))
+        return toResponse(team, rosterEquipoRepository.findByEquipoIdOrderByEsCapitanDescNombreCompletoAsc(team.getId()));
+    }
+
+    /**
+     * Convierte un equipo a DTO a partir de su plantilla ya cargada.
+     * @param team Equipo a convertir.
+     * @param plantilla Miembros aceptados del equipo.
+     * @return El DTO del equipo.
+     */
+    private TeamResponse toResponse(Team team, List<RosterEquipo> plantilla) {
+        List<com.easysports.dto.team.MiembroResponse> miembrosResponse = plantilla.stream()
+                .map(r -> com.easysports.dto.team.MiembroResponse.builder()
+                        .id(r.getUsuarioId())
+                        .nombreCompleto(r.getNombreCompleto())
+                        .email(r.getEmail())
+                        .esCapitan(r.isEsCapitan())
                         .build())
-                .collect(Collectors.toList())
-                : java.util.Collections.emptyList();
+                .collect(Collectors.toList());
 
         return TeamResponse.builder()
                 .id(team.getId())
@@ -302,4 +440,44 @@ public class TeamServiceImpl implements TeamService {
                 .miembros(miembrosResponse)
                 .build();
     }
+
+    private void reenviarInvitacion(MiembroEquipo expirada, LocalDateTime ahora) {
+        expirada.setEstado(EstadoMiembro.INVITADO_PENDIENTE);
+        expirada.setFechaEstado(ahora);
+        miembroEquipoRepository.save(expirada);
+        publicarMembresia(expirada);
+    }
+
+    /**
+     * Comprueba con el índice de membresías, sin cargar el equipo, que el usuario es su capitán.
+     * @param equipoId ID del equipo.
+     * @param usuarioId ID del usuario autenticado.
+     * @param mensaje Mensaje del error 403 si no es el capitán.
+     */
+    private void comprobarCapitan(Long equipoId, Long usuarioId, String mensaje) {
+        long capitanId = teamMembershipIndex.capitan(equipoId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Equipo no encontrado."));
+        if (!Objects.equals(capitanId, usuarioId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, mensaje);
+        }
+    }
+
+    // Actualiza el índice de membresías con el estado de la relación una vez confirmada la transacción
+    private void publicarMembresia(MiembroEquipo membresia) {
+        long usuarioId = membresia.getUsuario().getId();
+        long equipoId = membresia.getEquipo().getId();
+        EstadoMiembro estado = membresia.getEstado();
+        RolMiembro rol = membresia.getRol();
+        TransactionHooks.afterCommit(() -> teamMembershipIndex.registrarMembresia(usuarioId, equipoId, estado, rol));
+    }
+
+    private RosterEquipo toRoster(Team team, User usuario) {
+        return RosterEquipo.builder()
+                .equipoId(team.getId())
+                .usuarioId(usuario.getId())
+                .nombreCompleto(usuario.getNombreCompleto())
+                .email(usuario.getEmail())
+                .esCapitan(team.getCapitan() != null && Objects.equals(team.getCapitan().getId(), usuario.getId()))
+                .build();
+    }
 }
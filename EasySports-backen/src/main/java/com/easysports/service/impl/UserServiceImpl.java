@@ -1,13 +1,22 @@
 package com.easysports.service.impl;
 
 import com.easysports.dto.UserSearchDTO;
+import com.easysports.dto.user.ImportacionEvento;
 import com.easysports.model.User;
 import com.easysports.repository.UserRepository;
+import com.easysports.security.UserDetailsImpl;
 import com.easysports.service.UserService;
+import com.easysports.service.importer.UserCsvImporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,13 +26,17 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCsvImporter userCsvImporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Override
     public List<UserSearchDTO> searchUsers(String query, Long equipoId) {
-        // Obtener el email del usuario autenticado
-        String currentUserEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new RuntimeException("Usuario autenticado no encontrado"));
-        Long currentUserId = currentUser.getId();
+        // El ID del usuario autenticado viene en el principal, sin consultar la base de datos
+        UserDetailsImpl userDetails = (UserDetailsImpl) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Long currentUserId = userDetails.getUser().getId();
 
         // Realizar la búsqueda
         List<User> users = userRepository.searchUsers(query, equipoId, currentUserId);
@@ -34,6 +47,28 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void importarUsuarios(InputStream csv, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ImportacionEvento.class);
+        try {
+            userCsvImporter.importar(csv, evento -> {
+                try {
+                    out.write(writer.writeValueAsBytes(evento));
+                    out.write('\n');
+                    // Los errores se acumulan en el búfer; el progreso de cada lote se envía al cliente
+                    if (evento.getTipo() != ImportacionEvento.Tipo.ERROR) {
+                        out.flush();
+                    }
+                } catch (IOException ex) {
+                    // El cliente se ha desconectado: la importación se detiene tras el último lote confirmado
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
     private UserSearchDTO convertToDto(User user) {
         return UserSearchDTO.builder()
                 .id(user.getId())
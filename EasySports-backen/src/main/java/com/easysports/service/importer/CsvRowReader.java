@@ -0,0 +1,132 @@
+package com.easysports.service.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lector de CSV fila a fila: sólo mantiene en memoria la línea actual, así que el tamaño del archivo no importa.
+ * <p>
+ * La primera línea es la cabecera con los nombres de columna (sin distinguir mayúsculas). El separador es
+ * la coma, o el punto y coma si la cabecera lo usa (como exporta Excel en español). Admite campos entre
+ * comillas dobles con {@code ""} como comilla escapada, pero no saltos de línea dentro de un campo.
+ */
+public class CsvRowReader implements Closeable {
+
+    /**
+     * Fila de datos del CSV.
+     *
+     * @param linea    Número de línea en el archivo (la cabecera es la 1).
+     * @param campos   Valor de cada columna de la cabecera, sin espacios alrededor; vacío si falta.
+     * @param completa {@code false} si la fila no tiene el mismo número de campos que la cabecera.
+     */
+    public record CsvRow(int linea, Map<String, String> campos, boolean completa) {
+
+        /**
+         * @return El valor de la columna, o {@code null} si está vacío.
+         */
+        public String get(String columna) {
+            String valor = campos.get(columna);
+            return valor == null || valor.isEmpty() ? null : valor;
+        }
+    }
+
+    private final BufferedReader reader;
+    private final List<String> columnas;
+    private final char separador;
+    private int linea;
+
+    /**
+     * Lee la cabecera del CSV.
+     *
+     * @param entrada Contenido del CSV en UTF-8.
+     * @throws IOException Si no se puede leer la entrada.
+     */
+    public CsvRowReader(InputStream entrada) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        String cabecera = reader.readLine();
+        // Marca de orden de bytes que añaden algunos editores al guardar en UTF-8
+        if (cabecera != null && cabecera.startsWith("\uFEFF")) {
+            cabecera = cabecera.substring(1);
+        }
+        this.linea = 1;
+        this.separador = cabecera != null && cabecera.indexOf(';') >= 0 && cabecera.indexOf(',') < 0 ? ';' : ',';
+        this.columnas = cabecera == null ? List.of() : dividir(cabecera).stream()
+                .map(columna -> columna.toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    /**
+     * @param requeridas Columnas que debe tener la cabecera.
+     * @return Las columnas requeridas que no aparecen en la cabecera.
+     */
+    public List<String> columnasFaltantes(Collection<String> requeridas) {
+        return requeridas.stream().filter(columna -> !columnas.contains(columna)).toList();
+    }
+
+    /**
+     * Lee la siguiente fila con datos, saltando las líneas en blanco.
+     *
+     * @return La fila, o {@code null} al final del archivo.
+     * @throws IOException Si no se puede leer la entrada.
+     */
+    public CsvRow siguiente() throws IOException {
+        String texto;
+        do {
+            texto = reader.readLine();
+            linea++;
+            if (texto == null) {
+                return null;
+            }
+        } while (texto.isBlank());
+
+        List<String> valores = dividir(texto);
+        Map<String, String> campos = new HashMap<>(columnas.size() * 2);
+        for (int i = 0; i < columnas.size(); i++) {
+            campos.put(columnas.get(i), i < valores.size() ? valores.get(i) : "");
+        }
+        return new CsvRow(linea, campos, valores.size() == columnas.size());
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> dividir(String texto) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == separador) {
+                valores.add(actual.toString().trim());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        valores.add(actual.toString().trim());
+        return valores;
+    }
+}
@@ -0,0 +1,411 @@
+package com.easysports.service.importer;
+
+import com.easysports.dto.auth.RegisterRequest;
+import com.easysports.dto.user.ImportacionEvento;
+import com.easysports.enums.EstadoMiembro;
+import com.easysports.enums.RolMiembro;
+import com.easysports.enums.Sexo;
+import com.easysports.model.MiembroEquipo;
+import com.easysports.repository.MiembroEquipoRepository;
+import com.easysports.repository.TeamRepository;
+import com.easysports.repository.UserRepository;
+import com.easysports.security.BoundedPasswordEncoder;
+import com.easysports.service.cache.TeamMembershipIndex;
+import com.easysports.util.TransactionHooks;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Importa usuarios desde un CSV (alta de una liga con sus jugadores) con un coste por lote, no por fila.
+ * <p>
+ * El archivo se lee fila a fila y se procesa en lotes de {@code easysports.importacion.lote} filas; de cada
+ * lote sólo se conserva el propio lote. Por lote: una consulta {@code IN} para los emails ya registrados y
+ * otra para los equipos, el hash de las contraseñas en paralelo en un pool propio, y una transacción con la
+ * inserción de los usuarios en un lote JDBC, sus membresías (IDs reservados por bloques, ver V7) y sus filas
+ * de plantilla. Cada lote se confirma por separado: si la importación se interrumpe, los lotes anteriores
+ * quedan guardados y basta con volver a enviar el archivo (las filas ya importadas darán "email registrado").
+ * <p>
+ * Columnas requeridas: email, nombre_completo, password, sexo, edad_anios, edad_meses. Opcionales:
+ * posicion_preferida y equipo_id (el usuario entra en ese equipo como miembro aceptado).
+ */
+@Component
+public class UserCsvImporter implements DisposableBean {
+
+    static final List<String> COLUMNAS_REQUERIDAS =
+            List.of("email", "nombre_completo", "password", "sexo", "edad_anios", "edad_meses");
+    private static final String EMAIL_REGISTRADO = "El email ya está registrado.";
+
+    private static final String INSERT_USUARIO = """
+            INSERT INTO usuarios (email, password_hash, nombre_completo, sexo, edad_anios, edad_meses,
+                                  es_league_manager, posicion_preferida, puntuacion, fecha_registro)
+            VALUES (:email, :hash, :nombre, :sexo, :anios, :meses, FALSE, :posicion, :puntuacion, :ahora)
+            """;
+    private static final String INSERT_ROSTER = """
+            INSERT INTO roster_equipos (equipo_id, usuario_id, nombre_completo, email, es_capitan)
+            VALUES (:equipo, :usuario, :nombre, :email, FALSE)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+    private final MiembroEquipoRepository miembroEquipoRepository;
+    private final TeamMembershipIndex teamMembershipIndex;
+    private final Validator validator;
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService hashPool;
+    private final int tamanoLote;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     * @param passwordEncoder Codificador de la aplicación; se usa su BCrypt sin el pool de login, para que
+     *                        una importación no ocupe la cola de los logins.
+     * @param hilos           Hilos para el hash de contraseñas (0 = la mitad de los procesadores, mínimo 1).
+     * @param tamanoLote      Filas por lote y transacción.
+     */
+    @Autowired
+    public UserCsvImporter(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           UserRepository userRepository, TeamRepository teamRepository,
+                           MiembroEquipoRepository miembroEquipoRepository, TeamMembershipIndex teamMembershipIndex,
+                           Validator validator, BoundedPasswordEncoder passwordEncoder,
+                           @Value("${easysports.importacion.hilos:0}") int hilos,
+                           @Value("${easysports.importacion.lote:500}") int tamanoLote) {
+        this(jdbcTemplate, transactionTemplate, userRepository, teamRepository, miembroEquipoRepository,
+                teamMembershipIndex, validator, passwordEncoder.getDelegate(), hilos, tamanoLote);
+    }
+
+    UserCsvImporter(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                    UserRepository userRepository, TeamRepository teamRepository,
+                    MiembroEquipoRepository miembroEquipoRepository, TeamMembershipIndex teamMembershipIndex,
+                    Validator validator, PasswordEncoder passwordEncoder, int hilos, int tamanoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userRepository = userRepository;
+        this.teamRepository = teamRepository;
+        this.miembroEquipoRepository = miembroEquipoRepository;
+        this.teamMembershipIndex = teamMembershipIndex;
+        this.validator = validator;
+        this.passwordEncoder = passwordEncoder;
+        this.tamanoLote = tamanoLote;
+        int hilosEfectivos = hilos > 0 ? hilos : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // La cola no crece más allá de un lote por importación: cada lote espera a sus hashes antes de leer más
+        this.hashPool = new ThreadPoolExecutor(hilosEfectivos, hilosEfectivos, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new HashThreadFactory());
+    }
+
+    /**
+     * Importa los usuarios del CSV.
+     *
+     * @param csv     Contenido del archivo en UTF-8; se lee una sola vez, de principio a fin.
+     * @param eventos Recibe cada error de fila en cuanto se detecta, el progreso tras cada lote y el resumen final.
+     * @return El evento final con los contadores de la importación.
+     * @throws IOException Si no se puede leer el CSV.
+     */
+    public ImportacionEvento importar(InputStream csv, Consumer<ImportacionEvento> eventos) throws IOException {
+        Contadores contadores = new Contadores();
+        try (CsvRowReader lector = new CsvRowReader(csv)) {
+            List<String> faltan = lector.columnasFaltantes(COLUMNAS_REQUERIDAS);
+            if (!faltan.isEmpty()) {
+                rechazar(1, null, "Faltan columnas en la cabecera: " + String.join(", ", faltan), contadores, eventos);
+                return terminar(contadores, eventos);
+            }
+
+            // Sólo los emails ya leídos se conservan de todo el archivo, para detectar filas repetidas
+            Set<String> emailsVistos = new HashSet<>();
+            List<Candidato> lote = new ArrayList<>(tamanoLote);
+            CsvRowReader.CsvRow fila;
+            while ((fila = lector.siguiente()) != null) {
+                contadores.procesadas++;
+                Candidato candidato;
+                try {
+                    candidato = candidato(fila);
+                } catch (IllegalArgumentException ex) {
+                    rechazar(fila.linea(), fila.get("email"), ex.getMessage(), contadores, eventos);
+                    continue;
+                }
+                if (!emailsVistos.add(candidato.datos().getEmail())) {
+                    rechazar(fila.linea(), candidato.datos().getEmail(), "El email está repetido en el archivo.", contadores, eventos);
+                    continue;
+                }
+                lote.add(candidato);
+                if (lote.size() == tamanoLote) {
+                    procesarLote(lote, contadores, eventos);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                procesarLote(lote, contadores, eventos);
+            }
+        }
+        return terminar(contadores, eventos);
+    }
+
+    @Override
+    public void destroy() {
+        hashPool.shutdownNow();
+    }
+
+    /* --------------------- Helpers --------------------- */
+
+    private void procesarLote(List<Candidato> lote, Contadores contadores, Consumer<ImportacionEvento> eventos) {
+        Set<String> registrados = emailsRegistrados(lote);
+        Set<Long> equipos = equiposExistentes(lote);
+        List<Candidato> validos = new ArrayList<>(lote.size());
+        for (Candidato candidato : lote) {
+            if (registrados.contains(candidato.datos().getEmail())) {
+                rechazar(candidato.linea(), candidato.datos().getEmail(), EMAIL_REGISTRADO, contadores, eventos);
+            } else if (candidato.equipoId() != null && !equipos.contains(candidato.equipoId())) {
+                rechazar(candidato.linea(), candidato.datos().getEmail(), "Equipo no encontrado.", contadores, eventos);
+            } else {
+                validos.add(candidato);
+            }
+        }
+
+        List<Alta> altas = hashear(validos);
+        while (!altas.isEmpty()) {
+            try {
+                guardar(altas);
+                contadores.creados += altas.size();
+                break;
+            } catch (DuplicateKeyException ex) {
+                // Otra petición registró alguno de estos emails tras la comprobación: se descartan y se reintenta
+                Set<String> enCarrera = emailsRegistrados(altas.stream().map(Alta::candidato).toList());
+                if (enCarrera.isEmpty()) {
+                    throw ex;
+                }
+                List<Alta> restantes = new ArrayList<>(altas.size());
+                for (Alta alta : altas) {
+                    if (enCarrera.contains(alta.candidato().datos().getEmail())) {
+                        rechazar(alta.candidato().linea(), alta.candidato().datos().getEmail(), EMAIL_REGISTRADO, contadores, eventos);
+                    } else {
+                        restantes.add(alta);
+                    }
+                }
+                altas = restantes;
+            }
+        }
+        eventos.accept(resumen(ImportacionEvento.Tipo.PROGRESO, contadores));
+    }
+
+    private List<Alta> hashear(List<Candidato> candidatos) {
+        List<CompletableFuture<String>> hashes = candidatos.stream()
+                .map(candidato -> CompletableFuture.supplyAsync(
+                        () -> passwordEncoder.encode(candidato.datos().getPassword()), hashPool))
+                .toList();
+        List<Alta> altas = new ArrayList<>(candidatos.size());
+        for (int i = 0; i < candidatos.size(); i++) {
+            altas.add(new Alta(candidatos.get(i), hashes.get(i).join()));
+        }
+        return altas;
+    }
+
+    private void guardar(List<Alta> altas) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+            SqlParameterSource[] usuarios = altas.stream()
+                    .map(alta -> new MapSqlParameterSource()
+                            .addValue("email", alta.candidato().datos().getEmail())
+                            .addValue("hash", alta.hash())
+                            .addValue("nombre", alta.candidato().datos().getNombreCompleto())
+                            .addValue("sexo", alta.candidato().sexo().name())
+                            .addValue("anios", alta.candidato().datos().getEdadAnios())
+                            .addValue("meses", alta.candidato().datos().getEdadMeses())
+                            .addValue("posicion", alta.candidato().posicion())
+                            .addValue("puntuacion", new BigDecimal("5.0"))
+                            .addValue("ahora", ahora))
+                    .toArray(SqlParameterSource[]::new);
+            jdbcTemplate.batchUpdate(INSERT_USUARIO, usuarios);
+
+            List<Alta> conEquipo = altas.stream().filter(alta -> alta.candidato().equipoId() != null).toList();
+            if (conEquipo.isEmpty()) {
+                return;
+            }
+            Map<String, Long> ids = new HashMap<>();
+            jdbcTemplate.query("SELECT id, email FROM usuarios WHERE email IN (:emails)",
+                    new MapSqlParameterSource("emails", conEquipo.stream().map(alta -> alta.candidato().datos().getEmail()).toList()),
+                    rs -> {
+                        ids.put(rs.getString("email"), rs.getLong("id"));
+                    });
+
+            LocalDateTime fecha = ahora.toLocalDateTime();
+            List<MiembroEquipo> membresias = new ArrayList<>(conEquipo.size());
+            List<SqlParameterSource> plantillas = new ArrayList<>(conEquipo.size());
+            for (Alta alta : conEquipo) {
+                Long usuarioId = ids.get(alta.candidato().datos().getEmail());
+                Long equipoId = alta.candidato().equipoId();
+                membresias.add(MiembroEquipo.builder()
+                        .usuario(userRepository.getReferenceById(usuarioId))
+                        .equipo(teamRepository.getReferenceById(equipoId))
+                        .estado(EstadoMiembro.ACEPTADO)
+                        .rol(RolMiembro.MIEMBRO)
+                        .fechaIngreso(fecha)
+                        .fechaEstado(fecha)
+                        .build());
+                plantillas.add(new MapSqlParameterSource()
+                        .addValue("equipo", equipoId)
+                        .addValue("usuario", usuarioId)
+                        .addValue("nombre", alta.candidato().datos().getNombreCompleto())
+                        .addValue("email", alta.candidato().datos().getEmail()));
+                TransactionHooks.afterCommit(() -> teamMembershipIndex.registrarMembresia(
+                        usuarioId, equipoId, EstadoMiembro.ACEPTADO, RolMiembro.MIEMBRO));
+            }
+            miembroEquipoRepository.saveAll(membresias);
+            jdbcTemplate.batchUpdate(INSERT_ROSTER, plantillas.toArray(SqlParameterSource[]::new));
+        });
+    }
+
+    private Set<String> emailsRegistrados(List<Candidato> candidatos) {
+        if (candidatos.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT email FROM usuarios WHERE email IN (:emails)",
+                new MapSqlParameterSource("emails", candidatos.stream().map(c -> c.datos().getEmail()).toList()),
+                String.class));
+    }
+
+    private Set<Long> equiposExistentes(List<Candidato> candidatos) {
+        Set<Long> equipoIds = new HashSet<>();
+        candidatos.stream().map(Candidato::equipoId).filter(Objects::nonNull).forEach(equipoIds::add);
+        if (equipoIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM equipos WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", equipoIds), Long.class));
+    }
+
+    // Valida la fila con las mismas reglas que el registro individual (RegisterRequest) y los límites de las columnas
+    private Candidato candidato(CsvRowReader.CsvRow fila) {
+        if (!fila.completa()) {
+            throw new IllegalArgumentException("La fila no tiene el mismo número de columnas que la cabecera.");
+        }
+        RegisterRequest datos = new RegisterRequest();
+        datos.setEmail(fila.get("email"));
+        datos.setNombreCompleto(fila.get("nombre_completo"));
+        datos.setPassword(fila.get("password"));
+        datos.setSexo(fila.get("sexo"));
+        datos.setEdadAnios(entero(fila, "edad_anios"));
+        datos.setEdadMeses(entero(fila, "edad_meses"));
+
+        Set<ConstraintViolation<RegisterRequest>> violaciones = validator.validate(datos);
+        if (!violaciones.isEmpty()) {
+            throw new IllegalArgumentException(String.join(" ",
+                    violaciones.stream().map(ConstraintViolation::getMessage).sorted().toList()));
+        }
+        if (datos.getEmail().length() > 150) {
+            throw new IllegalArgumentException("El email no puede superar los 150 caracteres.");
+        }
+        if (datos.getNombreCompleto().length() > 100) {
+            throw new IllegalArgumentException("El nombre completo no puede superar los 100 caracteres.");
+        }
+        String posicion = fila.get("posicion_preferida");
+        if (posicion != null && posicion.length() > 50) {
+            throw new IllegalArgumentException("La posición preferida no puede superar los 50 caracteres.");
+        }
+        Sexo sexo;
+        try {
+            sexo = Sexo.valueOf(datos.getSexo().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("El sexo debe ser HOMBRE, MUJER u OTRO.");
+        }
+        Long equipoId;
+        try {
+            equipoId = fila.get("equipo_id") == null ? null : Long.valueOf(fila.get("equipo_id"));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("La columna equipo_id debe ser un número entero.");
+        }
+        return new Candidato(fila.linea(), datos, sexo, equipoId, posicion);
+    }
+
+    private static Integer entero(CsvRowReader.CsvRow fila, String columna) {
+        String valor = fila.get(columna);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("La columna " + columna + " debe ser un número entero.");
+        }
+    }
+
+    private static void rechazar(int linea, String email, String motivo, Contadores contadores,
+                                 Consumer<ImportacionEvento> eventos) {
+        contadores.errores++;
+        eventos.accept(ImportacionEvento.builder()
+                .tipo(ImportacionEvento.Tipo.ERROR)
+                .fila(linea)
+                .email(email)
+                .motivo(motivo)
+                .build());
+    }
+
+    private static ImportacionEvento terminar(Contadores contadores, Consumer<ImportacionEvento> eventos) {
+        ImportacionEvento fin = resumen(ImportacionEvento.Tipo.FIN, contadores);
+        eventos.accept(fin);
+        return fin;
+    }
+
+    private static ImportacionEvento resumen(ImportacionEvento.Tipo tipo, Contadores contadores) {
+        return ImportacionEvento.builder()
+                .tipo(tipo)
+                .procesadas(contadores.procesadas)
+                .creados(contadores.creados)
+                .errores(contadores.errores)
+                .build();
+    }
+
+    private record Candidato(int linea, RegisterRequest datos, Sexo sexo, Long equipoId, String posicion) {
+    }
+
+    private record Alta(Candidato candidato, String hash) {
+    }
+
+    private static final class Contadores {
+        private int procesadas;
+        private int creados;
+        private int errores;
+    }
+
+    private static final class HashThreadFactory implements ThreadFactory {
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "importacion-hash-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
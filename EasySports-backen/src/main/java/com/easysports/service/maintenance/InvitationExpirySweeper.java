@@ -0,0 +1,119 @@
+package com.easysports.service.maintenance;
+
+import com.easysports.enums.EstadoMiembro;
+import com.easysports.service.cache.TeamMembershipIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Marca como {@link EstadoMiembro#EXPIRADO} las invitaciones a equipos que llevan pendientes más de
+ * {@code easysports.invitaciones.caducidad}. Trabaja por lotes de como máximo {@code easysports.invitaciones.barrido.lote}
+ * filas: cada lote es una única sentencia {@code UPDATE ... WHERE id IN (SELECT ... LIMIT n)} confirmada por separado,
+ * de modo que nunca mantiene bloqueos sobre muchas filas ni durante mucho tiempo. La misma sentencia devuelve los
+ * usuarios de las invitaciones expiradas ({@code RETURNING usuario_id}), que se recargan en el {@link TeamMembershipIndex}.
+ */
+@Slf4j
+@Component
+public class InvitationExpirySweeper {
+
+    // Se vuelve a comprobar el estado fuera de la subconsulta: una invitación aceptada entre medias no se toca
+    private static final String EXPIRAR_LOTE = """
+            UPDATE miembros_equipos SET estado = :expirado, fecha_estado = :ahora
+            WHERE estado = :pendiente
+              AND id IN (SELECT id FROM miembros_equipos
+                         WHERE estado = :pendiente AND fecha_estado < :limite
+                         LIMIT :lote)""";
+
+    // Columna devuelta por cada fila actualizada (el driver de PostgreSQL la añade como RETURNING usuario_id)
+    private static final String[] USUARIO_ID = {"usuario_id"};
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TeamMembershipIndex teamMembershipIndex;
+    private final Duration caducidad;
+    private final int tamanoLote;
+    private final Counter expiradas;
+    private final Timer tiempoLote;
+
+    public InvitationExpirySweeper(NamedParameterJdbcTemplate jdbcTemplate,
+                                   TeamMembershipIndex teamMembershipIndex,
+                                   MeterRegistry registry,
+                                   @Value("${easysports.invitaciones.caducidad:14d}") Duration caducidad,
+                                   @Value("${easysports.invitaciones.barrido.lote:500}") int tamanoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.teamMembershipIndex = teamMembershipIndex;
+        this.caducidad = caducidad;
+        this.tamanoLote = tamanoLote;
+        this.expiradas = Counter.builder("easysports.invitaciones.expiradas")
+                .description("Invitaciones a equipos marcadas como expiradas")
+                .register(registry);
+        this.tiempoLote = Timer.builder("easysports.invitaciones.barrido.lote")
+                .description("Duración de cada lote del barrido de invitaciones expiradas")
+                .register(registry);
+    }
+
+    /**
+     * Barrido periódico. El intervalo se cuenta desde el final del barrido anterior.
+     */
+    @Scheduled(initialDelayString = "${easysports.invitaciones.barrido.retraso-inicial:PT1M}",
+            fixedDelayString = "${easysports.invitaciones.barrido.intervalo:PT1H}")
+    public void barrer() {
+        int total = expirar(LocalDateTime.now());
+        if (total > 0) {
+            log.info("Barrido de invitaciones: {} invitaciones expiradas", total);
+        }
+    }
+
+    /**
+     * Expira, lote a lote, las invitaciones pendientes cuyo último cambio de estado es anterior a
+     * {@code ahora - caducidad}. Termina cuando un lote sale incompleto.
+     *
+     * @param ahora Instante de referencia del barrido.
+     * @return Número total de invitaciones expiradas.
+     */
+    public int expirar(LocalDateTime ahora) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("expirado", EstadoMiembro.EXPIRADO.name())
+                .addValue("pendiente", EstadoMiembro.INVITADO_PENDIENTE.name())
+                .addValue("ahora", Timestamp.valueOf(ahora))
+                .addValue("limite", Timestamp.valueOf(ahora.minus(caducidad)))
+                .addValue("lote", tamanoLote);
+        int total = 0;
+        int actualizadas;
+        do {
+            // Sin transacción envolvente: cada lote se confirma (y libera sus bloqueos) al terminar
+            KeyHolder usuarios = new GeneratedKeyHolder();
+            actualizadas = tiempoLote.record(() -> jdbcTemplate.update(EXPIRAR_LOTE, params, usuarios, USUARIO_ID));
+            expiradas.increment(actualizadas);
+            total += actualizadas;
+            if (actualizadas > 0) {
+                // El lote ya está confirmado: el índice lee el estado definitivo de esos usuarios
+                teamMembershipIndex.recargarUsuarios(usuarioIds(usuarios));
+            }
+        } while (actualizadas == tamanoLote);
+        return total;
+    }
+
+    private static Set<Long> usuarioIds(KeyHolder usuarios) {
+        Set<Long> ids = new HashSet<>();
+        for (Map<String, Object> fila : usuarios.getKeyList()) {
+            ids.add(((Number) fila.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+}
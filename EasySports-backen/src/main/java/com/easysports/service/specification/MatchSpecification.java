@@ -51,4 +51,20 @@ public class MatchSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Crea una especificación con los encuentros vigentes (ABIERTO o LLENO) programados a partir de una fecha.
+     * Es el conjunto que mantiene en memoria el tablero de encuentros abiertos.
+     *
+     * @param fechaDesde La fecha a partir de la cual incluir encuentros.
+     * @return Una instancia de {@link Specification<Match>} que puede ser usada en un repositorio.
+     */
+    public Specification<Match> vigentesDesde(LocalDateTime fechaDesde) {
+        return (root, query, criteriaBuilder) -> {
+            query.orderBy(criteriaBuilder.asc(root.get("fechaProgramada")));
+            return criteriaBuilder.and(
+                    root.get("estado").in(MatchStatus.ABIERTO, MatchStatus.LLENO),
+                    criteriaBuilder.greaterThanOrEqualTo(root.get("fechaProgramada"), fechaDesde));
+        };
+    }
 }
@@ -0,0 +1,118 @@
+package com.easysports.service.standings;
+
+import com.easysports.repository.TablaDePosicionesRepository;
+import com.easysports.repository.TeamRepository;
+import com.easysports.service.cache.StandingsSnapshotStore;
+import com.easysports.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Aplica el resultado de un encuentro formal a la clasificación de la liga y a los partidos ganados de
+ * cada equipo.
+ * <p>
+ * No lee los contadores: calcula lo que aporta el resultado a cada equipo y lo suma con un
+ * {@code UPDATE ... SET puntos = puntos + ?}, en la transacción de quien registra el resultado. Así dos
+ * resultados concurrentes del mismo equipo se suman los dos, y corregir un resultado resta lo que aportaba
+ * el anterior en la misma sentencia. Los dos equipos se actualizan siempre en orden de ID para que dos
+ * transacciones sobre los mismos equipos no se bloqueen mutuamente. Tras confirmar, descarta la clasificación
+ * ya serializada de la liga.
+ */
+@Component
+@RequiredArgsConstructor
+public class StandingsEngine {
+
+    static final int PUNTOS_VICTORIA = 3;
+    static final int PUNTOS_EMPATE = 1;
+
+    private final TablaDePosicionesRepository tablaDePosicionesRepository;
+    private final TeamRepository teamRepository;
+    private final StandingsSnapshotStore standingsSnapshotStore;
+
+    /**
+     * Goles de un resultado.
+     *
+     * @param golesLocal     Goles del equipo local.
+     * @param golesVisitante Goles del equipo visitante.
+     */
+    public record Marcador(int golesLocal, int golesVisitante) {
+    }
+
+    /**
+     * Aplica a la clasificación el cambio de resultado de un encuentro. Debe llamarse dentro de la
+     * transacción que guarda el resultado.
+     *
+     * @param ligaId            ID de la liga del encuentro, o {@code null} si no es de liga (sólo se
+     *                          actualizan los partidos ganados de los equipos).
+     * @param equipoLocalId     ID del equipo local.
+     * @param equipoVisitanteId ID del equipo visitante.
+     * @param anterior          Resultado que ya estaba aplicado, o {@code null} si es el primero.
+     * @param nuevo             Resultado nuevo.
+     */
+    public void aplicar(Long ligaId, Long equipoLocalId, Long equipoVisitanteId, Marcador anterior, Marcador nuevo) {
+        if (equipoLocalId == null || equipoVisitanteId == null || Objects.equals(anterior, nuevo)) {
+            return;
+        }
+        Aporte local = Aporte.de(nuevo, true).menos(Aporte.de(anterior, true));
+        Aporte visitante = Aporte.de(nuevo, false).menos(Aporte.de(anterior, false));
+
+        if (equipoLocalId < equipoVisitanteId) {
+            sumar(ligaId, equipoLocalId, local);
+            sumar(ligaId, equipoVisitanteId, visitante);
+        } else {
+            sumar(ligaId, equipoVisitanteId, visitante);
+            sumar(ligaId, equipoLocalId, local);
+        }
+        if (ligaId != null && !(local.esNulo() && visitante.esNulo())) {
+            TransactionHooks.afterCommit(() -> standingsSnapshotStore.invalidar(ligaId));
+        }
+    }
+
+    private void sumar(Long ligaId, Long equipoId, Aporte aporte) {
+        if (aporte.esNulo()) {
+            return;
+        }
+        if (ligaId != null) {
+            tablaDePosicionesRepository.crearSiNoExiste(ligaId, equipoId);
+            tablaDePosicionesRepository.sumar(ligaId, equipoId, aporte.puntos(), aporte.jugados(),
+                    aporte.ganados(), aporte.empatados(), aporte.perdidos());
+        }
+        if (aporte.ganados() != 0) {
+            teamRepository.sumarPartidosGanados(equipoId, aporte.ganados());
+        }
+    }
+
+    /**
+     * Lo que un resultado suma a los contadores de uno de los equipos.
+     */
+    private record Aporte(int puntos, int jugados, int ganados, int empatados, int perdidos) {
+
+        private static final Aporte NINGUNO = new Aporte(0, 0, 0, 0, 0);
+
+        static Aporte de(Marcador marcador, boolean local) {
+            if (marcador == null) {
+                return NINGUNO;
+            }
+            int propios = local ? marcador.golesLocal() : marcador.golesVisitante();
+            int ajenos = local ? marcador.golesVisitante() : marcador.golesLocal();
+            if (propios > ajenos) {
+                return new Aporte(PUNTOS_VICTORIA, 1, 1, 0, 0);
+            }
+            if (propios == ajenos) {
+                return new Aporte(PUNTOS_EMPATE, 1, 0, 1, 0);
+            }
+            return new Aporte(0, 1, 0, 0, 1);
+        }
+
+        Aporte menos(Aporte otro) {
+            return new Aporte(puntos - otro.puntos, jugados - otro.jugados, ganados - otro.ganados,
+                    empatados - otro.empatados, perdidos - otro.perdidos);
+        }
+
+        boolean esNulo() {
+            return equals(NINGUNO);
+        }
+    }
+}
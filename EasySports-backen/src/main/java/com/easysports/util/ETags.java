@@ -0,0 +1,55 @@
+package com.easysports.util;
+
+import com.easysports.dto.match.MatchResponse;
+import org.springframework.data.domain.Page;
+
+/**
+ * Calcula los ETag de los encuentros a partir de su versión, sin serializar la respuesta.
+ * El detalle usa el id y la versión del encuentro; un listado combina los de todos sus elementos,
+ * la paginación y el total, de modo que cualquier cambio en la página produce un ETag distinto.
+ */
+public final class ETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {
+    }
+
+    /**
+     * @param match Encuentro a identificar.
+     * @return ETag fuerte del encuentro (id y versión).
+     */
+    public static String of(MatchResponse match) {
+        return "\"" + match.getId() + "-" + version(match) + "\"";
+    }
+
+    /**
+     * @param page Página de encuentros a identificar.
+     * @return ETag fuerte de la página.
+     */
+    public static String of(Page<MatchResponse> page) {
+        long hash = FNV_OFFSET;
+        hash = mezclar(hash, page.getNumber());
+        hash = mezclar(hash, page.getSize());
+        hash = mezclar(hash, page.getTotalElements());
+        for (MatchResponse match : page.getContent()) {
+            hash = mezclar(hash, match.getId());
+            hash = mezclar(hash, version(match));
+        }
+        return "\"p-" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long version(MatchResponse match) {
+        return match.getVersion() != null ? match.getVersion() : 0L;
+    }
+
+    // FNV-1a sobre los 8 bytes del valor
+    private static long mezclar(long hash, long valor) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (valor >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
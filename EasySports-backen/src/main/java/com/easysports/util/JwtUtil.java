@@ -1,39 +1,116 @@
 package com.easysports.util;
 
+import com.easysports.security.TokenVersions;
+import com.easysports.security.UserDetailsImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
  * Clase de utilidad para la generación, validación y extracción de información de JSON Web Tokens (JWT).
  * Proporciona métodos para manejar todas las operaciones relacionadas con los JWT.
+ * <p>
+ * La clave de firma y el parser se construyen una sola vez. {@link #verify(String)} valida el token y
+ * devuelve todos sus datos de una vez, y recuerda los tokens ya verificados (por su resumen SHA-256,
+ * nunca el token en claro) hasta que expiran, de modo que las peticiones siguientes con el mismo token
+ * no vuelven a comprobar la firma.
  */
 @Component
-public class JwtUtil {
+public class JwtUtil implements MeterBinder {
+
+    // Nombre con el que se publican las estadísticas (cache.gets, cache.evictions, ...)
+    private static final String CACHE_NAME = "tokensVerificados";
+    private static final String CLAIM_ROLES = "roles";
+    private static final String CLAIM_USUARIO = "uid";
+    private static final String CLAIM_VERSION = "ver";
 
     /**
-     * Clave secreta para firmar los JWT.
-     * Se inyecta desde las propiedades de la aplicación (ej. application.properties).
+     * Datos de un token cuya firma y vigencia ya se han comprobado.
+     *
+     * @param userId     ID del usuario, o {@code null} en tokens emitidos antes de incluirlo.
+     * @param username   Sujeto del token (email del usuario).
+     * @param roles      Roles incluidos al emitir el token.
+     * @param version    Versión de los tokens del usuario al emitirlo (ver {@link TokenVersions}).
+     * @param expiration Fecha de expiración del token.
      */
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
+    public record VerifiedToken(Long userId, String username, List<String> roles, long version, Date expiration) {
+    }
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final long expirationMillis;
+    private final TokenVersions tokenVersions;
+    // Nulo si la caché está desactivada (tamaño 0)
+    private final Cache<String, VerifiedToken> verificados;
 
     /**
-     * Tiempo de validez del token en milisegundos (10 horas por defecto).
+     * @param secret          Clave secreta codificada en Base64 para firmar los JWT.
+     * @param expirationMillis Tiempo de validez de los tokens emitidos, en milisegundos.
+     * @param maxTokens       Máximo de tokens verificados que se recuerdan (0 desactiva la caché).
+     * @param tokenVersions   Versiones vigentes de los tokens de cada usuario.
      */
-    @Value("${jwt.expiration}")
-    private long JWT_EXPIRATION; // 10 horas en milisegundos
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") long expirationMillis,
+                   @Value("${jwt.cache.max-tokens:10000}") long maxTokens,
+                   TokenVersions tokenVersions) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.expirationMillis = expirationMillis;
+        this.tokenVersions = tokenVersions;
+        this.verificados = maxTokens > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxTokens)
+                        .expireAfter(new HastaExpirar())
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * Verifica la firma y la vigencia del token y devuelve sus datos, analizándolo como mucho una vez.
+     *
+     * @param token El token JWT.
+     * @return Los datos del token, o vacío si está mal formado, la firma no es válida o ha expirado.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (verificados == null) {
+            return parse(token);
+        }
+        String resumen = resumen(token);
+        VerifiedToken conocido = verificados.getIfPresent(resumen);
+        if (conocido != null) {
+            return Optional.of(conocido);
+        }
+        Optional<VerifiedToken> verificado = parse(token);
+        verificado.ifPresent(datos -> verificados.put(resumen, datos));
+        return verificado;
+    }
 
     /**
      * Extrae el nombre de usuario del token JWT.
@@ -75,22 +152,7 @@ public class JwtUtil {
      * @return Un objeto Claims que contiene todos los 'claims' del token.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    /**
-     * Verifica si el token JWT ha expirado.
-     *
-     * @param token El token JWT a verificar.
-     * @return true si el token ha expirado, false en caso contrario.
-     */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseClaimsJws(token).getBody();
     }
 
     /**
@@ -101,8 +163,9 @@ public class JwtUtil {
      * @return true si el token es válido para el usuario proporcionado, false en caso contrario.
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return verify(token)
+                .map(datos -> datos.username().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 
     /**
@@ -113,11 +176,23 @@ public class JwtUtil {
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        // Puedes añadir información adicional (roles, etc.) a los claims aquí si es necesario
-        claims.put("roles", userDetails.getAuthorities().stream().map(Object::toString).toList());
+        claims.put(CLAIM_ROLES, userDetails.getAuthorities().stream().map(Object::toString).toList());
+        // Con el ID y la versión el filtro autentica la petición sin cargar el usuario
+        if (userDetails instanceof UserDetailsImpl detalles && detalles.getUser().getId() != null) {
+            Long usuarioId = detalles.getUser().getId();
+            claims.put(CLAIM_USUARIO, usuarioId);
+            claims.put(CLAIM_VERSION, tokenVersions.actual(usuarioId));
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (verificados != null) {
+            CaffeineCacheMetrics.monitor(registry, verificados, CACHE_NAME);
+        }
+    }
+
     /**
      * Crea el token JWT con los 'claims' y el sujeto especificados.
      *
@@ -130,18 +205,60 @@ public class JwtUtil {
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + expirationMillis))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     /**
-     * Obtiene la clave de firma decodificada a partir de la clave secreta.
+     * Analiza y verifica el token con el parser compartido (la expiración la comprueba el propio parser).
      *
-     * @return La clave de firma.
+     * @param token El token JWT.
+     * @return Los datos del token, o vacío si no es válido.
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Optional<VerifiedToken> parse(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            List<?> roles = claims.get(CLAIM_ROLES, List.class);
+            List<String> nombres = roles == null ? List.of() : roles.stream().map(String::valueOf).toList();
+            Long version = claims.get(CLAIM_VERSION, Long.class);
+            return Optional.of(new VerifiedToken(claims.get(CLAIM_USUARIO, Long.class), claims.getSubject(), nombres,
+                    version == null ? 0L : version, claims.getExpiration()));
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static String resumen(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            // Todas las JVM deben incluir SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // Cada token verificado se conserva exactamente hasta su expiración
+    private static final class HastaExpirar implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long restante = value.expiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, restante));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
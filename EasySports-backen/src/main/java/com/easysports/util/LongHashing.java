@@ -0,0 +1,35 @@
+package com.easysports.util;
+
+/**
+ * Funciones comunes de {@link LongLongHashMap} y {@link LongObjectHashMap}.
+ */
+final class LongHashing {
+
+    // Las tablas crecen al superar 2/3 de ocupación, para que los sondeos sigan siendo cortos
+    private static final int OCUPACION_NUMERADOR = 2;
+    private static final int OCUPACION_DENOMINADOR = 3;
+
+    private LongHashing() {
+    }
+
+    // Dispersa los bits altos en los bajos: los IDs secuenciales caerían si no en posiciones contiguas
+    static int mezclar(long clave) {
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    static int capacidadPara(int esperado) {
+        int necesaria = (int) Math.min(1L << 30, (long) esperado * OCUPACION_DENOMINADOR / OCUPACION_NUMERADOR + 1);
+        return Math.max(2, Integer.highestOneBit(necesaria - 1) << 1);
+    }
+
+    static boolean llena(int tamano, int capacidad) {
+        return (long) tamano * OCUPACION_DENOMINADOR > (long) capacidad * OCUPACION_NUMERADOR;
+    }
+
+    static void comprobarClave(long clave) {
+        if (clave == 0) {
+            throw new IllegalArgumentException("La clave 0 está reservada");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.easysports.util;
+
+import java.util.Arrays;
+
+/**
+ * Mapa {@code long -> long} de direccionamiento abierto (sondeo lineal) sobre dos arrays primitivos,
+ * sin objetos por entrada. Pensado para índices por ID: las claves deben ser distintas de 0, que marca
+ * las posiciones libres. No admite borrado ni es seguro para uso concurrente sin sincronización externa.
+ */
+public final class LongLongHashMap {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private long[] claves;
+    private long[] valores;
+    private int tamano;
+
+    public LongLongHashMap() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * @param esperado Número de entradas previsto, para dimensionar las tablas de una vez.
+     */
+    public LongLongHashMap(int esperado) {
+        int capacidad = LongHashing.capacidadPara(esperado);
+        claves = new long[capacidad];
+        valores = new long[capacidad];
+    }
+
+    /**
+     * @param clave Clave (distinta de 0).
+     * @param ausente Valor a devolver si la clave no está.
+     * @return El valor asociado o {@code ausente}.
+     */
+    public long get(long clave, long ausente) {
+        int mascara = claves.length - 1;
+        for (int i = LongHashing.mezclar(clave) & mascara; claves[i] != 0; i = (i + 1) & mascara) {
+            if (claves[i] == clave) {
+                return valores[i];
+            }
+        }
+        return ausente;
+    }
+
+    /**
+     * Asocia el valor a la clave, sustituyendo el anterior si lo había.
+     * @param clave Clave (distinta de 0).
+     * @param valor Valor.
+     */
+    public void put(long clave, long valor) {
+        LongHashing.comprobarClave(clave);
+        int mascara = claves.length - 1;
+        int i = LongHashing.mezclar(clave) & mascara;
+        while (claves[i] != 0 && claves[i] != clave) {
+            i = (i + 1) & mascara;
+        }
+        if (claves[i] == 0) {
+            claves[i] = clave;
+            tamano++;
+        }
+        valores[i] = valor;
+        if (LongHashing.llena(tamano, claves.length)) {
+            redimensionar();
+        }
+    }
+
+    public int size() {
+        return tamano;
+    }
+
+    public void clear() {
+        Arrays.fill(claves, 0);
+        tamano = 0;
+    }
+
+    private void redimensionar() {
+        long[] clavesAnteriores = claves;
+        long[] valoresAnteriores = valores;
+        claves = new long[clavesAnteriores.length * 2];
+        valores = new long[clavesAnteriores.length * 2];
+        tamano = 0;
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            if (clavesAnteriores[i] != 0) {
+                put(clavesAnteriores[i], valoresAnteriores[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.easysports.util;
+
+import java.util.Arrays;
+
+/**
+ * Mapa {@code long -> V} de direccionamiento abierto (sondeo lineal): las claves se guardan en un array
+ * primitivo, sin un {@link Long} por entrada. Las claves deben ser distintas de 0, que marca las posiciones
+ * libres. No admite borrado ni es seguro para uso concurrente sin sincronización externa.
+ *
+ * @param <V> Tipo de los valores.
+ */
+public final class LongObjectHashMap<V> {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private long[] claves;
+    private Object[] valores;
+    private int tamano;
+
+    public LongObjectHashMap() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * @param esperado Número de entradas previsto, para dimensionar las tablas de una vez.
+     */
+    public LongObjectHashMap(int esperado) {
+        int capacidad = LongHashing.capacidadPara(esperado);
+        claves = new long[capacidad];
+        valores = new Object[capacidad];
+    }
+
+    /**
+     * @param clave Clave (distinta de 0).
+     * @return El valor asociado o {@code null} si la clave no está.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long clave) {
+        int mascara = claves.length - 1;
+        for (int i = LongHashing.mezclar(clave) & mascara; claves[i] != 0; i = (i + 1) & mascara) {
+            if (claves[i] == clave) {
+                return (V) valores[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Asocia el valor a la clave, sustituyendo el anterior si lo había.
+     * @param clave Clave (distinta de 0).
+     * @param valor Valor.
+     */
+    public void put(long clave, V valor) {
+        LongHashing.comprobarClave(clave);
+        int mascara = claves.length - 1;
+        int i = LongHashing.mezclar(clave) & mascara;
+        while (claves[i] != 0 && claves[i] != clave) {
+            i = (i + 1) & mascara;
+        }
+        if (claves[i] == 0) {
+            claves[i] = clave;
+            tamano++;
+        }
+        valores[i] = valor;
+        if (LongHashing.llena(tamano, claves.length)) {
+            redimensionar();
+        }
+    }
+
+    public int size() {
+        return tamano;
+    }
+
+    public void clear() {
+        Arrays.fill(claves, 0);
+        Arrays.fill(valores, null);
+        tamano = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redimensionar() {
+        long[] clavesAnteriores = claves;
+        Object[] valoresAnteriores = valores;
+        claves = new long[clavesAnteriores.length * 2];
+        valores = new Object[clavesAnteriores.length * 2];
+        tamano = 0;
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            if (clavesAnteriores[i] != 0) {
+                put(clavesAnteriores[i], (V) valoresAnteriores[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.easysports.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Generador de códigos de encuentro de 6 caracteres alfanuméricos que no pueden repetirse.
+ * <p>
+ * Cada código procede de un número de serie único que se pasa por una permutación con clave
+ * (red de Feistel de 32 bits con <i>cycle walking</i> sobre las 36^6 combinaciones) y se codifica en base 36.
+ * Al ser una biyección, números distintos dan siempre códigos distintos, y la clave hace que los códigos
+ * consecutivos no sean predecibles.
+ * <p>
+ * Los números de serie se reservan por bloques desde un {@code blockSource} (una secuencia de base de datos)
+ * y cada hilo consume su propio bloque, así que generar un código no requiere acceso a la base de datos
+ * ni estado compartido entre hilos salvo al agotar un bloque.
+ * <p>
+ * Los códigos asignados antes de existir el generador pueden coincidir con uno suyo. Se le pasan al crearlo
+ * y se traducen a los números de serie que los producirían, que {@link #next()} salta sin consultar nada.
+ */
+public class MatchCodeGenerator {
+
+    // Alfabeto de los códigos
+    private static final String ALPHANUM = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    // Longitud del código
+    public static final int CODE_LENGTH = 6;
+    // Número de códigos distintos: 36^6
+    public static final long SPACE = pow(ALPHANUM.length(), CODE_LENGTH);
+
+    private static final int ROUNDS = 4;
+
+    private final int[] roundKeys = new int[ROUNDS];
+    private final LongSupplier blockSource;
+    private final int blockSize;
+    // Números de serie cuyo código ya está en uso, ordenados para la búsqueda binaria
+    private final long[] reservados;
+    // Por hilo: {siguiente número de serie, límite exclusivo del bloque}
+    private final ThreadLocal<long[]> bloque = ThreadLocal.withInitial(() -> new long[]{0, 0});
+
+    /**
+     * @param key         Clave de la permutación. Cambiarla invalida la garantía de unicidad frente a los códigos ya emitidos.
+     * @param blockSource Devuelve el inicio de un bloque libre de {@code blockSize} números de serie en cada llamada.
+     * @param blockSize   Número de serie reservados por bloque.
+     */
+    public MatchCodeGenerator(long key, LongSupplier blockSource, int blockSize) {
+        this(key, blockSource, blockSize, List.of(), 0);
+    }
+
+    /**
+     * @param key          Clave de la permutación. Cambiarla invalida la garantía de unicidad frente a los códigos ya emitidos.
+     * @param blockSource  Devuelve el inicio de un bloque libre de {@code blockSize} números de serie en cada llamada.
+     * @param blockSize    Número de serie reservados por bloque.
+     * @param enUso        Códigos ya asignados que el generador no debe emitir. Los que no tienen su formato
+     *                     nunca coinciden.
+     * @param primerSerial Número de serie a partir del cual empiezan los bloques que aún puede recibir el generador;
+     *                     los códigos en uso que correspondan a uno anterior no se recuerdan.
+     */
+    public MatchCodeGenerator(long key, LongSupplier blockSource, int blockSize, Collection<String> enUso, long primerSerial) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser positivo.");
+        }
+        this.blockSource = blockSource;
+        this.blockSize = blockSize;
+        long state = key;
+        for (int i = 0; i < ROUNDS; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            roundKeys[i] = (int) mix64(state);
+        }
+        this.reservados = enUso.stream()
+                .filter(MatchCodeGenerator::esCodigo)
+                .mapToLong(codigo -> unpermute(decode(codigo)))
+                .filter(serial -> serial >= primerSerial)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * @return Un código de encuentro nuevo.
+     * @throws IllegalStateException Si el espacio de códigos se ha agotado.
+     */
+    public String next() {
+        long[] actual = bloque.get();
+        while (true) {
+            if (actual[0] >= actual[1]) {
+                long inicio = blockSource.getAsLong();
+                if (inicio < 0 || inicio >= SPACE) {
+                    throw new IllegalStateException("Se ha agotado el espacio de códigos de encuentro.");
+                }
+                actual[0] = inicio;
+                actual[1] = Math.min(inicio + blockSize, SPACE);
+            }
+            long serial = actual[0]++;
+            if (Arrays.binarySearch(reservados, serial) < 0) {
+                return encode(permute(serial));
+            }
+        }
+    }
+
+    /**
+     * @return Número de códigos en uso que el generador salta.
+     */
+    public int reservados() {
+        return reservados.length;
+    }
+
+    /**
+     * Aplica la permutación con clave sobre {@code [0, SPACE)}.
+     *
+     * @param serial Número de serie en {@code [0, SPACE)}.
+     * @return Un valor en {@code [0, SPACE)}, distinto para cada número de serie.
+     */
+    long permute(long serial) {
+        long value = serial;
+        // La red opera sobre 32 bits; se reaplica hasta caer de nuevo dentro del espacio de códigos
+        do {
+            value = feistel((int) value) & 0xFFFFFFFFL;
+        } while (value >= SPACE);
+        return value;
+    }
+
+    /**
+     * Operación inversa de {@link #permute(long)}: recorre el ciclo hacia atrás hasta volver al espacio de códigos.
+     */
+    long unpermute(long value) {
+        long serial = value;
+        do {
+            serial = feistelInverse((int) serial) & 0xFFFFFFFFL;
+        } while (serial >= SPACE);
+        return serial;
+    }
+
+    /**
+     * Codifica un valor de {@code [0, SPACE)} como código de {@link #CODE_LENGTH} caracteres.
+     */
+    static String encode(long value) {
+        char[] chars = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHANUM.charAt((int) (value % ALPHANUM.length()));
+            value /= ALPHANUM.length();
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Operación inversa de {@link #encode(long)}.
+     */
+    static long decode(String code) {
+        long value = 0;
+        for (int i = 0; i < code.length(); i++) {
+            int digit = ALPHANUM.indexOf(code.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Carácter no válido en el código: " + code);
+            }
+            value = value * ALPHANUM.length() + digit;
+        }
+        return value;
+    }
+
+    private int feistel(int value) {
+        int left = value >>> 16;
+        int right = value & 0xFFFF;
+        for (int roundKey : roundKeys) {
+            int next = left ^ round(right, roundKey);
+            left = right;
+            right = next;
+        }
+        return (left << 16) | right;
+    }
+
+    private int feistelInverse(int value) {
+        int left = value >>> 16;
+        int right = value & 0xFFFF;
+        for (int i = ROUNDS - 1; i >= 0; i--) {
+            int previous = right ^ round(left, roundKeys[i]);
+            right = left;
+            left = previous;
+        }
+        return (left << 16) | right;
+    }
+
+    private static boolean esCodigo(String code) {
+        if (code == null || code.length() != CODE_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < code.length(); i++) {
+            if (ALPHANUM.indexOf(code.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int round(int half, int roundKey) {
+        int h = (half ^ roundKey) * 0x45D9F3B;
+        h ^= h >>> 15;
+        h *= 0x2C1B3C6D;
+        h ^= h >>> 12;
+        return h & 0xFFFF;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long pow(int base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,33 @@
+package com.easysports.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidades para ejecutar acciones ligadas al ciclo de vida de la transacción actual.
+ * Se usa para actualizar estructuras en memoria sólo cuando los cambios ya son visibles en la base de datos.
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * Ejecuta la acción cuando la transacción actual confirme. Si la transacción se revierte, la acción
+     * se descarta. Sin transacción activa, la acción se ejecuta de inmediato.
+     *
+     * @param action Acción a ejecutar tras el commit.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+-- Un encuentro formal puede pertenecer a una liga; su resultado se aplica a la clasificación de esa liga
+ALTER TABLE encuentros ADD COLUMN liga_id BIGINT REFERENCES ligas (id);
+
+CREATE INDEX idx_encuentros_liga
+    ON encuentros (liga_id)
+    WHERE liga_id IS NOT NULL;
+
+-- Los contadores se incrementan con "columna = columna + delta": un NULL anularía la suma
+UPDATE tabla_posiciones
+SET puntos = COALESCE(puntos, 0),
+    pj     = COALESCE(pj, 0),
+    pg     = COALESCE(pg, 0),
+    pp     = COALESCE(pp, 0),
+    pe     = COALESCE(pe, 0);
+
+ALTER TABLE tabla_posiciones
+    ALTER COLUMN puntos SET NOT NULL,
+    ALTER COLUMN pj SET NOT NULL,
+    ALTER COLUMN pg SET NOT NULL,
+    ALTER COLUMN pp SET NOT NULL,
+    ALTER COLUMN pe SET NOT NULL;
+
+-- Una sola fila por liga y equipo (si la carga manual duplicó alguna, se conserva la más antigua)
+DELETE FROM tabla_posiciones t
+    USING tabla_posiciones o
+WHERE t.liga_id = o.liga_id
+  AND t.equipo_id = o.equipo_id
+  AND t.id > o.id;
+
+ALTER TABLE tabla_posiciones
+    ADD CONSTRAINT uk_tabla_posiciones_liga_equipo UNIQUE (liga_id, equipo_id);
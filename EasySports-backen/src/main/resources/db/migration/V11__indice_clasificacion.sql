@@ -0,0 +1,3 @@
+-- La clasificación de una liga se lee ya ordenada del índice, sin ordenar las filas en cada consulta
+CREATE INDEX idx_tabla_posiciones_clasificacion
+    ON tabla_posiciones (liga_id, puntos DESC, pg DESC, pe DESC);
@@ -0,0 +1,3 @@
+-- Versión vigente de los JWT de cada usuario: al incrementarla se revocan todos los emitidos antes
+ALTER TABLE usuarios
+    ADD COLUMN token_version BIGINT NOT NULL DEFAULT 0;
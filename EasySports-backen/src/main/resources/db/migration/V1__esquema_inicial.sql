@@ -0,0 +1,102 @@
+-- Esquema inicial de EasySports.
+-- Refleja las tablas que antes generaba Hibernate con ddl-auto=update; en bases existentes
+-- esta migración no se ejecuta (baseline-version=1).
+
+CREATE TABLE usuarios (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email              VARCHAR(150) NOT NULL,
+    password_hash      VARCHAR(255) NOT NULL,
+    nombre_completo    VARCHAR(100) NOT NULL,
+    sexo               VARCHAR(10)  NOT NULL,
+    edad_anios         INTEGER      NOT NULL,
+    edad_meses         INTEGER      NOT NULL,
+    es_league_manager  BOOLEAN DEFAULT FALSE,
+    posicion_preferida VARCHAR(50),
+    puntuacion         DECIMAL(3, 1) DEFAULT 5.0,
+    avatar_url         VARCHAR(255),
+    fecha_registro     TIMESTAMP(6),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+);
+
+CREATE TABLE canchas (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre          VARCHAR(150) NOT NULL,
+    direccion       VARCHAR(255),
+    tiene_costo     BOOLEAN,
+    tipo_superficie VARCHAR(50)
+);
+
+CREATE TABLE equipos (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre           VARCHAR(100) NOT NULL,
+    tipo_deporte     VARCHAR(20)  NOT NULL,
+    capitan_id       BIGINT       NOT NULL REFERENCES usuarios (id),
+    partidos_ganados INTEGER      NOT NULL DEFAULT 0
+);
+
+CREATE SEQUENCE miembros_equipos_id_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE miembros_equipos (
+    id                 BIGINT PRIMARY KEY,
+    usuario_id         BIGINT       NOT NULL REFERENCES usuarios (id),
+    equipo_id          BIGINT       NOT NULL REFERENCES equipos (id),
+    estado             VARCHAR(255) NOT NULL,
+    rol                VARCHAR(255) NOT NULL,
+    fecha_ingreso      TIMESTAMP(6),
+    fecha_estado       TIMESTAMP(6),
+    -- Columna mapeada por la entidad Player, que comparte esta tabla
+    posicion_preferida VARCHAR(255)
+);
+
+CREATE TABLE ligas (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre   VARCHAR(100) NOT NULL,
+    deporte  VARCHAR(20)  NOT NULL,
+    admin_id BIGINT REFERENCES usuarios (id)
+);
+
+CREATE TABLE tabla_posiciones (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    liga_id   BIGINT REFERENCES ligas (id),
+    equipo_id BIGINT REFERENCES equipos (id),
+    puntos    INT DEFAULT 0,
+    pj        INT DEFAULT 0,
+    pg        INT DEFAULT 0,
+    pp        INT DEFAULT 0,
+    pe        INT DEFAULT 0
+);
+
+CREATE TABLE encuentros (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    codigo_encuentro    VARCHAR(10)  NOT NULL,
+    deporte             VARCHAR(255) NOT NULL,
+    tipo                VARCHAR(255) NOT NULL,
+    estado              VARCHAR(255) NOT NULL,
+    fecha_programada    TIMESTAMP(6) NOT NULL,
+    creador_id          BIGINT       NOT NULL REFERENCES usuarios (id),
+    equipo_local_id     BIGINT REFERENCES equipos (id),
+    equipo_visitante_id BIGINT REFERENCES equipos (id),
+    cancha_id           BIGINT REFERENCES canchas (id),
+    nombre_cancha_texto VARCHAR(150),
+    max_jugadores       INTEGER      NOT NULL,
+    jugadores_actuales  INTEGER      NOT NULL,
+    goles_local         INTEGER,
+    goles_visitante     INTEGER,
+    comentarios         VARCHAR(500),
+    CONSTRAINT uk_encuentros_codigo UNIQUE (codigo_encuentro)
+);
+
+CREATE TABLE mensajes (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    encuentro_id BIGINT REFERENCES encuentros (id),
+    remitente_id BIGINT REFERENCES usuarios (id),
+    contenido    TEXT,
+    fecha_envio  TIMESTAMP(6)
+);
+
+CREATE TABLE participantes_encuentro (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id      BIGINT       NOT NULL REFERENCES usuarios (id),
+    encuentro_id BIGINT       NOT NULL REFERENCES encuentros (id),
+    joined_at    TIMESTAMP(6) NOT NULL
+);
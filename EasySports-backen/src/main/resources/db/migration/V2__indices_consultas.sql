@@ -0,0 +1,36 @@
+-- Índices para las consultas más frecuentes. ddl-auto=update nunca los creaba.
+
+-- Listado de encuentros filtrado (MatchSpecification): deporte + estado + rango de fechas
+CREATE INDEX idx_encuentros_deporte_estado_fecha
+    ON encuentros (deporte, estado, fecha_programada);
+
+-- Encuentros vigentes: la mayoría de las búsquedas piden ABIERTO/LLENO, una fracción pequeña de la tabla.
+-- Incluye id para servir también el orden (fecha_programada, id) del modo cursor.
+CREATE INDEX idx_encuentros_vigentes_deporte_fecha
+    ON encuentros (deporte, fecha_programada, id)
+    WHERE estado IN ('ABIERTO', 'LLENO');
+
+-- Modo cursor sin filtro de deporte: búsqueda por (fecha_programada, id)
+CREATE INDEX idx_encuentros_fecha_id
+    ON encuentros (fecha_programada, id);
+
+-- Validación de solapamiento de cancha en createMatch (existsByCanchaAndFechaProgramada)
+CREATE INDEX idx_encuentros_cancha_fecha
+    ON encuentros (cancha_id, fecha_programada)
+    WHERE cancha_id IS NOT NULL;
+
+-- ¿El usuario ya participa en el encuentro? (joinMatch)
+CREATE INDEX idx_participantes_encuentro_usuario
+    ON participantes_encuentro (encuentro_id, user_id);
+
+-- Equipos del usuario por estado de membresía (getMisEquipos)
+CREATE INDEX idx_miembros_equipos_usuario_estado
+    ON miembros_equipos (usuario_id, estado);
+
+-- Relación de un usuario con un equipo concreto (findByEquipoIdAndUsuarioId)
+CREATE INDEX idx_miembros_equipos_equipo_usuario
+    ON miembros_equipos (equipo_id, usuario_id);
+
+-- Historial del chat de un encuentro (findByEncuentroIdOrderByFechaEnvioAsc)
+CREATE INDEX idx_mensajes_encuentro_fecha
+    ON mensajes (encuentro_id, fecha_envio);
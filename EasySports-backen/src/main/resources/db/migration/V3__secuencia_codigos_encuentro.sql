@@ -0,0 +1,9 @@
+-- Números de serie para los códigos de encuentro. Cada nextval reserva un bloque de 1000
+-- (MatchCodeConfig.BLOCK_SIZE) que la aplicación consume en memoria. El máximo es 36^6 - 1,
+-- el número de códigos alfanuméricos de 6 caracteres.
+CREATE SEQUENCE codigos_encuentro_seq
+    START WITH 0
+    MINVALUE 0
+    MAXVALUE 2176782335
+    INCREMENT BY 1000
+    NO CYCLE;
@@ -0,0 +1,15 @@
+-- Un usuario sólo puede participar una vez en cada encuentro. La restricción sustituye a la
+-- comprobación previa en la aplicación, que no era segura ante uniones simultáneas.
+
+-- Se conservan las participaciones más antiguas si ya existieran duplicados
+DELETE FROM participantes_encuentro p
+    USING participantes_encuentro q
+WHERE p.encuentro_id = q.encuentro_id
+  AND p.user_id = q.user_id
+  AND p.id > q.id;
+
+-- El índice único de la restricción cubre las mismas consultas que el índice de V2
+DROP INDEX IF EXISTS idx_participantes_encuentro_usuario;
+
+ALTER TABLE participantes_encuentro
+    ADD CONSTRAINT uk_participantes_encuentro_usuario UNIQUE (encuentro_id, user_id);
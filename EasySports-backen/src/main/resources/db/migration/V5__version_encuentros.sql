@@ -0,0 +1,3 @@
+-- Versión de cada encuentro para el bloqueo optimista (@Version) y los ETag de la API
+ALTER TABLE encuentros
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,24 @@
+-- Plantilla de cada equipo: sólo los miembros aceptados, con los datos que muestra la API.
+-- Se mantiene desde TeamServiceImpl en la misma transacción que la membresía, de modo que leer
+-- un equipo no obliga a recorrer todas sus relaciones (rechazadas y expulsadas incluidas).
+CREATE TABLE roster_equipos (
+    equipo_id       BIGINT       NOT NULL REFERENCES equipos (id) ON DELETE CASCADE,
+    usuario_id      BIGINT       NOT NULL REFERENCES usuarios (id) ON DELETE CASCADE,
+    nombre_completo VARCHAR(100) NOT NULL,
+    email           VARCHAR(150) NOT NULL,
+    es_capitan      BOOLEAN      NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (equipo_id, usuario_id)
+);
+
+-- Cambios de nombre del usuario (updateProfile)
+CREATE INDEX idx_roster_equipos_usuario
+    ON roster_equipos (usuario_id);
+
+-- Carga inicial a partir de las membresías aceptadas existentes
+INSERT INTO roster_equipos (equipo_id, usuario_id, nombre_completo, email, es_capitan)
+SELECT m.equipo_id, u.id, u.nombre_completo, u.email, e.capitan_id = u.id
+FROM miembros_equipos m
+         JOIN usuarios u ON u.id = m.usuario_id
+         JOIN equipos e ON e.id = m.equipo_id
+WHERE m.estado = 'ACEPTADO'
+ON CONFLICT (equipo_id, usuario_id) DO NOTHING;
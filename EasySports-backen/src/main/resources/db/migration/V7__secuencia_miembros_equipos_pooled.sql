@@ -0,0 +1,4 @@
+-- MiembroEquipo reserva los IDs de 50 en 50 (allocationSize = 50, optimizador pooled de Hibernate),
+-- de modo que insertar un lote de invitaciones no cuesta una llamada a nextval por fila.
+-- El incremento de la secuencia debe coincidir con allocationSize.
+ALTER SEQUENCE miembros_equipos_id_seq INCREMENT BY 50;
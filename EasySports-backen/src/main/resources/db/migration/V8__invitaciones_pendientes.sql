@@ -0,0 +1,4 @@
+-- Barrido de invitaciones expiradas (InvitationExpirySweeper): sólo recorre las pendientes, por antigüedad
+CREATE INDEX idx_miembros_equipos_pendientes_fecha
+    ON miembros_equipos (fecha_estado, id)
+    WHERE estado = 'INVITADO_PENDIENTE';
@@ -0,0 +1,21 @@
+-- Búsqueda de equipos por nombre (GET /api/v1/teams/search): texto completo + similitud por trigramas
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- unaccent() no es IMMUTABLE (depende del diccionario configurado); fijando el diccionario se puede
+-- usar en columnas generadas e índices. Minúsculas y sin tildes: "Águilas" y "aguilas" se igualan.
+CREATE FUNCTION normalizar_busqueda(texto TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT lower(public.unaccent('public.unaccent'::regdictionary, texto)) $$;
+
+-- Diccionario 'simple': los nombres de equipo no son prosa, no conviene aplicarles raíces de un idioma
+ALTER TABLE equipos
+    ADD COLUMN nombre_busqueda TSVECTOR
+        GENERATED ALWAYS AS (to_tsvector('simple', normalizar_busqueda(nombre))) STORED;
+
+CREATE INDEX idx_equipos_nombre_busqueda
+    ON equipos USING GIN (nombre_busqueda);
+
+-- Coincidencias aproximadas y por fragmentos (erratas, nombres a medio escribir)
+CREATE INDEX idx_equipos_nombre_trgm
+    ON equipos USING GIN (normalizar_busqueda(nombre) gin_trgm_ops);
@@ -0,0 +1,159 @@
+package com.easysports.benchmark;
+
+import com.easysports.EasySportsBackenApplication;
+import com.easysports.enums.Deporte;
+import com.easysports.enums.MatchStatus;
+import com.easysports.enums.MatchType;
+import com.easysports.model.Match;
+import com.easysports.model.User;
+import com.easysports.repository.MatchRepository;
+import com.easysports.repository.UserRepository;
+import com.easysports.service.admission.AdmissionResult;
+import com.easysports.service.admission.MatchAdmissionQueue;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+import static com.easysports.support.TestUsers.usuario;
+
+/**
+ * Ráfaga sintética de uniones a un mismo encuentro, con la aplicación arrancada en proceso sobre H2 (sin
+ * servidor web). Compara dos caminos con las mismas uniones, usuarios distintos y plazas para todos:
+ * <ul>
+ *     <li>{@code fila}: una transacción por unión que inserta el participante y reserva la plaza con
+ *     {@code reservarPlazas(id, 1)}, compitiendo por el bloqueo de la fila del encuentro (el camino anterior
+ *     a la cola de admisión).</li>
+ *     <li>{@code cola}: {@link MatchAdmissionQueue}, que admite las uniones en lotes.</li>
+ * </ul>
+ * Imprime uniones por segundo y percentiles de latencia de cada camino.
+ * <p>
+ * Ejecución: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.easysports.benchmark.JoinBurstLoad -Dexec.args="2000 32 2"}
+ * (uniones por ráfaga, hilos cliente y rondas de cada camino).
+ */
+public final class JoinBurstLoad {
+
+    private JoinBurstLoad() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int uniones = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int hilos = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int rondas = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EasySportsBackenApplication.class)
+                .web(WebApplicationType.NONE)
+                // Como argumentos de línea de comandos, para que prevalezcan sobre application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:rafaga;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        MatchRepository matchRepository = context.getBean(MatchRepository.class);
+        NamedParameterJdbcTemplate jdbcTemplate = context.getBean(NamedParameterJdbcTemplate.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        MatchAdmissionQueue admissionQueue = context.getBean(MatchAdmissionQueue.class);
+
+        User creador = userRepository.save(usuario("creador-rafaga"));
+        List<Long> usuarios = new ArrayList<>(uniones);
+        for (int i = 0; i < uniones; i++) {
+            usuarios.add(userRepository.save(usuario("rafaga-" + i)).getId());
+        }
+
+        for (int ronda = 1; ronda <= rondas; ronda++) {
+            Long filaId = encuentro(matchRepository, creador, uniones, "F" + ronda);
+            imprimir("fila (ronda " + ronda + ")", rafaga(usuarios, hilos, usuarioId ->
+                    Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                        jdbcTemplate.update("INSERT INTO participantes_encuentro (encuentro_id, user_id, joined_at) "
+                                        + "VALUES (:id, :usuario, :ahora)",
+                                new MapSqlParameterSource("id", filaId).addValue("usuario", usuarioId)
+                                        .addValue("ahora", Timestamp.valueOf(LocalDateTime.now())));
+                        return matchRepository.reservarPlazas(filaId, 1) == 1;
+                    }))));
+
+            Long colaId = encuentro(matchRepository, creador, uniones, "C" + ronda);
+            imprimir("cola (ronda " + ronda + ")", rafaga(usuarios, hilos, usuarioId ->
+                    admissionQueue.admitir(colaId, usuarioId).join() == AdmissionResult.ADMITIDO));
+        }
+        context.close();
+        System.exit(0);
+    }
+
+    // Lanza todas las uniones a la vez; devuelve la duración total (primer elemento) y la latencia de cada una, en µs
+    private static List<Long> rafaga(List<Long> usuarios, int hilos, LongPredicate unirse) throws Exception {
+        ExecutorService clientes = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Long>> latencias = new ArrayList<>(usuarios.size());
+        for (Long usuarioId : usuarios) {
+            latencias.add(clientes.submit(() -> {
+                salida.await();
+                long inicio = System.nanoTime();
+                if (!unirse.test(usuarioId)) {
+                    throw new IllegalStateException("Unión rechazada del usuario " + usuarioId);
+                }
+                return (System.nanoTime() - inicio) / 1_000;
+            }));
+        }
+        long inicio = System.nanoTime();
+        salida.countDown();
+        List<Long> resultado = new ArrayList<>(usuarios.size() + 1);
+        resultado.add(0L);
+        for (Future<Long> latencia : latencias) {
+            resultado.add(latencia.get());
+        }
+        resultado.set(0, (System.nanoTime() - inicio) / 1_000);
+        clientes.shutdown();
+        clientes.awaitTermination(1, TimeUnit.MINUTES);
+        return resultado;
+    }
+
+    private static void imprimir(String camino, List<Long> medidas) {
+        double segundos = medidas.get(0) / 1_000_000.0;
+        List<Long> latencias = new ArrayList<>(medidas.subList(1, medidas.size()));
+        Collections.sort(latencias);
+        System.out.printf("%s: %d uniones en %.2f s, %.0f uniones/s, p50=%.1f ms, p99=%.1f ms%n", camino,
+                latencias.size(), segundos, latencias.size() / segundos,
+                percentil(latencias, 0.50), percentil(latencias, 0.99));
+    }
+
+    private static double percentil(List<Long> ordenadas, double p) {
+        return ordenadas.get((int) Math.min(ordenadas.size() - 1, Math.floor(p * ordenadas.size()))) / 1_000.0;
+    }
+
+    private static Long encuentro(MatchRepository matchRepository, User creador, int plazas, String codigo) {
+        Match match = new Match();
+        match.setCodigo("RAF" + codigo);
+        match.setDeporte(Deporte.FUTBOL);
+        match.setTipo(MatchType.CASUAL);
+        match.setEstado(MatchStatus.ABIERTO);
+        match.setFechaProgramada(LocalDateTime.now().plusDays(1).withMinute(0).withSecond(0).withNano(0));
+        match.setCreador(creador);
+        match.setNombreCanchaTexto("Cancha de la ráfaga");
+        match.setMaxJugadores(plazas + 1);
+        match.setJugadoresActuales(1);
+        return matchRepository.save(match).getId();
+    }
+}
@@ -0,0 +1,92 @@
+package com.easysports.benchmark;
+
+import com.easysports.model.User;
+import com.easysports.repository.UserRepository;
+import com.easysports.security.TokenVersions;
+import com.easysports.security.UserDetailsImpl;
+import com.easysports.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Coste de autenticar una petición con JWT en {@code JwtAuthenticationFilter}, sin contar la carga del usuario.
+ * <ul>
+ *     <li>{@code anterior}: lo que hacía el filtro antes, tres análisis del token reconstruyendo clave y parser en cada uno.</li>
+ *     <li>{@code unAnalisis}: {@link JwtUtil#verify} con la caché desactivada.</li>
+ *     <li>{@code enCache}: {@link JwtUtil#verify} con un token ya verificado (el caso habitual).</li>
+ * </ul>
+ * Ejecución (JMH arranca otra JVM, por eso exec:exec y no exec:java):
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main JwtAuthBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "NzE0MzU5NzA0MjM0NTI1ODQxNTY0NjU5NjEyRjQ2MkU1NzZFNzM1NzM4NTkzQTQzNkQ1QTU3NTM0RTQzNDM0RA==";
+    private static final long EXPIRATION = TimeUnit.HOURS.toMillis(10);
+
+    private JwtUtil sinCache;
+    private JwtUtil conCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // Sin usuarios revocados: todas las versiones son 0
+        TokenVersions tokenVersions = new TokenVersions(mock(UserRepository.class), 10_000, Duration.ofHours(1));
+        sinCache = new JwtUtil(SECRET, EXPIRATION, 0, tokenVersions);
+        conCache = new JwtUtil(SECRET, EXPIRATION, 10_000, tokenVersions);
+        User user = User.builder().id(1L).email("jugador@easysports.com").password("hash").esLeagueManager(false).build();
+        token = conCache.generateToken(new UserDetailsImpl(user));
+        conCache.verify(token);
+    }
+
+    @Benchmark
+    public boolean anterior() {
+        // extractUsername en el filtro y después extractUsername + extractExpiration en validateToken
+        String username = parseLegacy().getSubject();
+        boolean mismoUsuario = parseLegacy().getSubject().equals(username);
+        return mismoUsuario && !parseLegacy().getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Optional<JwtUtil.VerifiedToken> unAnalisis() {
+        return sinCache.verify(token);
+    }
+
+    @Benchmark
+    public Optional<JwtUtil.VerifiedToken> enCache() {
+        return conCache.verify(token);
+    }
+
+    private Claims parseLegacy() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
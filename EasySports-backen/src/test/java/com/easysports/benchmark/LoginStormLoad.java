@@ -0,0 +1,114 @@
+package com.easysports.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prueba de carga contra una instancia arrancada: mide la latencia de un endpoint de lectura
+ * ({@code GET /api/v1/matches}) sin carga y durante una avalancha de logins concurrentes, y cuenta
+ * cómo responden esos logins (200, 503 por saturación del pool de contraseñas, ...).
+ * <p>
+ * Todos los logins salen de la misma IP, así que la aplicación debe arrancarse sin límite de login
+ * ({@code RATE_LIMIT_LOGIN=0}) para medir el pool de contraseñas y no el limitador.
+ * <p>
+ * Ejecución, con la aplicación escuchando en {@code http://localhost:8080} y los usuarios de {@code DataSeeder}:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.easysports.benchmark.LoginStormLoad
+ * -Dexec.args="http://localhost:8080 200 15"} (URL base, logins concurrentes y segundos por fase).
+ */
+public final class LoginStormLoad {
+
+    private static final String LOGIN = "{\"email\":\"use@gmail.com\",\"password\":\"12345\"}";
+
+    private LoginStormLoad() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String base = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrencia = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Duration fase = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 15);
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(concurrencia + 4))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpResponse<String> login = client.send(peticionLogin(base), HttpResponse.BodyHandlers.ofString());
+        String token = login.body().replaceAll(".*\"token\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+        HttpRequest lectura = HttpRequest.newBuilder(URI.create(base + "/api/v1/matches?size=10"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        imprimir("Lecturas sin carga", medirLecturas(client, lectura, fase));
+
+        AtomicBoolean activo = new AtomicBoolean(true);
+        Map<Integer, AtomicInteger> respuestas = new ConcurrentHashMap<>();
+        ExecutorService avalancha = Executors.newFixedThreadPool(concurrencia);
+        for (int i = 0; i < concurrencia; i++) {
+            avalancha.execute(() -> {
+                while (activo.get()) {
+                    int estado;
+                    try {
+                        estado = client.send(peticionLogin(base), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception ex) {
+                        estado = -1;
+                    }
+                    respuestas.computeIfAbsent(estado, k -> new AtomicInteger()).incrementAndGet();
+                }
+            });
+        }
+        List<Long> conCarga = medirLecturas(client, lectura, fase);
+        activo.set(false);
+        avalancha.shutdown();
+        avalancha.awaitTermination(1, TimeUnit.MINUTES);
+
+        imprimir("Lecturas durante " + concurrencia + " logins concurrentes", conCarga);
+        System.out.println("Respuestas de login por estado HTTP (-1 = error de red): " + respuestas);
+        System.exit(0);
+    }
+
+    private static HttpRequest peticionLogin(String base) {
+        return HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN))
+                .build();
+    }
+
+    // Lecturas secuenciales durante la fase; devuelve la latencia de cada una en microsegundos
+    private static List<Long> medirLecturas(HttpClient client, HttpRequest lectura, Duration fase) throws Exception {
+        List<Long> latencias = new ArrayList<>();
+        long fin = System.nanoTime() + fase.toNanos();
+        while (System.nanoTime() < fin) {
+            long inicio = System.nanoTime();
+            client.send(lectura, HttpResponse.BodyHandlers.discarding());
+            latencias.add((System.nanoTime() - inicio) / 1_000);
+        }
+        return latencias;
+    }
+
+    private static void imprimir(String titulo, List<Long> latencias) {
+        Collections.sort(latencias);
+        System.out.printf("%s: %d peticiones, p50=%.1f ms, p95=%.1f ms, p99=%.1f ms%n", titulo, latencias.size(),
+                percentil(latencias, 0.50), percentil(latencias, 0.95), percentil(latencias, 0.99));
+    }
+
+    private static double percentil(List<Long> ordenadas, double p) {
+        if (ordenadas.isEmpty()) {
+            return 0;
+        }
+        return ordenadas.get((int) Math.min(ordenadas.size() - 1, Math.floor(p * ordenadas.size()))) / 1_000.0;
+    }
+}
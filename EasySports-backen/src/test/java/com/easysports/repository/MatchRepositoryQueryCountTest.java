@@ -0,0 +1,152 @@
+package com.easysports.repository;
+
+import com.easysports.dto.match.MatchCursor;
+import com.easysports.dto.match.MatchResponse;
+import com.easysports.enums.Deporte;
+import com.easysports.enums.MatchStatus;
+import com.easysports.enums.MatchType;
+import com.easysports.model.Match;
+import com.easysports.model.Team;
+import com.easysports.model.User;
+import com.easysports.service.specification.MatchSpecification;
+import com.easysports.support.StatementCounter;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.easysports.support.TestUsers.usuario;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class MatchRepositoryQueryCountTest {
+
+    private static final int TOTAL_MATCHES = 40;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private final MatchSpecification matchSpecification = new MatchSpecification();
+    private StatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        User creador = entityManager.persist(usuario("creador"));
+        Team local = entityManager.persist(Team.builder().nombre("Local").tipoDeporte(Deporte.FUTBOL).capitan(creador).build());
+        Team visitante = entityManager.persist(Team.builder().nombre("Visitante").tipoDeporte(Deporte.FUTBOL).capitan(creador).build());
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+        for (int i = 0; i < TOTAL_MATCHES; i++) {
+            Match match = new Match();
+            match.setCodigo(String.format("C%05d", i));
+            match.setDeporte(Deporte.FUTBOL);
+            match.setTipo(i % 2 == 0 ? MatchType.FORMAL : MatchType.CASUAL);
+            match.setEstado(MatchStatus.ABIERTO);
+            match.setFechaProgramada(base.plusMinutes(15L * i));
+            match.setCreador(creador);
+            if (match.getTipo() == MatchType.FORMAL) {
+                match.setEquipoLocal(local);
+                match.setEquipoVisitante(visitante);
+            }
+            match.setNombreCanchaTexto("Cancha " + i);
+            match.setMaxJugadores(10);
+            match.setJugadoresActuales(1);
+            entityManager.persist(match);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statementCounter = new StatementCounter(entityManager);
+    }
+
+    @Test
+    void givenDifferentPageSizes_whenFindAllAsResponse_thenStatementCountIsConstant() {
+        Specification<Match> spec = matchSpecification.findByCriteria(Deporte.FUTBOL, MatchStatus.ABIERTO, null, null);
+
+        long smallPageStatements = statementCounter.contar(() -> {
+            Page<MatchResponse> page = matchRepository.findAllAsResponse(spec, PageRequest.of(0, 5));
+            assertThat(page.getContent()).hasSize(5);
+            assertThat(page.getTotalElements()).isEqualTo(TOTAL_MATCHES);
+        });
+        long largePageStatements = statementCounter.contar(() -> {
+            Page<MatchResponse> page = matchRepository.findAllAsResponse(spec, PageRequest.of(0, 20));
+            assertThat(page.getContent()).hasSize(20);
+            assertThat(page.getTotalElements()).isEqualTo(TOTAL_MATCHES);
+        });
+
+        // Una consulta de datos y una de conteo, sin importar cuántas filas traiga la página
+        assertThat(smallPageStatements).isEqualTo(2);
+        assertThat(largePageStatements).isEqualTo(smallPageStatements);
+    }
+
+    @Test
+    void givenFormalMatches_whenFindAllAsResponse_thenTeamNamesAreResolvedInQuery() {
+        Specification<Match> spec = matchSpecification.findByCriteria(null, null, null, null);
+
+        Page<MatchResponse> page = matchRepository.findAllAsResponse(spec, PageRequest.of(0, 2));
+
+        MatchResponse formal = page.getContent().get(0);
+        MatchResponse casual = page.getContent().get(1);
+        assertThat(formal.getCodigo()).isEqualTo("C00000");
+        assertThat(formal.getEquipoLocalNombre()).isEqualTo("Local");
+        assertThat(formal.getEquipoVisitanteNombre()).isEqualTo("Visitante");
+        assertThat(formal.getCreadorId()).isNotNull();
+        assertThat(casual.getEquipoLocalId()).isNull();
+        assertThat(casual.getEquipoLocalNombre()).isNull();
+    }
+
+    @Test
+    void givenCursor_whenFindSliceAsResponse_thenWalksAllMatchesWithOneStatementPerSlice() {
+        Specification<Match> spec = matchSpecification.findByCriteria(Deporte.FUTBOL, null, null, null);
+        List<String> codigos = new ArrayList<>();
+        MatchCursor[] cursor = {null};
+        boolean[] hasNext = {true};
+
+        while (hasNext[0]) {
+            long statements = statementCounter.contar(() -> {
+                Slice<MatchResponse> slice = matchRepository.findSliceAsResponse(spec, cursor[0], 15);
+                slice.forEach(m -> codigos.add(m.getCodigo()));
+                hasNext[0] = slice.hasNext();
+                cursor[0] = slice.hasNext() ? MatchCursor.after(slice.getContent().get(slice.getNumberOfElements() - 1)) : null;
+            });
+            // Sin consulta de conteo: una sola sentencia por porción
+            assertThat(statements).isEqualTo(1);
+        }
+
+        assertThat(codigos).hasSize(TOTAL_MATCHES).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    void givenSpecification_whenStreamAsResponse_thenReadsAllMatchesInOrderWithOneStatement() {
+        Specification<Match> spec = matchSpecification.findByCriteria(Deporte.FUTBOL, MatchStatus.ABIERTO, null, null);
+        List<String> codigos = new ArrayList<>();
+
+        long statements = statementCounter.contar(() -> {
+            try (Stream<MatchResponse> matches = matchRepository.streamAsResponse(spec, 7)) {
+                matches.forEach(m -> codigos.add(m.getCodigo()));
+            }
+            // Las filas proyectadas no se quedan en el contexto de persistencia
+            assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        });
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(codigos).hasSize(TOTAL_MATCHES).doesNotHaveDuplicates().isSorted();
+    }
+}
@@ -0,0 +1,95 @@
+package com.easysports.repository;
+
+import com.easysports.dto.liga.TablaPosicionesResponse;
+import com.easysports.enums.Deporte;
+import com.easysports.model.Liga;
+import com.easysports.model.TablaDePosiciones;
+import com.easysports.model.Team;
+import com.easysports.model.User;
+import com.easysports.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.easysports.support.TestUsers.usuario;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TablaDePosicionesRepositoryTest {
+
+    private static final int TOTAL_EQUIPOS = 200;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TablaDePosicionesRepository tablaDePosicionesRepository;
+
+    private Liga liga;
+    private StatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        User capitan = entityManager.persist(usuario("capitan"));
+        liga = entityManager.persist(Liga.builder().nombre("Liga Test").deporte(Deporte.FUTBOL).admin(capitan).build());
+        Liga otraLiga = entityManager.persist(Liga.builder().nombre("Otra Liga").deporte(Deporte.FUTBOL).admin(capitan).build());
+
+        for (int i = 0; i < TOTAL_EQUIPOS; i++) {
+            Team equipo = entityManager.persist(Team.builder()
+                    .nombre(String.format("Equipo %03d", i)).tipoDeporte(Deporte.FUTBOL).capitan(capitan).build());
+            // Los equipos 0 y 1 empatan en todo; el 2 tiene los mismos puntos con más victorias
+            int puntos = i < 3 ? 30 : 30 - i;
+            int ganados = i == 2 ? 10 : 9;
+            int empatados = puntos - 3 * ganados;
+            entityManager.persist(fila(liga, equipo, puntos, ganados, Math.max(empatados, 0)));
+            if (i == 0) {
+                entityManager.persist(fila(otraLiga, equipo, 99, 33, 0));
+            }
+        }
+        entityManager.flush();
+
+        statementCounter = new StatementCounter(entityManager);
+    }
+
+    @Test
+    void givenLeagueWithTies_whenFindClasificacion_thenRanksInOneStatementAndTiedTeamsSharePosition() {
+        // Act
+        List<TablaPosicionesResponse> clasificacion = new ArrayList<>();
+        long sentencias = statementCounter.contar(
+                () -> clasificacion.addAll(tablaDePosicionesRepository.findClasificacion(liga.getId())));
+
+        // Assert
+        assertThat(sentencias).isEqualTo(1);
+        assertThat(clasificacion).hasSize(TOTAL_EQUIPOS);
+        assertThat(clasificacion.subList(0, 4))
+                .extracting(TablaPosicionesResponse::getPosicion, TablaPosicionesResponse::getNombreEquipo)
+                .containsExactly(
+                        tuple(1L, "Equipo 002"),
+                        tuple(2L, "Equipo 000"),
+                        tuple(2L, "Equipo 001"),
+                        tuple(4L, "Equipo 003"));
+        assertThat(clasificacion.get(0).getNombreLiga()).isEqualTo("Liga Test");
+        assertThat(clasificacion.get(TOTAL_EQUIPOS - 1).getPosicion()).isEqualTo(TOTAL_EQUIPOS);
+    }
+
+    private static TablaDePosiciones fila(Liga liga, Team equipo, int puntos, int ganados, int empatados) {
+        return TablaDePosiciones.builder()
+                .liga(liga)
+                .equipo(equipo)
+                .puntos(puntos)
+                .partidosJugados(ganados + empatados)
+                .partidosGanados(ganados)
+                .partidosEmpatados(empatados)
+                .partidosPerdidos(0)
+                .build();
+    }
+}
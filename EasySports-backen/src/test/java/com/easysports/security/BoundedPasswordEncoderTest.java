@@ -0,0 +1,118 @@
+package com.easysports.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final CountDownLatch ocupado = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void givenFreePool_whenEncodeAndMatches_thenDelegatesResult() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new PrefijoEncoder(), 1, 1, Duration.ofSeconds(5));
+
+        // Act
+        String hash = encoder.encode("secreto");
+
+        // Assert
+        assertThat(hash).isEqualTo("hash:secreto");
+        assertThat(encoder.matches("secreto", hash)).isTrue();
+        assertThat(encoder.matches("otra", hash)).isFalse();
+    }
+
+    @Test
+    void givenFullQueue_whenMatches_thenRejectsImmediatelyWithServiceUnavailable() throws Exception {
+        // Arrange: el único hilo queda bloqueado y la única plaza de la cola ocupada
+        encoder = new BoundedPasswordEncoder(new BloqueanteEncoder(), 1, 1, Duration.ofSeconds(30));
+        CompletableFuture.runAsync(() -> encoder.encode("primero"));
+        assertThat(ocupado.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> encoder.encode("en-cola"));
+        esperarCola(1);
+
+        // Act
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> encoder.matches("tercero", "hash:tercero"))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        // Assert: el rechazo no espera al timeout de 30 s
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void givenSlowHash_whenWaitExpires_thenServiceUnavailableAndQueueSlotIsFreed() throws Exception {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new BloqueanteEncoder(), 1, 1, Duration.ofMillis(100));
+        CompletableFuture.runAsync(() -> encoder.encode("primero"));
+        assertThat(ocupado.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act
+        assertThatThrownBy(() -> encoder.encode("en-cola"))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        // Assert: la tarea abandonada ya no ocupa la cola
+        esperarCola(0);
+    }
+
+    private void esperarCola(int tamano) throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("easysports.contrasenas.cola").gauge().value() != tamano && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertThat(registry.get("easysports.contrasenas.cola").gauge().value()).isEqualTo(tamano);
+    }
+
+    private static class PrefijoEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    // Retiene el hilo del pool hasta que el test termina
+    private class BloqueanteEncoder extends PrefijoEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            ocupado.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return super.encode(rawPassword);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.easysports.security;
+
+import com.easysports.model.User;
+import com.easysports.repository.UserRepository;
+import com.easysports.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "NzE0MzU5NzA0MjM0NTI1ODQxNTY0NjU5NjEyRjQ2MkU1NzZFNzM1NzM4NTkzQTQzNkQ1QTU3NTM0RTQzNDM0RA==";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TokenVersions tokenVersions = new TokenVersions(userRepository, 100, Duration.ofMinutes(1));
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 36_000_000L, 100, tokenVersions);
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenVersions);
+
+    private final User manager = User.builder()
+            .id(7L).email("manager@easysports.com").password("hash").nombreCompleto("Manager").esLeagueManager(true).build();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenTokenWithUserClaims_whenFilter_thenAuthenticatesWithoutLoadingUser() throws Exception {
+        // Arrange
+        String token = jwtUtil.generateToken(new UserDetailsImpl(manager));
+
+        // Act
+        filter.doFilter(peticion(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        UserDetailsImpl principal = (UserDetailsImpl) authentication.getPrincipal();
+        assertThat(principal.getUser().getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("manager@easysports.com");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER", "ROLE_LEAGUE_MANAGER");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void givenRevokedUser_whenFilter_thenOldTokenIsRejectedAndNewOneAccepted() throws Exception {
+        // Arrange
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.of(0L), Optional.of(1L));
+        when(userRepository.incrementarTokenVersion(7L)).thenReturn(1);
+        String anterior = jwtUtil.generateToken(new UserDetailsImpl(manager));
+        tokenVersions.revocar(7L);
+        String nuevo = jwtUtil.generateToken(new UserDetailsImpl(manager));
+
+        // Act
+        filter.doFilter(peticion(anterior), new MockHttpServletResponse(), new MockFilterChain());
+        Authentication conAnterior = SecurityContextHolder.getContext().getAuthentication();
+        filter.doFilter(peticion(nuevo), new MockHttpServletResponse(), new MockFilterChain());
+        Authentication conNuevo = SecurityContextHolder.getContext().getAuthentication();
+
+        // Assert
+        assertThat(conAnterior).isNull();
+        assertThat(conNuevo).isNotNull();
+    }
+
+    @Test
+    void givenRevocationBeforeRestart_whenFilterWithFreshVersions_thenOldTokenIsStillRejected() throws Exception {
+        // Arrange
+        String anterior = jwtUtil.generateToken(new UserDetailsImpl(manager));
+        // Tras reiniciar, la versión se lee de la base de datos, donde quedó la revocación
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.of(1L));
+        TokenVersions trasReiniciar = new TokenVersions(userRepository, 100, Duration.ofMinutes(1));
+        JwtAuthenticationFilter reiniciado = new JwtAuthenticationFilter(
+                new JwtUtil(SECRET, 36_000_000L, 100, trasReiniciar), userDetailsService, trasReiniciar);
+
+        // Act
+        reiniciado.doFilter(peticion(anterior), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void givenTokenNewerThanRememberedVersion_whenFilter_thenAcceptsIt() throws Exception {
+        // Arrange
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.of(2L));
+        TokenVersions otraInstancia = new TokenVersions(userRepository, 100, Duration.ofMinutes(1));
+        String nuevo = new JwtUtil(SECRET, 36_000_000L, 100, otraInstancia).generateToken(new UserDetailsImpl(manager));
+        // Esta instancia aún recuerda la versión anterior a la última revocación
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.of(1L));
+        tokenVersions.actual(7L);
+
+        // Act
+        filter.doFilter(peticion(nuevo), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    private static MockHttpServletRequest peticion(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/teams");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,107 @@
+package com.easysports.security;
+
+import com.easysports.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final AtomicLong reloj = new AtomicLong(1_000_000_000L);
+    private final RateLimiter rateLimiter = new RateLimiter(List.of(
+            RateLimitRule.of("login", HttpMethod.POST, "/api/auth/login", false, "3/3s"),
+            RateLimitRule.of("unirse", HttpMethod.POST, "/api/v1/matches/*/unirse", true, "2/1m")),
+            1_000, reloj::get);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenBurstAboveCapacity_whenConsumir_thenRejectsUntilATokenRefills() {
+        // Arrange
+        MockHttpServletRequest login = peticion("POST", "/api/auth/login", "10.0.0.1");
+
+        // Act & Assert: la ráfaga de 3 pasa y la cuarta espera a la siguiente ficha (1 s)
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.consumir(login)).isZero();
+        }
+        assertThat(rateLimiter.consumir(login)).isEqualTo(Duration.ofSeconds(1));
+
+        avanzar(Duration.ofMillis(400));
+        assertThat(rateLimiter.consumir(login)).isEqualTo(Duration.ofMillis(600));
+
+        avanzar(Duration.ofMillis(600));
+        assertThat(rateLimiter.consumir(login)).isZero();
+        assertThat(rateLimiter.consumir(login)).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void givenPerUserRoute_whenDifferentUsersShareAnIp_thenEachHasItsOwnBucket() {
+        // Arrange
+        MockHttpServletRequest unirse = peticion("POST", "/api/v1/matches/ABC123/unirse", "10.0.0.1");
+
+        // Act
+        autenticar(1L);
+        rateLimiter.consumir(unirse);
+        rateLimiter.consumir(unirse);
+        Duration terceraDelPrimero = rateLimiter.consumir(unirse);
+        autenticar(2L);
+        Duration primeraDelSegundo = rateLimiter.consumir(unirse);
+
+        // Assert
+        assertThat(terceraDelPrimero).isEqualTo(Duration.ofSeconds(30));
+        assertThat(primeraDelSegundo).isZero();
+        // Las rutas sin regla nunca se limitan
+        assertThat(rateLimiter.consumir(peticion("GET", "/api/v1/matches", "10.0.0.1"))).isZero();
+    }
+
+    @Test
+    void givenExhaustedBucket_whenFilter_thenResponds429WithRetryAfterWithoutCallingTheChain() throws Exception {
+        // Arrange
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter);
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(peticion("POST", "/api/auth/login", "10.0.0.2"), new MockHttpServletResponse(), new MockFilterChain());
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(peticion("POST", "/api/auth/login", "10.0.0.2"), response, chain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    private void avanzar(Duration tiempo) {
+        reloj.addAndGet(tiempo.toNanos());
+    }
+
+    private static void autenticar(Long usuarioId) {
+        User usuario = User.builder().id(usuarioId).email("u" + usuarioId + "@easysports.com").password("hash").build();
+        UserDetailsImpl principal = new UserDetailsImpl(usuario);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static MockHttpServletRequest peticion(String metodo, String ruta, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, ruta);
+        request.setServletPath(ruta);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+}
@@ -0,0 +1,192 @@
+package com.easysports.service.admission;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MatchAdmissionQueueTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenBurstOfRequests_whenAdmitir_thenBatchesThemAndAnswersEachCaller() throws Exception {
+        // Arrange
+        int plazas = 30;
+        int solicitudes = 200;
+        AtomicInteger libres = new AtomicInteger(plazas);
+        AtomicInteger lotes = new AtomicInteger();
+        MatchAdmissionQueue queue = new MatchAdmissionQueue((matchId, usuarioIds) -> {
+            lotes.incrementAndGet();
+            // Simula el coste de la transacción del lote
+            sleep(2);
+            Map<Long, AdmissionResult> resultados = new LinkedHashMap<>();
+            for (Long usuarioId : usuarioIds) {
+                resultados.put(usuarioId, libres.getAndUpdate(n -> Math.max(n - 1, 0)) > 0
+                        ? AdmissionResult.ADMITIDO : AdmissionResult.LLENO);
+            }
+            return resultados;
+        }, executor);
+
+        // Act
+        ExecutorService clientes = Executors.newFixedThreadPool(32);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<CompletableFuture<AdmissionResult>> respuestas = new ArrayList<>();
+        for (long usuarioId = 1; usuarioId <= solicitudes; usuarioId++) {
+            long id = usuarioId;
+            respuestas.add(CompletableFuture.supplyAsync(() -> {
+                await(salida);
+                return queue.admitir(7L, id).join();
+            }, clientes));
+        }
+        salida.countDown();
+        CompletableFuture.allOf(respuestas.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        clientes.shutdown();
+
+        // Assert
+        long admitidos = respuestas.stream().map(CompletableFuture::join).filter(r -> r == AdmissionResult.ADMITIDO).count();
+        long llenos = respuestas.stream().map(CompletableFuture::join).filter(r -> r == AdmissionResult.LLENO).count();
+        assertThat(admitidos).isEqualTo(plazas);
+        assertThat(llenos).isEqualTo(solicitudes - plazas);
+        assertThat(lotes.get()).isLessThan(solicitudes);
+    }
+
+    @Test
+    void givenSameUserTwiceInOneBatch_whenAdmitir_thenOnlyFirstRequestIsAdmitted() throws Exception {
+        // Arrange
+        CountDownLatch primerLote = new CountDownLatch(1);
+        List<List<Long>> lotes = new ArrayList<>();
+        MatchAdmissionQueue queue = new MatchAdmissionQueue((matchId, usuarioIds) -> {
+            synchronized (lotes) {
+                lotes.add(usuarioIds);
+            }
+            await(primerLote);
+            Map<Long, AdmissionResult> resultados = new LinkedHashMap<>();
+            usuarioIds.forEach(id -> resultados.put(id, AdmissionResult.ADMITIDO));
+            return resultados;
+        }, executor);
+
+        // Act: el primer lote queda retenido mientras se encolan las dos solicitudes del usuario 2
+        CompletableFuture<AdmissionResult> primera = queue.admitir(1L, 1L);
+        while (lotes.isEmpty()) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<AdmissionResult> original = queue.admitir(1L, 2L);
+        CompletableFuture<AdmissionResult> repetida = queue.admitir(1L, 2L);
+        primerLote.countDown();
+
+        // Assert
+        assertThat(primera.get(5, TimeUnit.SECONDS)).isEqualTo(AdmissionResult.ADMITIDO);
+        assertThat(original.get(5, TimeUnit.SECONDS)).isEqualTo(AdmissionResult.ADMITIDO);
+        assertThat(repetida.get(5, TimeUnit.SECONDS)).isEqualTo(AdmissionResult.YA_INSCRITO);
+        assertThat(lotes).containsExactly(List.of(1L), List.of(2L));
+    }
+
+    @Test
+    void givenCallerStoppedWaiting_whenItsBatchRuns_thenRequestIsNotAdmitted() throws Exception {
+        // Arrange
+        CountDownLatch primerLote = new CountDownLatch(1);
+        List<List<Long>> lotes = new ArrayList<>();
+        MatchAdmissionQueue queue = new MatchAdmissionQueue((matchId, usuarioIds) -> {
+            synchronized (lotes) {
+                lotes.add(usuarioIds);
+            }
+            await(primerLote);
+            Map<Long, AdmissionResult> resultados = new LinkedHashMap<>();
+            usuarioIds.forEach(id -> resultados.put(id, AdmissionResult.ADMITIDO));
+            return resultados;
+        }, executor);
+        CompletableFuture<AdmissionResult> primera = queue.admitir(1L, 1L);
+        while (lotes.isEmpty()) {
+            Thread.onSpinWait();
+        }
+
+        // Act: el usuario 2 agota su espera (y la cancela) mientras el primer lote sigue en curso
+        CompletableFuture<AdmissionResult> caducada = queue.admitir(1L, 2L);
+        caducada.cancel(false);
+        CompletableFuture<AdmissionResult> siguiente = queue.admitir(1L, 3L);
+        primerLote.countDown();
+
+        // Assert
+        assertThat(primera.get(5, TimeUnit.SECONDS)).isEqualTo(AdmissionResult.ADMITIDO);
+        assertThat(siguiente.get(5, TimeUnit.SECONDS)).isEqualTo(AdmissionResult.ADMITIDO);
+        assertThat(caducada).isCancelled();
+        assertThat(lotes).containsExactly(List.of(1L), List.of(3L));
+    }
+
+    @Test
+    void givenBatchStillRunningWhenCallerTimesOut_whenCancel_thenCancellationIsRefusedAndResultArrives() throws Exception {
+        // Arrange
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        MatchAdmissionQueue queue = new MatchAdmissionQueue((matchId, usuarioIds) -> {
+            enCurso.countDown();
+            await(liberar);
+            Map<Long, AdmissionResult> resultados = new LinkedHashMap<>();
+            usuarioIds.forEach(id -> resultados.put(id, AdmissionResult.ADMITIDO));
+            return resultados;
+        }, executor);
+        CompletableFuture<AdmissionResult> respuesta = queue.admitir(1L, 1L);
+        assertThat(enCurso.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act: el solicitante agota su espera con el lote aún en curso
+        assertThatThrownBy(() -> respuesta.get(50, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        boolean cancelada = respuesta.cancel(false);
+        liberar.countDown();
+
+        // Assert: la transacción del lote puede confirmar la unión, así que el solicitante recibe su resultado
+        assertThat(cancelada).isFalse();
+        assertThat(respuesta.get(5, TimeUnit.SECONDS)).isEqualTo(AdmissionResult.ADMITIDO);
+    }
+
+    @Test
+    void givenProcessorFailure_whenAdmitir_thenCallerReceivesTheException() {
+        // Arrange
+        MatchAdmissionQueue queue = new MatchAdmissionQueue((matchId, usuarioIds) -> {
+            throw new IllegalStateException("sin conexión");
+        }, executor);
+
+        // Act
+        CompletableFuture<AdmissionResult> respuesta = queue.admitir(3L, 9L);
+
+        // Assert
+        assertThat(respuesta).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.easysports.service.cache;
+
+import com.easysports.dto.match.MatchResponse;
+import com.easysports.enums.Deporte;
+import com.easysports.enums.MatchStatus;
+import com.easysports.model.Match;
+import com.easysports.repository.MatchRepository;
+import com.easysports.service.specification.MatchSpecification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OpenMatchBoardTest {
+
+    @Mock
+    private MatchRepository matchRepository;
+    @Mock
+    private MatchSpecification matchSpecification;
+
+    @InjectMocks
+    private OpenMatchBoard board;
+
+    private LocalDateTime inicio;
+
+    @BeforeEach
+    void setUp() {
+        inicio = LocalDateTime.now().withSecond(0).withNano(0).plusHours(1);
+        Specification<Match> spec = (root, query, criteriaBuilder) -> null;
+        List<MatchResponse> vigentes = List.of(
+                match(1L, Deporte.FUTBOL, MatchStatus.ABIERTO, inicio.plusMinutes(30)),
+                match(2L, Deporte.FUTBOL, MatchStatus.LLENO, inicio.plusMinutes(30)),
+                match(3L, Deporte.BASKET, MatchStatus.ABIERTO, inicio.plusMinutes(15)),
+                match(4L, Deporte.FUTBOL, MatchStatus.ABIERTO, inicio.plusDays(1)));
+        when(matchSpecification.vigentesDesde(inicio)).thenReturn(spec);
+        when(matchRepository.findAllAsResponse(any(), any())).thenReturn(new PageImpl<>(vigentes));
+
+        board.reconstruir(inicio);
+    }
+
+    @Test
+    void givenOpenMatchesInRange_whenBuscar_thenReturnsThemOrderedByFecha() {
+        // Act
+        Optional<Page<MatchResponse>> result = board.buscar(null, MatchStatus.ABIERTO, inicio, inicio.plusHours(2), PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().getContent()).extracting(MatchResponse::getId).containsExactly(3L, 1L);
+        assertThat(result.get().getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void givenPageRequest_whenBuscar_thenSlicesAndCountsTotal() {
+        // Act
+        Optional<Page<MatchResponse>> result = board.buscar(Deporte.FUTBOL, MatchStatus.ABIERTO, inicio, null, PageRequest.of(1, 1));
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().getContent()).extracting(MatchResponse::getId).containsExactly(4L);
+        assertThat(result.get().getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void givenFiltersOutsideCoverage_whenBuscar_thenFallsBackToDatabase() {
+        Pageable porFecha = PageRequest.of(0, 10);
+
+        assertThat(board.buscar(Deporte.FUTBOL, MatchStatus.FINALIZADO, inicio, null, porFecha)).isEmpty();
+        assertThat(board.buscar(Deporte.FUTBOL, null, inicio, null, porFecha)).isEmpty();
+        assertThat(board.buscar(Deporte.FUTBOL, MatchStatus.ABIERTO, null, null, porFecha)).isEmpty();
+        assertThat(board.buscar(Deporte.FUTBOL, MatchStatus.ABIERTO, inicio.minusDays(1), null, porFecha)).isEmpty();
+        assertThat(board.buscar(Deporte.FUTBOL, MatchStatus.ABIERTO, inicio, null,
+                PageRequest.of(0, 10, Sort.by("fechaProgramada").descending()))).isEmpty();
+    }
+
+    @Test
+    void givenMatchBecomesFullAndThenFinished_whenActualizar_thenBoardFollowsItsState() {
+        // Arrange
+        MatchResponse lleno = match(1L, Deporte.FUTBOL, MatchStatus.LLENO, inicio.plusMinutes(30));
+        MatchResponse finalizado = match(1L, Deporte.FUTBOL, MatchStatus.FINALIZADO, inicio.plusMinutes(30));
+
+        // Act & Assert
+        board.actualizar(lleno);
+        assertThat(board.buscar(Deporte.FUTBOL, MatchStatus.LLENO, inicio, null, Pageable.unpaged()).get().getContent())
+                .extracting(MatchResponse::getId).containsExactly(1L, 2L);
+        assertThat(board.buscar(Deporte.FUTBOL, MatchStatus.ABIERTO, inicio, null, Pageable.unpaged()).get().getContent())
+                .extracting(MatchResponse::getId).containsExactly(4L);
+
+        board.actualizar(finalizado);
+        assertThat(board.buscar(Deporte.FUTBOL, MatchStatus.LLENO, inicio, null, Pageable.unpaged()).get().getContent())
+                .extracting(MatchResponse::getId).containsExactly(2L);
+        assertThat(board.size()).isEqualTo(3);
+    }
+
+    @Test
+    void givenSnapshotsPublishedOutOfOrder_whenActualizar_thenKeepsTheNewestState() {
+        // Arrange: la unión que llena el encuentro (v3) publica antes que la anterior (v2)
+        MatchResponse v2 = match(4L, Deporte.FUTBOL, MatchStatus.ABIERTO, inicio.plusDays(1));
+        v2.setVersion(2L);
+        v2.setJugadoresActuales(9);
+        MatchResponse v3 = match(4L, Deporte.FUTBOL, MatchStatus.LLENO, inicio.plusDays(1));
+        v3.setVersion(3L);
+        v3.setJugadoresActuales(10);
+        MatchResponse finalizado = match(4L, Deporte.FUTBOL, MatchStatus.FINALIZADO, inicio.plusDays(1));
+        finalizado.setVersion(4L);
+
+        // Act & Assert
+        board.actualizar(v3);
+        board.actualizar(v2);
+        assertThat(board.buscar(Deporte.FUTBOL, MatchStatus.LLENO, inicio, null, Pageable.unpaged()).get().getContent())
+                .filteredOn(m -> m.getId() == 4L)
+                .extracting(MatchResponse::getJugadoresActuales).containsExactly(10);
+
+        // Un estado anterior que llega después de retirarlo tampoco lo devuelve al tablero
+        board.actualizar(finalizado);
+        board.actualizar(v3);
+        assertThat(board.buscar(Deporte.FUTBOL, MatchStatus.LLENO, inicio, null, Pageable.unpaged()).get().getContent())
+                .extracting(MatchResponse::getId).containsExactly(2L);
+        assertThat(board.size()).isEqualTo(3);
+    }
+
+    @Test
+    void givenRenamedTeam_whenRenombrarEquipo_thenItsMatchesShowTheNewName() {
+        // Arrange
+        MatchResponse formal = match(4L, Deporte.FUTBOL, MatchStatus.ABIERTO, inicio.plusDays(1));
+        formal.setVersion(2L);
+        formal.setEquipoLocalId(10L);
+        formal.setEquipoLocalNombre("Los Rayos");
+        formal.setEquipoVisitanteId(20L);
+        formal.setEquipoVisitanteNombre("Las Estrellas");
+        board.actualizar(formal);
+
+        // Act
+        board.renombrarEquipo(20L, "Las Cometas");
+
+        // Assert
+        MatchResponse enTablero = board.buscar(Deporte.FUTBOL, MatchStatus.ABIERTO, inicio.plusDays(1), null, Pageable.unpaged())
+                .get().getContent().get(0);
+        assertThat(enTablero.getEquipoVisitanteNombre()).isEqualTo("Las Cometas");
+        assertThat(enTablero.getEquipoLocalNombre()).isEqualTo("Los Rayos");
+        assertThat(enTablero.getVersion()).isEqualTo(2L);
+        assertThat(board.size()).isEqualTo(4);
+    }
+
+    @Test
+    void givenLookups_whenBindTo_thenExposesHitAndMissCounters() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        board.bindTo(registry);
+
+        // Act
+        board.buscar(Deporte.FUTBOL, MatchStatus.ABIERTO, inicio, null, PageRequest.of(0, 10));
+        board.buscar(Deporte.FUTBOL, MatchStatus.FINALIZADO, inicio, null, PageRequest.of(0, 10));
+        board.buscar(Deporte.FUTBOL, MatchStatus.FINALIZADO, inicio, null, PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(registry.get("easysports.tablero.consultas").tag("resultado", "acierto").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("easysports.tablero.consultas").tag("resultado", "fallo").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("easysports.tablero.encuentros").gauge().value()).isEqualTo(4);
+    }
+
+    private static MatchResponse match(Long id, Deporte deporte, MatchStatus estado, LocalDateTime fecha) {
+        return MatchResponse.builder()
+                .id(id)
+                .codigo("C" + id)
+                .deporte(deporte)
+                .estado(estado)
+                .fechaProgramada(fecha)
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.easysports.service.cache;
+
+import com.easysports.dto.liga.TablaPosicionesResponse;
+import com.easysports.enums.Deporte;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StandingsSnapshotStoreTest {
+
+    private final StandingsSnapshotStore store = new StandingsSnapshotStore(new ObjectMapper(), 100, Duration.ofHours(1));
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    @Test
+    void givenSnapshot_whenObtenerTwice_thenBuildsOnceAndServesJsonAndGzipOfTheSameTable() throws IOException {
+        // Act
+        StandingsSnapshot primera = store.obtener(1L, id -> cargar(id, 12));
+        StandingsSnapshot segunda = store.obtener(1L, id -> cargar(id, 12));
+
+        // Assert
+        assertThat(cargas).hasValue(1);
+        assertThat(segunda).isSameAs(primera);
+        String json = new String(primera.cuerpo(false), StandardCharsets.UTF_8);
+        assertThat(json).startsWith("[{\"posicion\":1,\"equipoId\":10,").contains("\"nombreEquipo\":\"Águilas\"");
+        assertThat(descomprimir(primera.cuerpo(true))).isEqualTo(primera.cuerpo(false));
+        assertThat(primera.etag(false)).startsWith("\"").endsWith("\"");
+        assertThat(primera.etag(true)).isNotEqualTo(primera.etag(false));
+    }
+
+    @Test
+    void givenInvalidatedLeague_whenObtener_thenRebuildsAndEtagFollowsTheContent() {
+        // Arrange
+        StandingsSnapshot original = store.obtener(1L, id -> cargar(id, 12));
+
+        // Act: una reconstrucción con la misma tabla y otra con la tabla cambiada
+        store.invalidar(1L);
+        StandingsSnapshot igual = store.obtener(1L, id -> cargar(id, 12));
+        store.invalidar(1L);
+        StandingsSnapshot cambiada = store.obtener(1L, id -> cargar(id, 15));
+
+        // Assert
+        assertThat(cargas).hasValue(3);
+        assertThat(cambiada.getVersion()).isGreaterThan(igual.getVersion()).isGreaterThan(original.getVersion());
+        assertThat(igual.etag(false)).isEqualTo(original.etag(false));
+        assertThat(cambiada.etag(false)).isNotEqualTo(original.etag(false));
+    }
+
+    @Test
+    void givenLoaderFails_whenObtener_thenPropagatesAndCachesNothing() {
+        // Act
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> store.obtener(99L, id -> {
+            cargas.incrementAndGet();
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada con ID: " + id);
+        }));
+        store.obtener(99L, id -> cargar(id, 0));
+
+        // Assert
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(cargas).hasValue(2);
+    }
+
+    private List<TablaPosicionesResponse> cargar(Long ligaId, int puntos) {
+        cargas.incrementAndGet();
+        return List.of(TablaPosicionesResponse.builder()
+                .posicion(1L).equipoId(10L).nombreEquipo("Águilas").ligaId(ligaId).deporteLiga(Deporte.FUTBOL)
+                .puntos(puntos).partidosJugados(5).partidosGanados(4).partidosPerdidos(1).partidosEmpatados(0)
+                .build());
+    }
+
+    private static byte[] descomprimir(byte[] gzip) throws IOException {
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return entrada.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.easysports.service.cache;
+
+import com.easysports.enums.Deporte;
+import com.easysports.enums.EstadoMiembro;
+import com.easysports.enums.RolMiembro;
+import com.easysports.model.MiembroEquipo;
+import com.easysports.model.Team;
+import com.easysports.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.easysports.support.TestUsers.usuario;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class TeamMembershipIndexTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private TeamMembershipIndex index;
+    private User capitan;
+    private User jugador;
+    private Team team;
+    private MiembroEquipo invitacion;
+
+    @BeforeEach
+    void setUp() {
+        index = new TeamMembershipIndex(jdbcTemplate);
+        capitan = entityManager.persist(usuario("capitan"));
+        jugador = entityManager.persist(usuario("jugador"));
+        team = entityManager.persist(Team.builder().nombre("Equipo").tipoDeporte(Deporte.FUTBOL).capitan(capitan).build());
+        entityManager.persist(miembro(capitan, EstadoMiembro.ACEPTADO));
+        invitacion = entityManager.persist(miembro(jugador, EstadoMiembro.INVITADO_PENDIENTE));
+        entityManager.flush();
+    }
+
+    @Test
+    void givenLoadedIndex_whenQueried_thenAnswersFromMemory() {
+        // Act
+        index.cargar();
+
+        // Assert
+        assertThat(index.capitan(team.getId())).hasValue(capitan.getId());
+        assertThat(index.esCapitan(team.getId(), capitan.getId())).isTrue();
+        assertThat(index.esCapitan(team.getId(), jugador.getId())).isFalse();
+        assertThat(index.estado(capitan.getId(), team.getId())).contains(EstadoMiembro.ACEPTADO);
+        assertThat(index.estado(jugador.getId(), team.getId())).contains(EstadoMiembro.INVITADO_PENDIENTE);
+        assertThat(index.estado(jugador.getId(), team.getId() + 1)).isEmpty();
+        assertThat(index.capitan(team.getId() + 1)).isEmpty();
+    }
+
+    @Test
+    void givenTeamCreatedAfterLoad_whenCapitan_thenFallsBackToDatabase() {
+        // Arrange
+        index.cargar();
+        Team nuevo = entityManager.persist(Team.builder().nombre("Nuevo").tipoDeporte(Deporte.BASKET).capitan(jugador).build());
+        entityManager.flush();
+
+        // Act & Assert
+        assertThat(index.capitan(nuevo.getId())).hasValue(jugador.getId());
+    }
+
+    @Test
+    void givenMembershipChanges_whenRegisteredOrReloaded_thenIndexReflectsThem() {
+        // Arrange
+        index.cargar();
+
+        // Act
+        index.registrarMembresia(jugador.getId(), team.getId(), EstadoMiembro.ACEPTADO, RolMiembro.MIEMBRO);
+        Optional<EstadoMiembro> trasRegistrar = index.estado(jugador.getId(), team.getId());
+
+        invitacion.setEstado(EstadoMiembro.EXPIRADO);
+        entityManager.flush();
+        index.recargarUsuarios(List.of(jugador.getId()));
+
+        // Assert
+        assertThat(trasRegistrar).contains(EstadoMiembro.ACEPTADO);
+        assertThat(index.estado(jugador.getId(), team.getId())).contains(EstadoMiembro.EXPIRADO);
+        assertThat(index.estado(capitan.getId(), team.getId())).contains(EstadoMiembro.ACEPTADO);
+    }
+
+    private MiembroEquipo miembro(User usuario, EstadoMiembro estado) {
+        return MiembroEquipo.builder()
+                .equipo(team)
+                .usuario(usuario)
+                .estado(estado)
+                .rol(RolMiembro.MIEMBRO)
+                .fechaEstado(LocalDateTime.now())
+                .build();
+    }
+}
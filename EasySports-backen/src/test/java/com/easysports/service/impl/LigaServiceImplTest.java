@@ -2,11 +2,9 @@ package com.easysports.service.impl;
 
 import com.easysports.dto.liga.TablaPosicionesResponse;
 import com.easysports.enums.Deporte;
-import com.easysports.model.Liga;
-import com.easysports.model.TablaDePosiciones;
-import com.easysports.model.Team;
 import com.easysports.repository.LigaRepository;
 import com.easysports.repository.TablaDePosicionesRepository;
+import com.easysports.service.cache.StandingsSnapshotStore;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -15,12 +13,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,48 +29,51 @@ class LigaServiceImplTest {
     private LigaRepository ligaRepository;
     @Mock
     private TablaDePosicionesRepository tablaDePosicionesRepository;
+    @Mock
+    private StandingsSnapshotStore standingsSnapshotStore;
 
     @InjectMocks
     private LigaServiceImpl ligaService;
 
     @Test
-    void givenExistingLiga_whenGetClasificacion_thenReturnsSortedStandings() {
+    void givenExistingLiga_whenGetClasificacion_thenReturnsRankedStandingsFromOneQuery() {
         // Arrange
         Long ligaId = 1L;
-        Liga liga = Liga.builder().id(ligaId).nombre("Liga Test").deporte(Deporte.FUTBOL).build();
-
-        Team team1 = Team.builder().id(10L).nombre("Equipo A").build();
-        Team team2 = Team.builder().id(20L).nombre("Equipo B").build();
-        Team team3 = Team.builder().id(30L).nombre("Equipo C").build();
+        TablaPosicionesResponse primero = TablaPosicionesResponse.builder()
+                .posicion(1L).equipoId(30L).nombreEquipo("Equipo C").ligaId(ligaId).deporteLiga(Deporte.FUTBOL).puntos(12).build();
+        TablaPosicionesResponse segundo = TablaPosicionesResponse.builder()
+                .posicion(2L).equipoId(10L).nombreEquipo("Equipo A").ligaId(ligaId).deporteLiga(Deporte.FUTBOL).puntos(10).build();
+        when(tablaDePosicionesRepository.findClasificacion(ligaId)).thenReturn(List.of(primero, segundo));
 
-        TablaDePosiciones td1 = TablaDePosiciones.builder().id(100L).liga(liga).equipo(team1)
-                .puntos(10).partidosJugados(5).partidosGanados(3).partidosEmpatados(1).partidosPerdidos(1).build();
-        TablaDePosiciones td2 = TablaDePosiciones.builder().id(200L).liga(liga).equipo(team2)
-                .puntos(7).partidosJugados(5).partidosGanados(2).partidosEmpatados(1).partidosPerdidos(2).build();
-        TablaDePosiciones td3 = TablaDePosiciones.builder().id(300L).liga(liga).equipo(team3)
-                .puntos(12).partidosJugados(5).partidosGanados(4).partidosEmpatados(0).partidosPerdidos(1).build();
+        // Act
+        List<TablaPosicionesResponse> result = ligaService.getClasificacion(ligaId);
 
-        // Ensure td3 (12 points) is before td1 (10 points) is before td2 (7 points)
-        List<TablaDePosiciones> unsortedClasificacion = Arrays.asList(td1, td2, td3);
+        // Assert
+        assertThat(result).extracting(TablaPosicionesResponse::getEquipoId).containsExactly(30L, 10L);
+        assertThat(result).extracting(TablaPosicionesResponse::getPosicion).containsExactly(1L, 2L);
+        verify(ligaRepository, never()).existsById(anyLong());
+    }
 
-        when(ligaRepository.findById(ligaId)).thenReturn(Optional.of(liga));
-        when(tablaDePosicionesRepository.findByLiga(liga)).thenReturn(unsortedClasificacion);
+    @Test
+    void givenLigaWithoutTeams_whenGetClasificacion_thenReturnsEmptyList() {
+        // Arrange
+        Long ligaId = 2L;
+        when(tablaDePosicionesRepository.findClasificacion(ligaId)).thenReturn(List.of());
+        when(ligaRepository.existsById(ligaId)).thenReturn(true);
 
         // Act
         List<TablaPosicionesResponse> result = ligaService.getClasificacion(ligaId);
 
         // Assert
-        assertThat(result).isNotNull().hasSize(3);
-        assertThat(result.get(0).getEquipoId()).isEqualTo(team3.getId()); // Team C - 12 puntos
-        assertThat(result.get(1).getEquipoId()).isEqualTo(team1.getId()); // Team A - 10 puntos
-        assertThat(result.get(2).getEquipoId()).isEqualTo(team2.getId()); // Team B - 7 puntos
+        assertThat(result).isEmpty();
     }
 
     @Test
     void givenNonExistingLiga_whenGetClasificacion_thenThrowsNotFound() {
         // Arrange
         Long ligaId = 99L;
-        when(ligaRepository.findById(ligaId)).thenReturn(Optional.empty());
+        when(tablaDePosicionesRepository.findClasificacion(ligaId)).thenReturn(List.of());
+        when(ligaRepository.existsById(ligaId)).thenReturn(false);
 
         // Act & Assert
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -0,0 +1,154 @@
+package com.easysports.service.impl;
+
+import com.easysports.enums.Deporte;
+import com.easysports.enums.MatchStatus;
+import com.easysports.enums.MatchType;
+import com.easysports.model.Match;
+import com.easysports.model.User;
+import com.easysports.repository.MatchRepository;
+import com.easysports.repository.ParticipantRepository;
+import com.easysports.repository.UserRepository;
+import com.easysports.security.UserDetailsImpl;
+import com.easysports.service.MatchService;
+import com.easysports.service.admission.JdbcAdmissionBatchProcessor;
+import com.easysports.service.admission.MatchAdmissionQueue;
+import com.easysports.service.cache.MatchCodeCache;
+import com.easysports.service.cache.OpenMatchBoard;
+import com.easysports.service.cache.StandingsSnapshotStore;
+import com.easysports.service.cache.TeamMembershipIndex;
+import com.easysports.service.specification.MatchSpecification;
+import com.easysports.service.standings.StandingsEngine;
+import com.easysports.util.MatchCodeGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.easysports.support.TestUsers.usuario;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Lanza cientos de uniones simultáneas contra un mismo encuentro con transacciones reales
+ * (sin la transacción envolvente de {@link DataJpaTest}) para comprobar que nunca se supera el cupo.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:joins;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.hikari.maximum-pool-size=20"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({MatchServiceImpl.class, MatchSpecification.class, MatchCodeCache.class,
+        MatchAdmissionQueue.class, JdbcAdmissionBatchProcessor.class, StandingsEngine.class, StandingsSnapshotStore.class,
+        JacksonAutoConfiguration.class})
+class MatchJoinConcurrencyTest {
+
+    private static final int MAX_JUGADORES = 25;
+    private static final int JUGADORES = 300;
+
+    @Autowired
+    private MatchService matchService;
+    @Autowired
+    private MatchRepository matchRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @MockBean
+    private OpenMatchBoard openMatchBoard;
+    @MockBean
+    private MatchCodeGenerator matchCodeGenerator;
+    @MockBean
+    private TeamMembershipIndex teamMembershipIndex;
+
+    @Test
+    void givenBurstOfJoins_whenJoinMatch_thenExactlyMaxJugadoresSucceed() throws Exception {
+        // Arrange
+        User creador = userRepository.save(usuario("creador"));
+        Match match = new Match();
+        match.setCodigo("RACE01");
+        match.setTipo(MatchType.CASUAL);
+        match.setDeporte(Deporte.FUTBOL);
+        match.setEstado(MatchStatus.ABIERTO);
+        match.setFechaProgramada(LocalDateTime.now().plusDays(1).withSecond(0).withNano(0));
+        match.setNombreCanchaTexto("Cancha central");
+        match.setCreador(creador);
+        match.setMaxJugadores(MAX_JUGADORES);
+        match.setJugadoresActuales(1);
+        matchRepository.save(match);
+
+        List<Authentication> jugadores = new ArrayList<>();
+        for (int i = 0; i < JUGADORES; i++) {
+            User jugador = userRepository.save(usuario("jugador" + i));
+            jugadores.add(new UsernamePasswordAuthenticationToken(new UserDetailsImpl(jugador), null));
+        }
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch salida = new CountDownLatch(1);
+        Queue<Authentication> inscritos = new ConcurrentLinkedQueue<>();
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (Authentication jugador : jugadores) {
+            resultados.add(executor.submit(() -> {
+                salida.await();
+                try {
+                    matchService.joinMatch("RACE01", jugador);
+                    inscritos.add(jugador);
+                    return true;
+                } catch (ResponseStatusException ex) {
+                    assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                    return false;
+                }
+            }));
+        }
+        salida.countDown();
+        int aceptadas = 0;
+        for (Future<Boolean> resultado : resultados) {
+            if (resultado.get()) {
+                aceptadas++;
+            }
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        Match finalState = matchRepository.findByCodigo("RACE01").orElseThrow();
+        assertThat(aceptadas).isEqualTo(MAX_JUGADORES - 1);
+        assertThat(finalState.getJugadoresActuales()).isEqualTo(MAX_JUGADORES);
+        assertThat(finalState.getEstado()).isEqualTo(MatchStatus.LLENO);
+        assertThat(participantRepository.count()).isEqualTo(MAX_JUGADORES - 1);
+
+        // Una segunda unión de un jugador ya inscrito se rechaza aunque el encuentro esté lleno
+        ResponseStatusException repetida = assertThrows(ResponseStatusException.class,
+                () -> matchService.joinMatch("RACE01", inscritos.peek()));
+        assertThat(repetida.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(repetida.getReason()).isEqualTo("Ya estás inscrito en este encuentro.");
+    }
+}
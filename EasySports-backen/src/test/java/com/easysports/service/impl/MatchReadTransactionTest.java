@@ -0,0 +1,136 @@
+package com.easysports.service.impl;
+
+import com.easysports.dto.match.MatchResponse;
+import com.easysports.enums.Deporte;
+import com.easysports.enums.MatchStatus;
+import com.easysports.enums.MatchType;
+import com.easysports.service.MatchService;
+import com.easysports.service.admission.JdbcAdmissionBatchProcessor;
+import com.easysports.service.admission.MatchAdmissionQueue;
+import com.easysports.service.cache.MatchCodeCache;
+import com.easysports.service.cache.OpenMatchBoard;
+import com.easysports.service.cache.StandingsSnapshotStore;
+import com.easysports.service.cache.TeamMembershipIndex;
+import com.easysports.service.specification.MatchSpecification;
+import com.easysports.service.standings.StandingsEngine;
+import com.easysports.util.MatchCodeGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Comprueba que las lecturas que resuelven el tablero o la caché por código no abren transacción ni lanzan
+ * sentencias, y que sólo un fallo llega a la base de datos. Se ejecuta sin la transacción envolvente de
+ * {@link DataJpaTest}.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({MatchServiceImpl.class, MatchSpecification.class, OpenMatchBoard.class, MatchCodeCache.class,
+        MatchAdmissionQueue.class, JdbcAdmissionBatchProcessor.class, StandingsEngine.class, StandingsSnapshotStore.class,
+        JacksonAutoConfiguration.class})
+class MatchReadTransactionTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.now().withSecond(0).withNano(0);
+
+    @Autowired
+    private MatchService matchService;
+    @Autowired
+    private OpenMatchBoard openMatchBoard;
+    @Autowired
+    private MatchCodeCache matchCodeCache;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private MatchCodeGenerator matchCodeGenerator;
+    @MockBean
+    private TeamMembershipIndex teamMembershipIndex;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        openMatchBoard.reconstruir(INICIO);
+        openMatchBoard.actualizar(MatchResponse.builder()
+                .id(1L)
+                .codigo("TAB001")
+                .tipo(MatchType.CASUAL)
+                .deporte(Deporte.FUTBOL)
+                .estado(MatchStatus.ABIERTO)
+                .fechaProgramada(INICIO.plusHours(2))
+                .maxJugadores(10)
+                .jugadoresActuales(1)
+                .version(0L)
+                .build());
+        statistics.clear();
+    }
+
+    @Test
+    void givenListingCoveredByBoard_whenFindAll_thenNoTransactionNorStatement() {
+        // Act
+        Page<MatchResponse> page = matchService.findAll(Deporte.FUTBOL, MatchStatus.ABIERTO, INICIO, null, PageRequest.of(0, 20));
+
+        // Assert
+        assertThat(page.getContent()).extracting(MatchResponse::getCodigo).containsExactly("TAB001");
+        assertThat(statistics.getTransactionCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void givenListingOutsideBoard_whenFindAll_thenQueriesInsideOneTransaction() {
+        // Act
+        Page<MatchResponse> page = matchService.findAll(Deporte.FUTBOL, MatchStatus.FINALIZADO, null, null, PageRequest.of(0, 20));
+
+        // Assert
+        assertThat(page.getContent()).isEmpty();
+        assertThat(statistics.getTransactionCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+    }
+
+    @Test
+    void givenCachedCodigo_whenFindByCodigo_thenNoTransactionNorStatement() {
+        // Arrange
+        matchCodeCache.obtener("TAB001", codigo -> MatchResponse.builder().id(1L).codigo(codigo).build());
+        statistics.clear();
+
+        // Act
+        MatchResponse response = matchService.findByCodigo("TAB001");
+
+        // Assert
+        assertThat(response.getId()).isEqualTo(1L);
+        assertThat(statistics.getTransactionCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void givenUncachedCodigo_whenFindByCodigo_thenQueriesInsideOneTransaction() {
+        // Act
+        assertThrows(ResponseStatusException.class, () -> matchService.findByCodigo("NOEX01"));
+
+        // Assert
+        assertThat(statistics.getTransactionCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+    }
+}
@@ -1,35 +1,65 @@
 package com.easysports.service.impl;
 
+import com.easysports.dto.match.MatchCursor;
 import com.easysports.dto.match.MatchResponse;
+import com.easysports.dto.match.MatchScrollResponse;
+import com.easysports.dto.match.ResultRequest;
 import com.easysports.enums.Deporte;
 import com.easysports.enums.MatchStatus;
+import com.easysports.enums.MatchType;
+import com.easysports.model.Liga;
 import com.easysports.model.Match;
+import com.easysports.model.Team;
+import com.easysports.model.User;
 import com.easysports.repository.CourtRepository;
+import com.easysports.repository.LigaRepository;
 import com.easysports.repository.MatchRepository;
 import com.easysports.repository.ParticipantRepository;
 import com.easysports.repository.TeamRepository;
 import com.easysports.repository.UserRepository;
+import com.easysports.security.UserDetailsImpl;
+import com.easysports.service.admission.MatchAdmissionQueue;
+import com.easysports.service.cache.MatchCodeCache;
+import com.easysports.service.cache.OpenMatchBoard;
+import com.easysports.service.cache.TeamMembershipIndex;
 import com.easysports.service.specification.MatchSpecification;
+import com.easysports.service.standings.StandingsEngine;
+import com.easysports.util.MatchCodeGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -48,6 +78,23 @@ class MatchServiceImplTest {
     private ParticipantRepository participantRepository;
     @Mock
     private MatchSpecification matchSpecification;
+    @Mock
+    private OpenMatchBoard openMatchBoard;
+    @Spy
+    private MatchCodeCache matchCodeCache = new MatchCodeCache(100, Duration.ofMinutes(5));
+    @Mock
+    private MatchCodeGenerator matchCodeGenerator;
+    @Mock
+    private MatchAdmissionQueue matchAdmissionQueue;
+    @Mock
+    private TeamMembershipIndex teamMembershipIndex;
+    @Mock
+    private LigaRepository ligaRepository;
+    @Mock
+    private StandingsEngine standingsEngine;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
     @InjectMocks
     private MatchServiceImpl matchService;
@@ -61,18 +108,19 @@ class MatchServiceImplTest {
         LocalDateTime fechaHasta = LocalDateTime.now().plusDays(1);
         Pageable pageable = PageRequest.of(0, 10);
 
-        Match match = new Match();
-        match.setId(1L);
-        match.setDeporte(deporte);
-        match.setEstado(estado);
+        MatchResponse match = MatchResponse.builder()
+                .id(1L)
+                .deporte(deporte)
+                .estado(estado)
+                .build();
 
-        List<Match> matches = List.of(match);
-        Page<Match> matchPage = new PageImpl<>(matches, pageable, matches.size());
+        List<MatchResponse> matches = List.of(match);
+        Page<MatchResponse> matchPage = new PageImpl<>(matches, pageable, matches.size());
         
         Specification<Match> spec = (root, query, criteriaBuilder) -> null;
 
         when(matchSpecification.findByCriteria(deporte, estado, fechaDesde, fechaHasta)).thenReturn(spec);
-        when(matchRepository.findAll(spec, pageable)).thenReturn(matchPage);
+        when(matchRepository.findAllAsResponse(spec, pageable)).thenReturn(matchPage);
 
         // Act
         Page<MatchResponse> result = matchService.findAll(deporte, estado, fechaDesde, fechaHasta, pageable);
@@ -85,19 +133,94 @@ class MatchServiceImplTest {
         assertThat(result.getContent().get(0).getEstado()).isEqualTo(estado);
 
         verify(matchSpecification).findByCriteria(deporte, estado, fechaDesde, fechaHasta);
-        verify(matchRepository).findAll(spec, pageable);
+        verify(matchRepository).findAllAsResponse(spec, pageable);
+    }
+
+    @Test
+    void givenBoardCoversFilters_whenFindAll_thenSkipsDatabase() {
+        // Arrange
+        LocalDateTime fechaDesde = LocalDateTime.now();
+        Pageable pageable = PageRequest.of(0, 10);
+        MatchResponse match = MatchResponse.builder().id(3L).deporte(Deporte.FUTBOL).estado(MatchStatus.ABIERTO).build();
+        Page<MatchResponse> desdeTablero = new PageImpl<>(List.of(match), pageable, 1);
+
+        when(openMatchBoard.buscar(Deporte.FUTBOL, MatchStatus.ABIERTO, fechaDesde, null, pageable))
+                .thenReturn(Optional.of(desdeTablero));
+
+        // Act
+        Page<MatchResponse> result = matchService.findAll(Deporte.FUTBOL, MatchStatus.ABIERTO, fechaDesde, null, pageable);
+
+        // Assert
+        assertThat(result).isSameAs(desdeTablero);
+        verify(matchRepository, never()).findAllAsResponse(any(), any());
+    }
+
+    @Test
+    void givenMoreResults_whenScroll_thenReturnsCursorAfterLastMatch() {
+        // Arrange
+        LocalDateTime fecha = LocalDateTime.of(2030, 1, 1, 10, 15);
+        MatchResponse primero = MatchResponse.builder().id(7L).fechaProgramada(fecha).build();
+        MatchResponse segundo = MatchResponse.builder().id(9L).fechaProgramada(fecha).build();
+        Specification<Match> spec = (root, query, criteriaBuilder) -> null;
+        MatchCursor anterior = new MatchCursor(fecha.minusHours(1), 3L);
+
+        when(matchSpecification.findByCriteria(Deporte.FUTBOL, null, null, null)).thenReturn(spec);
+        when(matchRepository.findSliceAsResponse(spec, anterior, 2))
+                .thenReturn(new SliceImpl<>(List.of(primero, segundo), PageRequest.ofSize(2), true));
+
+        // Act
+        MatchScrollResponse result = matchService.scroll(Deporte.FUTBOL, null, null, null, anterior.encode(), 2);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(primero, segundo);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(MatchCursor.decode(result.getNextCursor())).isEqualTo(new MatchCursor(fecha, 9L));
+    }
+
+    @Test
+    void givenMalformedCursor_whenScroll_thenThrowsBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> matchService.scroll(null, null, null, null, "no-es-un-cursor", 20));
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void givenMatchingMatches_whenExportAll_thenWritesOneJsonObjectPerLineAndClosesStream() throws Exception {
+        // Arrange
+        Specification<Match> spec = (root, query, criteriaBuilder) -> null;
+        MatchResponse primero = MatchResponse.builder().id(1L).codigo("AAA111").estado(MatchStatus.FINALIZADO)
+                .fechaProgramada(LocalDateTime.of(2025, 3, 1, 18, 0)).build();
+        MatchResponse segundo = MatchResponse.builder().id(2L).codigo("BBB222").estado(MatchStatus.FINALIZADO).build();
+        boolean[] cerrado = {false};
+        when(matchSpecification.findByCriteria(null, MatchStatus.FINALIZADO, null, null)).thenReturn(spec);
+        when(matchRepository.streamAsResponse(eq(spec), anyInt()))
+                .thenReturn(Stream.of(primero, segundo).onClose(() -> cerrado[0] = true));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        matchService.exportAll(null, MatchStatus.FINALIZADO, null, null, out);
+
+        // Assert
+        String[] lineas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lineas).hasSize(2);
+        assertThat(objectMapper.readValue(lineas[0], MatchResponse.class).getCodigo()).isEqualTo("AAA111");
+        assertThat(lineas[0]).contains("\"fechaProgramada\":\"2025-03-01T18:00:00\"");
+        assertThat(objectMapper.readValue(lineas[1], MatchResponse.class).getId()).isEqualTo(2L);
+        assertThat(cerrado[0]).isTrue();
     }
 
     @Test
     void givenExistingCodigo_whenFindByCodigo_thenReturnsMatch() {
         // Arrange
         String codigo = "ABC123";
-        Match match = new Match();
-        match.setId(1L);
-        match.setCodigo(codigo);
-        match.setDeporte(Deporte.VOLEY);
+        MatchResponse match = MatchResponse.builder()
+                .id(1L)
+                .codigo(codigo)
+                .deporte(Deporte.VOLEY)
+                .build();
 
-        when(matchRepository.findByCodigo(codigo)).thenReturn(Optional.of(match));
+        when(matchRepository.findResponseByCodigo(codigo)).thenReturn(Optional.of(match));
 
         // Act
         MatchResponse result = matchService.findByCodigo(codigo);
@@ -108,14 +231,72 @@ class MatchServiceImplTest {
         assertThat(result.getCodigo()).isEqualTo(codigo);
         assertThat(result.getDeporte()).isEqualTo(Deporte.VOLEY);
 
-        verify(matchRepository).findByCodigo(codigo);
+        verify(matchRepository).findResponseByCodigo(codigo);
+    }
+
+    @Test
+    void givenCachedCodigo_whenFindByCodigoTwice_thenQueriesDatabaseOnce() {
+        // Arrange
+        String codigo = "HOT123";
+        MatchResponse match = MatchResponse.builder().id(5L).codigo(codigo).jugadoresActuales(3).build();
+        when(matchRepository.findResponseByCodigo(codigo)).thenReturn(Optional.of(match));
+
+        // Act
+        matchService.findByCodigo(codigo);
+        MatchResponse result = matchService.findByCodigo(codigo);
+
+        // Assert
+        assertThat(result.getJugadoresActuales()).isEqualTo(3);
+        verify(matchRepository, times(1)).findResponseByCodigo(codigo);
+        assertThat(matchCodeCache.estadisticas().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenCachedCodigo_whenInvalidated_thenNextLookupReloads() {
+        // Arrange
+        String codigo = "HOT456";
+        MatchResponse antes = MatchResponse.builder().id(6L).codigo(codigo).jugadoresActuales(3).build();
+        MatchResponse despues = MatchResponse.builder().id(6L).codigo(codigo).jugadoresActuales(4).build();
+        when(matchRepository.findResponseByCodigo(codigo)).thenReturn(Optional.of(antes), Optional.of(despues));
+        matchService.findByCodigo(codigo);
+
+        // Act
+        matchCodeCache.invalidar(codigo);
+        MatchResponse result = matchService.findByCodigo(codigo);
+
+        // Assert
+        assertThat(result.getJugadoresActuales()).isEqualTo(4);
+        verify(matchRepository, times(2)).findResponseByCodigo(codigo);
+    }
+
+    @Test
+    void givenCachedMatchesOfRenamedTeam_whenInvalidarEquipo_thenOnlyThoseReload() {
+        // Arrange
+        MatchResponse delEquipo = MatchResponse.builder().id(7L).codigo("EQU001").equipoVisitanteId(20L)
+                .equipoVisitanteNombre("Las Estrellas").build();
+        MatchResponse renombrado = MatchResponse.builder().id(7L).codigo("EQU001").equipoVisitanteId(20L)
+                .equipoVisitanteNombre("Las Cometas").build();
+        MatchResponse otro = MatchResponse.builder().id(8L).codigo("OTR001").equipoLocalId(30L).build();
+        when(matchRepository.findResponseByCodigo("EQU001")).thenReturn(Optional.of(delEquipo), Optional.of(renombrado));
+        when(matchRepository.findResponseByCodigo("OTR001")).thenReturn(Optional.of(otro));
+        matchService.findByCodigo("EQU001");
+        matchService.findByCodigo("OTR001");
+
+        // Act
+        matchCodeCache.invalidarEquipo(20L);
+
+        // Assert
+        assertThat(matchService.findByCodigo("EQU001").getEquipoVisitanteNombre()).isEqualTo("Las Cometas");
+        matchService.findByCodigo("OTR001");
+        verify(matchRepository, times(2)).findResponseByCodigo("EQU001");
+        verify(matchRepository, times(1)).findResponseByCodigo("OTR001");
     }
 
     @Test
     void givenNonExistingCodigo_whenFindByCodigo_thenThrowsNotFound() {
         // Arrange
         String codigo = "XYZ789";
-        when(matchRepository.findByCodigo(codigo)).thenReturn(Optional.empty());
+        when(matchRepository.findResponseByCodigo(codigo)).thenReturn(Optional.empty());
 
         // Act & Assert
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -123,6 +304,38 @@ class MatchServiceImplTest {
         });
 
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
-        verify(matchRepository).findByCodigo(codigo);
+        verify(matchRepository).findResponseByCodigo(codigo);
+    }
+
+    @Test
+    void givenFinishedLeagueMatch_whenRegisterResult_thenAppliesCorrectionFromPreviousScore() {
+        // Arrange
+        User creador = User.builder().id(1L).email("capitan@easysports.com").password("hash").build();
+        Match match = new Match();
+        match.setCodigo("LIGA01");
+        match.setTipo(MatchType.FORMAL);
+        match.setEstado(MatchStatus.FINALIZADO);
+        match.setCreador(creador);
+        match.setEquipoLocal(Team.builder().id(10L).build());
+        match.setEquipoVisitante(Team.builder().id(20L).build());
+        match.setLiga(Liga.builder().id(7L).build());
+        match.setGolesLocal(2);
+        match.setGolesVisitante(1);
+        when(matchRepository.findByCodigo("LIGA01")).thenReturn(Optional.of(match));
+
+        ResultRequest request = new ResultRequest();
+        request.setGolesLocal(1);
+        request.setGolesVisitante(1);
+        UserDetailsImpl principal = new UserDetailsImpl(creador);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+
+        // Act
+        MatchResponse result = matchService.registerResult("LIGA01", request, authentication);
+
+        // Assert
+        assertThat(result.getLigaId()).isEqualTo(7L);
+        verify(matchRepository).saveAndFlush(match);
+        verify(standingsEngine).aplicar(7L, 10L, 20L,
+                new StandingsEngine.Marcador(2, 1), new StandingsEngine.Marcador(1, 1));
     }
-}
\ No newline at end of file
+}
@@ -1,25 +1,48 @@
 package com.easysports.service.impl;
 
+import com.easysports.dto.team.InvitarMiembroRequest;
 import com.easysports.dto.team.TeamResponse;
+import com.easysports.dto.team.UpdateTeamRequest;
 import com.easysports.enums.Deporte;
+import com.easysports.enums.EstadoMiembro;
+import com.easysports.model.MiembroEquipo;
+import com.easysports.model.RosterEquipo;
 import com.easysports.model.Team;
 import com.easysports.model.User;
 import com.easysports.repository.MiembroEquipoRepository;
+import com.easysports.repository.RosterEquipoRepository;
+import com.easysports.repository.TablaDePosicionesRepository;
 import com.easysports.repository.TeamRepository;
 import com.easysports.repository.UserRepository;
+import com.easysports.security.UserDetailsImpl;
+import com.easysports.service.cache.MatchCodeCache;
+import com.easysports.service.cache.OpenMatchBoard;
+import com.easysports.service.cache.StandingsSnapshotStore;
+import com.easysports.service.cache.TeamMembershipIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +55,18 @@ class TeamServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private MiembroEquipoRepository miembroEquipoRepository;
+    @Mock
+    private RosterEquipoRepository rosterEquipoRepository;
+    @Mock
+    private TeamMembershipIndex teamMembershipIndex;
+    @Mock
+    private TablaDePosicionesRepository tablaDePosicionesRepository;
+    @Mock
+    private StandingsSnapshotStore standingsSnapshotStore;
+    @Mock
+    private OpenMatchBoard openMatchBoard;
+    @Mock
+    private MatchCodeCache matchCodeCache;
 
     @InjectMocks
     private TeamServiceImpl teamService;
@@ -82,4 +117,193 @@ class TeamServiceImplTest {
 
         verify(teamRepository).findById(teamId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenSportFilter_whenGetAllTeams_thenLoadsRostersOfPageInOneQuery() {
+        // Arrange
+        PageRequest pageable = PageRequest.of(0, 2);
+        User capitan = User.builder().id(10L).build();
+        Team primero = Team.builder().id(1L).nombre("Primero").tipoDeporte(Deporte.FUTBOL).capitan(capitan).build();
+        Team segundo = Team.builder().id(2L).nombre("Segundo").tipoDeporte(Deporte.FUTBOL).capitan(capitan).build();
+        RosterEquipo rosterCapitan = RosterEquipo.builder().equipoId(1L).usuarioId(10L).nombreCompleto("Capitán").esCapitan(true).build();
+        RosterEquipo rosterJugador = RosterEquipo.builder().equipoId(1L).usuarioId(11L).nombreCompleto("Jugador").build();
+
+        when(teamRepository.findByTipoDeporte(Deporte.FUTBOL, pageable))
+                .thenReturn(new PageImpl<>(List.of(primero, segundo), pageable, 5));
+        when(rosterEquipoRepository.findByEquipoIdInOrderByEsCapitanDescNombreCompletoAsc(List.of(1L, 2L)))
+                .thenReturn(List.of(rosterCapitan, rosterJugador));
+
+        // Act
+        Page<TeamResponse> result = teamService.getAllTeams(Deporte.FUTBOL, pageable);
+
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getContent()).extracting(TeamResponse::getNombre).containsExactly("Primero", "Segundo");
+        assertThat(result.getContent().get(0).getMiembros()).hasSize(2);
+        assertThat(result.getContent().get(0).getMiembros().get(0).isEsCapitan()).isTrue();
+        assertThat(result.getContent().get(1).getMiembros()).isEmpty();
+        verify(teamRepository, never()).findAll(pageable);
+    }
+
+    @Test
+    void givenPendingInvitation_whenAceptarInvitacion_thenAddsMemberToRoster() {
+        // Arrange
+        User capitan = User.builder().id(10L).build();
+        User jugador = User.builder().id(11L).nombreCompleto("Jugador").email("jugador@easysports.com").build();
+        Team team = Team.builder().id(1L).capitan(capitan).build();
+        MiembroEquipo invitacion = MiembroEquipo.builder().equipo(team).usuario(jugador).estado(EstadoMiembro.INVITADO_PENDIENTE).build();
+        when(miembroEquipoRepository.findByUsuarioIdAndEquipoIdAndEstado(11L, 1L, EstadoMiembro.INVITADO_PENDIENTE))
+                .thenReturn(Optional.of(invitacion));
+
+        // Act
+        teamService.aceptarInvitacion(1L, autenticado(jugador));
+
+        // Assert
+        ArgumentCaptor<RosterEquipo> captor = ArgumentCaptor.forClass(RosterEquipo.class);
+        verify(rosterEquipoRepository).save(captor.capture());
+        assertThat(captor.getValue().getEquipoId()).isEqualTo(1L);
+        assertThat(captor.getValue().getUsuarioId()).isEqualTo(11L);
+        assertThat(captor.getValue().getNombreCompleto()).isEqualTo("Jugador");
+        assertThat(captor.getValue().isEsCapitan()).isFalse();
+        verify(teamMembershipIndex).registrarMembresia(11L, 1L, EstadoMiembro.ACEPTADO, null);
+    }
+
+    @Test
+    void givenAcceptedMember_whenExpulsarMiembro_thenRemovesMemberFromRoster() {
+        // Arrange
+        User capitan = User.builder().id(10L).build();
+        Team team = Team.builder().id(1L).capitan(capitan).build();
+        User jugador = User.builder().id(11L).build();
+        MiembroEquipo membresia = MiembroEquipo.builder().equipo(team).usuario(jugador).estado(EstadoMiembro.ACEPTADO).build();
+        when(teamMembershipIndex.capitan(1L)).thenReturn(OptionalLong.of(10L));
+        when(miembroEquipoRepository.findByEquipoIdAndUsuarioId(1L, 11L)).thenReturn(Optional.of(membresia));
+
+        // Act
+        teamService.expulsarMiembro(1L, 11L, autenticado(capitan));
+
+        // Assert
+        assertThat(membresia.getEstado()).isEqualTo(EstadoMiembro.EXPULSADO);
+        verify(rosterEquipoRepository).eliminar(1L, 11L);
+        verify(teamMembershipIndex).registrarMembresia(11L, 1L, EstadoMiembro.EXPULSADO, null);
+        verify(teamRepository, never()).findById(any());
+    }
+
+    @Test
+    void givenNonCaptain_whenExpulsarMiembro_thenThrowsForbiddenWithoutLoadingTeam() {
+        // Arrange
+        User intruso = User.builder().id(12L).build();
+        when(teamMembershipIndex.capitan(1L)).thenReturn(OptionalLong.of(10L));
+        Authentication authentication = autenticado(intruso);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> teamService.expulsarMiembro(1L, 11L, authentication));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        verify(teamRepository, never()).findById(any());
+        verify(miembroEquipoRepository, never()).findByEquipoIdAndUsuarioId(any(), any());
+    }
+
+    @Test
+    void givenUnknownSortProperty_whenGetMisEquipos_thenThrowsBadRequest() {
+        // Arrange
+        Authentication authentication = autenticado(User.builder().id(11L).build());
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> teamService.getMisEquipos(authentication, PageRequest.of(0, 10, Sort.by("capitan.password"))));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(miembroEquipoRepository, never()).findMisEquipos(any(), any(), any());
+    }
+
+    @Test
+    void givenExpiredInvitation_whenInvitarMiembro_thenReusesItAsPending() {
+        // Arrange
+        User capitan = User.builder().id(10L).build();
+        User jugador = User.builder().id(11L).email("jugador@easysports.com").build();
+        Team team = Team.builder().id(1L).capitan(capitan).build();
+        MiembroEquipo expirada = MiembroEquipo.builder().equipo(team).usuario(jugador).estado(EstadoMiembro.EXPIRADO).build();
+        InvitarMiembroRequest request = new InvitarMiembroRequest();
+        request.setEmailUsuario("jugador@easysports.com");
+        when(teamMembershipIndex.capitan(1L)).thenReturn(OptionalLong.of(10L));
+        when(teamRepository.getReferenceById(1L)).thenReturn(team);
+        when(userRepository.findByEmail("jugador@easysports.com")).thenReturn(Optional.of(jugador));
+        when(miembroEquipoRepository.findByEquipoIdAndUsuarioId(1L, 11L)).thenReturn(Optional.of(expirada));
+
+        // Act
+        teamService.invitarMiembro(1L, request, autenticado(capitan));
+
+        // Assert
+        assertThat(expirada.getEstado()).isEqualTo(EstadoMiembro.INVITADO_PENDIENTE);
+        assertThat(expirada.getFechaEstado()).isNotNull();
+        verify(miembroEquipoRepository).save(expirada);
+        verify(teamMembershipIndex).registrarMembresia(11L, 1L, EstadoMiembro.INVITADO_PENDIENTE, null);
+    }
+
+    @Test
+    void givenSearchText_whenBuscarEquipos_thenSearchesTrimmedTextRankedByRelevance() {
+        // Arrange
+        Team team = Team.builder().id(1L).nombre("Los Tigres").tipoDeporte(Deporte.FUTBOL).capitan(User.builder().id(10L).build()).build();
+        PageRequest pagina = PageRequest.of(1, 5);
+        when(teamRepository.buscarPorNombre("tigres", "FUTBOL", pagina)).thenReturn(new PageImpl<>(List.of(team), pagina, 6));
+
+        // Act
+        Page<TeamResponse> result = teamService.buscarEquipos("  tigres ", Deporte.FUTBOL, PageRequest.of(1, 5, Sort.by("nombre")));
+
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(6);
+        assertThat(result.getContent()).extracting(TeamResponse::getNombre).containsExactly("Los Tigres");
+        verify(rosterEquipoRepository).findByEquipoIdInOrderByEsCapitanDescNombreCompletoAsc(List.of(1L));
+    }
+
+    @Test
+    void givenTooShortText_whenBuscarEquipos_thenThrowsBadRequest() {
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> teamService.buscarEquipos(" a ", null, PageRequest.of(0, 20)));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(teamRepository, never()).buscarPorNombre(any(), any(), any());
+    }
+
+    @Test
+    void givenRenamedTeam_whenUpdateTeam_thenRefreshesStandingsAndCachedMatchesOfTheTeam() {
+        // Arrange
+        User capitan = User.builder().id(10L).build();
+        Team team = Team.builder().id(1L).nombre("Los Rayos").tipoDeporte(Deporte.FUTBOL).capitan(capitan).build();
+        when(teamMembershipIndex.capitan(1L)).thenReturn(OptionalLong.of(10L));
+        when(teamRepository.findById(1L)).thenReturn(Optional.of(team));
+        when(teamRepository.save(team)).thenReturn(team);
+        when(tablaDePosicionesRepository.findLigaIdsByEquipoId(1L)).thenReturn(List.of(5L, 6L));
+
+        // Act
+        TeamResponse result = teamService.updateTeam(1L, new UpdateTeamRequest("Los Truenos", Deporte.FUTBOL), autenticado(capitan));
+
+        // Assert
+        assertThat(result.getNombre()).isEqualTo("Los Truenos");
+        verify(standingsSnapshotStore).invalidar(5L);
+        verify(standingsSnapshotStore).invalidar(6L);
+        verify(openMatchBoard).renombrarEquipo(1L, "Los Truenos");
+        verify(matchCodeCache).invalidarEquipo(1L);
+    }
+
+    @Test
+    void givenSameName_whenUpdateTeam_thenKeepsStandingsSnapshots() {
+        // Arrange
+        User capitan = User.builder().id(10L).build();
+        Team team = Team.builder().id(1L).nombre("Los Rayos").tipoDeporte(Deporte.FUTBOL).capitan(capitan).build();
+        when(teamMembershipIndex.capitan(1L)).thenReturn(OptionalLong.of(10L));
+        when(teamRepository.findById(1L)).thenReturn(Optional.of(team));
+        when(teamRepository.save(team)).thenReturn(team);
+
+        // Act
+        teamService.updateTeam(1L, new UpdateTeamRequest("Los Rayos", Deporte.BASKET), autenticado(capitan));
+
+        // Assert
+        verify(tablaDePosicionesRepository, never()).findLigaIdsByEquipoId(any());
+        verify(standingsSnapshotStore, never()).invalidar(any());
+        verify(openMatchBoard, never()).renombrarEquipo(any(), any());
+    }
+
+    private static Authentication autenticado(User user) {
+        return new UsernamePasswordAuthenticationToken(new UserDetailsImpl(user), null);
+    }
+}
@@ -0,0 +1,215 @@
+package com.easysports.service.impl;
+
+import com.easysports.dto.team.InvitacionResponse;
+import com.easysports.dto.team.InvitarMiembrosRequest;
+import com.easysports.dto.team.MiEquipoResponse;
+import com.easysports.dto.team.TeamResponse;
+import com.easysports.enums.Deporte;
+import com.easysports.enums.EstadoMiembro;
+import com.easysports.enums.ResultadoInvitacion;
+import com.easysports.enums.RolMiembro;
+import com.easysports.model.MiembroEquipo;
+import com.easysports.model.RosterEquipo;
+import com.easysports.model.Team;
+import com.easysports.model.User;
+import com.easysports.security.UserDetailsImpl;
+import com.easysports.service.TeamService;
+import com.easysports.service.cache.MatchCodeCache;
+import com.easysports.service.cache.OpenMatchBoard;
+import com.easysports.service.cache.StandingsSnapshotStore;
+import com.easysports.service.cache.TeamMembershipIndex;
+import com.easysports.service.specification.MatchSpecification;
+import com.easysports.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.easysports.support.TestUsers.usuario;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comprueba que el catálogo de equipos, "mis equipos" y las invitaciones masivas cuestan un número
+ * de consultas fijo, sin importar el tamaño de la página, de la plantilla o de la lista de invitados.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({TeamServiceImpl.class, TeamMembershipIndex.class, StandingsSnapshotStore.class, OpenMatchBoard.class,
+        MatchCodeCache.class, MatchSpecification.class, JacksonAutoConfiguration.class})
+class TeamServiceQueryCountTest {
+
+    private static final int EQUIPOS = 30;
+    private static final int MIEMBROS_POR_EQUIPO = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TeamService teamService;
+
+    private StatementCounter statementCounter;
+    private User jugadorEnVariosEquipos;
+    private Long primerEquipoId;
+
+    @BeforeEach
+    void setUp() {
+        primerEquipoId = null;
+        for (int e = 0; e < EQUIPOS; e++) {
+            User capitan = entityManager.persist(usuario("capitan" + e));
+            Team team = entityManager.persist(Team.builder()
+                    .nombre(String.format("Equipo %02d", e))
+                    .tipoDeporte(e % 3 == 0 ? Deporte.BASKET : Deporte.FUTBOL)
+                    .capitan(capitan)
+                    .build());
+            if (primerEquipoId == null) {
+                primerEquipoId = team.getId();
+            }
+            entityManager.persist(miembro(team, capitan, EstadoMiembro.ACEPTADO));
+            entityManager.persist(roster(team, capitan, true));
+            for (int m = 1; m < MIEMBROS_POR_EQUIPO; m++) {
+                User jugador = entityManager.persist(usuario("jugador" + e + "-" + m));
+                // El último queda pendiente y no debe aparecer en la respuesta
+                EstadoMiembro estado = m == MIEMBROS_POR_EQUIPO - 1 ? EstadoMiembro.INVITADO_PENDIENTE : EstadoMiembro.ACEPTADO;
+                entityManager.persist(miembro(team, jugador, estado));
+                if (estado == EstadoMiembro.ACEPTADO) {
+                    entityManager.persist(roster(team, jugador, false));
+                }
+            }
+        }
+        // Un jugador aceptado en los tres últimos equipos e invitado a los dos anteriores
+        jugadorEnVariosEquipos = entityManager.persist(usuario("veterano"));
+        for (int e = 0; e < 5; e++) {
+            Team team = entityManager.find(Team.class, primerEquipoId + EQUIPOS - 1 - e);
+            EstadoMiembro estado = e < 3 ? EstadoMiembro.ACEPTADO : EstadoMiembro.INVITADO_PENDIENTE;
+            entityManager.persist(miembro(team, jugadorEnVariosEquipos, estado));
+            if (estado == EstadoMiembro.ACEPTADO) {
+                entityManager.persist(roster(team, jugadorEnVariosEquipos, false));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statementCounter = new StatementCounter(entityManager);
+    }
+
+    @Test
+    void givenDifferentPageSizes_whenGetAllTeams_thenStatementCountIsConstant() {
+        long smallPageStatements = statementCounter.contar(() -> {
+            Page<TeamResponse> page = teamService.getAllTeams(Deporte.FUTBOL, PageRequest.of(0, 3));
+            assertThat(page.getContent()).hasSize(3);
+            assertThat(page.getTotalElements()).isEqualTo(20);
+            page.forEach(t -> assertThat(t.getMiembros()).hasSize(MIEMBROS_POR_EQUIPO - 1));
+        });
+        entityManager.clear();
+        long largePageStatements = statementCounter.contar(() -> {
+            Page<TeamResponse> page = teamService.getAllTeams(null, PageRequest.of(0, 25));
+            assertThat(page.getContent()).hasSize(25);
+            assertThat(page.getTotalElements()).isEqualTo(EQUIPOS);
+            page.forEach(t -> assertThat(t.getMiembros())
+                    .filteredOn(m -> m.isEsCapitan()).hasSize(1));
+        });
+
+        // Equipos, conteo y miembros de la página: tres consultas, sin importar el número de equipos o miembros
+        assertThat(smallPageStatements).isEqualTo(3);
+        assertThat(largePageStatements).isEqualTo(smallPageStatements);
+    }
+
+    @Test
+    void givenAcceptedAndPendingTeams_whenGetMisEquipos_thenResolvesPageInOneQueryPlusCount() {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(new UserDetailsImpl(jugadorEnVariosEquipos), null);
+        AtomicReference<Page<MiEquipoResponse>> resultado = new AtomicReference<>();
+
+        long statements = statementCounter.contar(() ->
+                resultado.set(teamService.getMisEquipos(authentication, PageRequest.of(0, 4))));
+        Page<MiEquipoResponse> page = resultado.get();
+
+        // Consulta de datos y de conteo, sin cargar equipos, capitanes ni plantillas por separado
+        assertThat(statements).isEqualTo(2);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).hasSize(4);
+        // Orden por defecto: primero los aceptados
+        assertThat(page.getContent()).extracting(MiEquipoResponse::getEstadoMiembro)
+                .containsExactly(EstadoMiembro.ACEPTADO, EstadoMiembro.ACEPTADO, EstadoMiembro.ACEPTADO, EstadoMiembro.INVITADO_PENDIENTE);
+        MiEquipoResponse primero = page.getContent().get(0);
+        // Capitán, dos jugadores aceptados y el propio usuario
+        assertThat(primero.getTotalMiembros()).isEqualTo(MIEMBROS_POR_EQUIPO);
+        assertThat(primero.getCapitanNombre()).startsWith("capitan");
+
+        Page<MiEquipoResponse> porNombreDesc = teamService.getMisEquipos(authentication,
+                PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "nombre")));
+        assertThat(porNombreDesc.getContent()).extracting(MiEquipoResponse::getNombre)
+                .containsExactly("Equipo 29", "Equipo 28", "Equipo 27", "Equipo 26", "Equipo 25");
+    }
+
+    @Test
+    void givenManyEmails_whenInvitarMiembros_thenLooksUpAndInsertsInFixedStatements() {
+        Team equipo = entityManager.find(Team.class, primerEquipoId);
+        Authentication capitan = new UsernamePasswordAuthenticationToken(new UserDetailsImpl(equipo.getCapitan()), null);
+        InvitarMiembrosRequest request = new InvitarMiembrosRequest();
+        List<String> emails = new ArrayList<>();
+        for (int e = 1; e <= 20; e++) {
+            emails.add("jugador" + e + "-1@easysports.com");
+            emails.add("jugador" + e + "-2@easysports.com");
+        }
+        emails.add("jugador0-1@easysports.com"); // Ya es miembro
+        emails.add("nadie@easysports.com");
+        emails.add("jugador1-1@easysports.com"); // Repetido
+        request.setEmailsUsuarios(emails);
+        entityManager.clear();
+        AtomicReference<List<InvitacionResponse>> resultado = new AtomicReference<>();
+
+        long statements = statementCounter.contar(() -> {
+            resultado.set(teamService.invitarMiembros(primerEquipoId, request, capitan));
+            entityManager.flush();
+        });
+        List<InvitacionResponse> resultados = resultado.get();
+
+        // Equipo, usuarios, relaciones existentes, secuencia y un único INSERT enviado en lote
+        assertThat(statements).isLessThanOrEqualTo(6);
+        assertThat(resultados).hasSize(emails.size());
+        assertThat(resultados).filteredOn(r -> r.getResultado() == ResultadoInvitacion.INVITADO).hasSize(40);
+        assertThat(resultados.get(40).getResultado()).isEqualTo(ResultadoInvitacion.YA_MIEMBRO_O_INVITADO);
+        assertThat(resultados.get(41).getResultado()).isEqualTo(ResultadoInvitacion.USUARIO_NO_ENCONTRADO);
+        assertThat(resultados.get(42).getResultado()).isEqualTo(ResultadoInvitacion.DUPLICADO);
+        Long pendientes = entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(m) FROM MiembroEquipo m WHERE m.equipo.id = :id AND m.estado = :estado", Long.class)
+                .setParameter("id", primerEquipoId)
+                .setParameter("estado", EstadoMiembro.INVITADO_PENDIENTE)
+                .getSingleResult();
+        assertThat(pendientes).isEqualTo(41); // Las 40 nuevas y la pendiente del setUp
+    }
+
+
+    private static MiembroEquipo miembro(Team team, User usuario, EstadoMiembro estado) {
+        return MiembroEquipo.builder()
+                .equipo(team)
+                .usuario(usuario)
+                .estado(estado)
+                .rol(RolMiembro.MIEMBRO)
+                .build();
+    }
+
+    private static RosterEquipo roster(Team team, User usuario, boolean esCapitan) {
+        return RosterEquipo.builder()
+                .equipoId(team.getId())
+                .usuarioId(usuario.getId())
+                .nombreCompleto(usuario.getNombreCompleto())
+                .email(usuario.getEmail())
+                .esCapitan(esCapitan)
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.easysports.service.importer;
+
+import com.easysports.dto.user.ImportacionEvento;
+import com.easysports.enums.Deporte;
+import com.easysports.enums.EstadoMiembro;
+import com.easysports.enums.RolMiembro;
+import com.easysports.enums.Sexo;
+import com.easysports.model.Team;
+import com.easysports.model.User;
+import com.easysports.repository.MiembroEquipoRepository;
+import com.easysports.repository.TeamRepository;
+import com.easysports.repository.UserRepository;
+import com.easysports.service.cache.TeamMembershipIndex;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.easysports.support.TestUsers.usuario;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// Sin la transacción de cada test: el importador confirma sus propios lotes y publica tras el commit
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCsvImporterTest {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private MiembroEquipoRepository miembroEquipoRepository;
+
+    private final TeamMembershipIndex teamMembershipIndex = mock(TeamMembershipIndex.class);
+    private final List<ImportacionEvento> eventos = new ArrayList<>();
+    private UserCsvImporter importer;
+    private Team equipo;
+
+    @BeforeEach
+    void setUp() {
+        importer = new UserCsvImporter(jdbcTemplate, new TransactionTemplate(transactionManager), userRepository,
+                teamRepository, miembroEquipoRepository, teamMembershipIndex,
+                Validation.buildDefaultValidatorFactory().getValidator(), new PrefijoEncoder(), 2, 2);
+        User capitan = userRepository.save(usuario("capitan"));
+        userRepository.save(usuario("existente"));
+        equipo = teamRepository.save(Team.builder().nombre("Equipo").tipoDeporte(Deporte.FUTBOL).capitan(capitan).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        importer.destroy();
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM roster_equipos");
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM miembros_equipos");
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM equipos");
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM usuarios");
+    }
+
+    @Test
+    void givenCsvWithValidAndInvalidRows_whenImportar_thenCreatesValidUsersAndReportsEachRejectedRow() throws Exception {
+        // Arrange
+        String csv = """
+                email,nombre_completo,password,sexo,edad_anios,edad_meses,equipo_id
+                ana@liga.com,"Pérez, Ana",secreto1,mujer,25,3,%1$d
+                luis@liga.com,Luis Gómez,secreto2,HOMBRE,30,0,
+                no-es-un-email,Sin Email,secreto3,HOMBRE,30,0,
+                ana@liga.com,Ana Repetida,secreto4,MUJER,25,3,
+
+                existente@easysports.com,Ya Registrado,secreto5,OTRO,40,1,
+                eva@liga.com,Eva Sin Equipo,secreto6,MUJER,22,11,999999
+                """.formatted(equipo.getId());
+
+        // Act
+        ImportacionEvento fin = importer.importar(entrada(csv), eventos::add);
+
+        // Assert
+        assertThat(fin.getTipo()).isEqualTo(ImportacionEvento.Tipo.FIN);
+        assertThat(fin.getProcesadas()).isEqualTo(6);
+        assertThat(fin.getCreados()).isEqualTo(2);
+        assertThat(fin.getErrores()).isEqualTo(4);
+        assertThat(eventos).filteredOn(evento -> evento.getTipo() == ImportacionEvento.Tipo.ERROR)
+                .extracting(ImportacionEvento::getFila, ImportacionEvento::getMotivo)
+                .containsExactlyInAnyOrder(
+                        tuple(4, "El formato del email no es válido"),
+                        tuple(5, "El email está repetido en el archivo."),
+                        tuple(7, "El email ya está registrado."),
+                        tuple(8, "Equipo no encontrado."));
+
+        User ana = userRepository.findByEmail("ana@liga.com").orElseThrow();
+        assertThat(ana.getNombreCompleto()).isEqualTo("Pérez, Ana");
+        assertThat(ana.getPassword()).isEqualTo("hash:secreto1");
+        assertThat(ana.getSexo()).isEqualTo(Sexo.MUJER);
+        assertThat(userRepository.findByEmail("luis@liga.com")).isPresent();
+        assertThat(userRepository.findByEmail("eva@liga.com")).isEmpty();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT estado FROM miembros_equipos WHERE usuario_id = :usuario AND equipo_id = :equipo",
+                new MapSqlParameterSource("usuario", ana.getId()).addValue("equipo", equipo.getId()), String.class))
+                .isEqualTo("ACEPTADO");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT nombre_completo FROM roster_equipos WHERE usuario_id = :usuario AND equipo_id = :equipo",
+                new MapSqlParameterSource("usuario", ana.getId()).addValue("equipo", equipo.getId()), String.class))
+                .isEqualTo("Pérez, Ana");
+        verify(teamMembershipIndex).registrarMembresia(ana.getId(), equipo.getId(), EstadoMiembro.ACEPTADO, RolMiembro.MIEMBRO);
+    }
+
+    @Test
+    void givenHeaderWithoutRequiredColumns_whenImportar_thenReportsTheHeaderAndCreatesNothing() throws Exception {
+        // Arrange
+        String csv = """
+                email;nombre_completo;sexo
+                ana@liga.com;Ana;MUJER
+                """;
+
+        // Act
+        ImportacionEvento fin = importer.importar(entrada(csv), eventos::add);
+
+        // Assert
+        assertThat(eventos.get(0).getFila()).isEqualTo(1);
+        assertThat(eventos.get(0).getMotivo()).isEqualTo("Faltan columnas en la cabecera: password, edad_anios, edad_meses");
+        assertThat(fin.getCreados()).isZero();
+        assertThat(userRepository.findByEmail("ana@liga.com")).isEmpty();
+        verifyNoInteractions(teamMembershipIndex);
+    }
+
+    private static ByteArrayInputStream entrada(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    private static class PrefijoEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
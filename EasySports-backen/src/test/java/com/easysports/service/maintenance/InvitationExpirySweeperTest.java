@@ -0,0 +1,110 @@
+package com.easysports.service.maintenance;
+
+import com.easysports.enums.Deporte;
+import com.easysports.enums.EstadoMiembro;
+import com.easysports.enums.RolMiembro;
+import com.easysports.model.MiembroEquipo;
+import com.easysports.model.Team;
+import com.easysports.model.User;
+import com.easysports.service.cache.TeamMembershipIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.easysports.support.TestUsers.usuario;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class InvitationExpirySweeperTest {
+
+    private static final LocalDateTime AHORA = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TeamMembershipIndex teamMembershipIndex = mock(TeamMembershipIndex.class);
+    private final Set<Long> invitadosAntiguos = new HashSet<>();
+    private InvitationExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new InvitationExpirySweeper(jdbcTemplate, teamMembershipIndex, registry, Duration.ofDays(14), 10);
+
+        User capitan = entityManager.persist(usuario("capitan"));
+        Team team = entityManager.persist(Team.builder().nombre("Equipo").tipoDeporte(Deporte.FUTBOL).capitan(capitan).build());
+        for (int i = 0; i < 25; i++) {
+            MiembroEquipo antigua = entityManager.persist(
+                    miembro(team, usuario("antigua" + i), EstadoMiembro.INVITADO_PENDIENTE, AHORA.minusDays(15)));
+            invitadosAntiguos.add(antigua.getUsuario().getId());
+        }
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(miembro(team, usuario("reciente" + i), EstadoMiembro.INVITADO_PENDIENTE, AHORA.minusDays(13)));
+        }
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(miembro(team, usuario("aceptado" + i), EstadoMiembro.ACEPTADO, AHORA.minusDays(30)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void givenStalePendingInvitations_whenExpirar_thenExpiresOnlyThoseInBoundedChunks() {
+        // Act
+        int expiradas = sweeper.expirar(AHORA);
+
+        // Assert
+        assertThat(expiradas).isEqualTo(25);
+        assertThat(contar(EstadoMiembro.EXPIRADO)).isEqualTo(25);
+        assertThat(contar(EstadoMiembro.INVITADO_PENDIENTE)).isEqualTo(5);
+        assertThat(contar(EstadoMiembro.ACEPTADO)).isEqualTo(3);
+        // Lotes de 10, 10 y 5: el último, incompleto, termina el barrido
+        assertThat(registry.get("easysports.invitaciones.expiradas").counter().count()).isEqualTo(25);
+        assertThat(registry.get("easysports.invitaciones.barrido.lote").timer().count()).isEqualTo(3);
+        // Cada lote con cambios refresca en el índice de membresías a los usuarios que devuelve el UPDATE
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> recargados = ArgumentCaptor.forClass(Collection.class);
+        verify(teamMembershipIndex, times(3)).recargarUsuarios(recargados.capture());
+        assertThat(recargados.getAllValues().stream().flatMap(Collection::stream))
+                .containsExactlyInAnyOrderElementsOf(invitadosAntiguos);
+
+        // Un segundo barrido no encuentra nada más
+        assertThat(sweeper.expirar(AHORA)).isZero();
+    }
+
+    private long contar(EstadoMiembro estado) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(m) FROM MiembroEquipo m WHERE m.estado = :estado", Long.class)
+                .setParameter("estado", estado)
+                .getSingleResult();
+    }
+
+    private MiembroEquipo miembro(Team team, User usuario, EstadoMiembro estado, LocalDateTime fechaEstado) {
+        return MiembroEquipo.builder()
+                .equipo(team)
+                .usuario(entityManager.persist(usuario))
+                .estado(estado)
+                .rol(RolMiembro.MIEMBRO)
+                .fechaEstado(fechaEstado)
+                .build();
+    }
+}
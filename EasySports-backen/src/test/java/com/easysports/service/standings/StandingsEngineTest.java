@@ -0,0 +1,76 @@
+package com.easysports.service.standings;
+
+import com.easysports.repository.TablaDePosicionesRepository;
+import com.easysports.repository.TeamRepository;
+import com.easysports.service.cache.StandingsSnapshotStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class StandingsEngineTest {
+
+    @Mock
+    private TablaDePosicionesRepository tablaDePosicionesRepository;
+    @Mock
+    private TeamRepository teamRepository;
+    @Mock
+    private StandingsSnapshotStore standingsSnapshotStore;
+
+    @InjectMocks
+    private StandingsEngine standingsEngine;
+
+    @Test
+    void givenFirstResult_whenAplicar_thenAddsWinAndLossInTeamIdOrder() {
+        // Act: el local (ID 20) gana al visitante (ID 10)
+        standingsEngine.aplicar(7L, 20L, 10L, null, new StandingsEngine.Marcador(3, 0));
+
+        // Assert
+        InOrder orden = inOrder(tablaDePosicionesRepository, teamRepository);
+        orden.verify(tablaDePosicionesRepository).crearSiNoExiste(7L, 10L);
+        orden.verify(tablaDePosicionesRepository).sumar(7L, 10L, 0, 1, 0, 0, 1);
+        orden.verify(tablaDePosicionesRepository).crearSiNoExiste(7L, 20L);
+        orden.verify(tablaDePosicionesRepository).sumar(7L, 20L, 3, 1, 1, 0, 0);
+        orden.verify(teamRepository).sumarPartidosGanados(20L, 1);
+        verify(teamRepository, never()).sumarPartidosGanados(eq(10L), anyInt());
+        verify(standingsSnapshotStore).invalidar(7L);
+    }
+
+    @Test
+    void givenCorrectedResult_whenAplicar_thenAppliesOnlyTheCompensatingDeltas() {
+        // Act: una victoria local 2-1 se corrige a empate 1-1
+        standingsEngine.aplicar(7L, 10L, 20L,
+                new StandingsEngine.Marcador(2, 1), new StandingsEngine.Marcador(1, 1));
+
+        // Assert: ningún partido jugado de más, el local pierde la victoria y el visitante cambia derrota por empate
+        verify(tablaDePosicionesRepository).sumar(7L, 10L, -2, 0, -1, 1, 0);
+        verify(tablaDePosicionesRepository).sumar(7L, 20L, 1, 0, 0, 1, -1);
+        verify(teamRepository).sumarPartidosGanados(10L, -1);
+        verify(teamRepository, never()).sumarPartidosGanados(eq(20L), anyInt());
+    }
+
+    @Test
+    void givenSameOutcomeOrNoLeague_whenAplicar_thenSkipsUnchangedRows() {
+        // Act: 2-1 corregido a 3-1 no cambia la clasificación; un amistoso formal sin liga sólo suma ganados
+        standingsEngine.aplicar(7L, 10L, 20L,
+                new StandingsEngine.Marcador(2, 1), new StandingsEngine.Marcador(3, 1));
+        standingsEngine.aplicar(null, 10L, 20L, null, new StandingsEngine.Marcador(0, 1));
+
+        // Assert
+        verifyNoInteractions(tablaDePosicionesRepository, standingsSnapshotStore);
+        verify(teamRepository).sumarPartidosGanados(20L, 1);
+        verify(teamRepository, never()).sumarPartidosGanados(eq(10L), anyInt());
+        verify(teamRepository, never()).sumarPartidosGanados(anyLong(), eq(-1));
+    }
+}
@@ -0,0 +1,35 @@
+package com.easysports.support;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+/**
+ * Cuenta las sentencias SQL que prepara Hibernate durante una acción. Requiere
+ * {@code spring.jpa.properties.hibernate.generate_statistics=true}.
+ */
+public final class StatementCounter {
+
+    private final TestEntityManager entityManager;
+    private final Statistics statistics;
+
+    public StatementCounter(TestEntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Ejecuta la acción con el contexto de persistencia vacío, para que ninguna entidad ya cargada
+     * ahorre consultas.
+     *
+     * @param action Acción a medir.
+     * @return Número de sentencias preparadas durante la acción.
+     */
+    public long contar(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,28 @@
+package com.easysports.support;
+
+import com.easysports.enums.Sexo;
+import com.easysports.model.User;
+
+/**
+ * Usuarios de prueba con los campos obligatorios ya rellenos.
+ */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    /**
+     * @param nombre Nombre del usuario; su email es {@code <nombre>@easysports.com}.
+     * @return Un usuario sin guardar.
+     */
+    public static User usuario(String nombre) {
+        return User.builder()
+                .email(nombre + "@easysports.com")
+                .password("hash")
+                .nombreCompleto(nombre)
+                .sexo(Sexo.OTRO)
+                .edadAnios(30)
+                .edadMeses(0)
+                .build();
+    }
+}
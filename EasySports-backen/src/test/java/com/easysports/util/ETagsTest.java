@@ -0,0 +1,47 @@
+package com.easysports.util;
+
+import com.easysports.dto.match.MatchResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+    @Test
+    void givenSameVersion_whenComputingDetailETag_thenIsStable() {
+        // Arrange
+        MatchResponse match = MatchResponse.builder().id(7L).version(3L).build();
+
+        // Act & Assert
+        assertThat(ETags.of(match)).isEqualTo("\"7-3\"");
+        assertThat(ETags.of(match)).isNotEqualTo(ETags.of(MatchResponse.builder().id(7L).version(4L).build()));
+    }
+
+    @Test
+    void givenPageChanges_whenComputingListingETag_thenDiffers() {
+        // Arrange
+        PageRequest pageable = PageRequest.of(0, 2);
+        Page<MatchResponse> page = new PageImpl<>(List.of(
+                MatchResponse.builder().id(1L).version(0L).build(),
+                MatchResponse.builder().id(2L).version(5L).build()), pageable, 10);
+        Page<MatchResponse> mismaPagina = new PageImpl<>(List.of(
+                MatchResponse.builder().id(1L).version(0L).build(),
+                MatchResponse.builder().id(2L).version(5L).build()), pageable, 10);
+        Page<MatchResponse> otraVersion = new PageImpl<>(List.of(
+                MatchResponse.builder().id(1L).version(1L).build(),
+                MatchResponse.builder().id(2L).version(5L).build()), pageable, 10);
+        Page<MatchResponse> otroTotal = new PageImpl<>(List.of(
+                MatchResponse.builder().id(1L).version(0L).build(),
+                MatchResponse.builder().id(2L).version(5L).build()), pageable, 11);
+
+        // Act & Assert
+        assertThat(ETags.of(page)).isEqualTo(ETags.of(mismaPagina));
+        assertThat(ETags.of(page)).isNotEqualTo(ETags.of(otraVersion));
+        assertThat(ETags.of(page)).isNotEqualTo(ETags.of(otroTotal));
+    }
+}
@@ -0,0 +1,72 @@
+package com.easysports.util;
+
+import com.easysports.model.User;
+import com.easysports.repository.UserRepository;
+import com.easysports.security.TokenVersions;
+import com.easysports.security.UserDetailsImpl;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "NzE0MzU5NzA0MjM0NTI1ODQxNTY0NjU5NjEyRjQ2MkU1NzZFNzM1NzM4NTkzQTQzNkQ1QTU3NTM0RTQzNDM0RA==";
+    private static final long DIEZ_HORAS = 36_000_000L;
+
+    private final TokenVersions tokenVersions = new TokenVersions(mock(UserRepository.class), 100, Duration.ofMinutes(1));
+
+    private final UserDetailsImpl manager = new UserDetailsImpl(
+            User.builder().id(1L).email("manager@easysports.com").password("hash").esLeagueManager(true).build());
+
+    @Test
+    void givenIssuedToken_whenVerify_thenReturnsSubjectRolesAndExpiryFromOneParse() {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, DIEZ_HORAS, 100, tokenVersions);
+        String token = jwtUtil.generateToken(manager);
+
+        // Act
+        Optional<JwtUtil.VerifiedToken> primera = jwtUtil.verify(token);
+        Optional<JwtUtil.VerifiedToken> segunda = jwtUtil.verify(token);
+
+        // Assert
+        assertThat(primera).isPresent();
+        assertThat(primera.get().userId()).isEqualTo(1L);
+        assertThat(primera.get().username()).isEqualTo("manager@easysports.com");
+        assertThat(primera.get().version()).isZero();
+        assertThat(primera.get().roles()).containsExactly("ROLE_USER", "ROLE_LEAGUE_MANAGER");
+        assertThat(primera.get().expiration()).isInTheFuture();
+        // La segunda verificación sale de la caché, sin volver a analizar el token
+        assertThat(segunda.get()).isSameAs(primera.get());
+    }
+
+    @Test
+    void givenTamperedOrForeignToken_whenVerify_thenReturnsEmpty() {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, DIEZ_HORAS, 100, tokenVersions);
+        String token = jwtUtil.generateToken(manager);
+        String otraClave = "YWJjZGVmZ2hpamtsbW5vcHFyc3R1dnd4eXoxMjM0NTY3ODkwQUJDREVGR0hJSktMTU5PUA==";
+        String ajeno = new JwtUtil(otraClave, DIEZ_HORAS, 0, tokenVersions).generateToken(manager);
+
+        // Act & Assert
+        assertThat(jwtUtil.verify(token.substring(0, token.length() - 2) + "xx")).isEmpty();
+        assertThat(jwtUtil.verify(ajeno)).isEmpty();
+        assertThat(jwtUtil.verify("no-es-un-jwt")).isEmpty();
+    }
+
+    @Test
+    void givenExpiredToken_whenVerify_thenReturnsEmptyAndIsNotCached() {
+        // Arrange
+        JwtUtil emisor = new JwtUtil(SECRET, -1_000L, 0, tokenVersions);
+        JwtUtil jwtUtil = new JwtUtil(SECRET, DIEZ_HORAS, 100, tokenVersions);
+        String caducado = emisor.generateToken(manager);
+
+        // Act & Assert
+        assertThat(jwtUtil.verify(caducado)).isEmpty();
+        assertThat(jwtUtil.verify(caducado)).isEmpty();
+        assertThat(jwtUtil.validateToken(caducado, manager)).isFalse();
+    }
+}
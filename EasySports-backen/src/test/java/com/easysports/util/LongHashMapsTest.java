@@ -0,0 +1,56 @@
+package com.easysports.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongHashMapsTest {
+
+    @Test
+    void givenManySequentialKeys_whenPut_thenGrowsAndKeepsEveryValue() {
+        // Arrange
+        LongLongHashMap mapa = new LongLongHashMap();
+
+        // Act
+        for (long id = 1; id <= 10_000; id++) {
+            mapa.put(id, id * 7);
+        }
+        mapa.put(42, -1);
+
+        // Assert
+        assertThat(mapa.size()).isEqualTo(10_000);
+        assertThat(mapa.get(1, 0)).isEqualTo(7);
+        assertThat(mapa.get(42, 0)).isEqualTo(-1);
+        assertThat(mapa.get(10_000, 0)).isEqualTo(70_000);
+        assertThat(mapa.get(10_001, -5)).isEqualTo(-5);
+    }
+
+    @Test
+    void givenObjectMap_whenPutReplaceAndClear_thenBehavesLikeAMap() {
+        // Arrange
+        LongObjectHashMap<String> mapa = new LongObjectHashMap<>(2);
+
+        // Act
+        for (long id = 1; id <= 100; id++) {
+            mapa.put(id * 1_000_003L, "v" + id);
+        }
+        mapa.put(1_000_003L, "nuevo");
+
+        // Assert
+        assertThat(mapa.size()).isEqualTo(100);
+        assertThat(mapa.get(1_000_003L)).isEqualTo("nuevo");
+        assertThat(mapa.get(100 * 1_000_003L)).isEqualTo("v100");
+        assertThat(mapa.get(7)).isNull();
+
+        mapa.clear();
+        assertThat(mapa.size()).isZero();
+        assertThat(mapa.get(1_000_003L)).isNull();
+    }
+
+    @Test
+    void givenReservedKey_whenPut_thenThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new LongLongHashMap().put(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LongObjectHashMap<String>().put(0, "x"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.easysports.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MatchCodeGeneratorTest {
+
+    private static final long KEY = 7311094418512348843L;
+    private static final int BLOCK_SIZE = 1000;
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void givenConcurrentThreads_whenGeneratingMillionsOfCodes_thenAllAreUnique() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 500_000;
+        AtomicLong secuencia = new AtomicLong();
+        AtomicLong bloquesReservados = new AtomicLong();
+        MatchCodeGenerator generator = new MatchCodeGenerator(KEY, () -> {
+            bloquesReservados.incrementAndGet();
+            return secuencia.getAndAdd(BLOCK_SIZE);
+        }, BLOCK_SIZE);
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                long[] valores = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    String codigo = generator.next();
+                    assertThat(codigo).hasSize(MatchCodeGenerator.CODE_LENGTH);
+                    valores[i] = MatchCodeGenerator.decode(codigo);
+                }
+                return valores;
+            }));
+        }
+        long[] todos = new long[threads * perThread];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            long[] valores = future.get();
+            System.arraycopy(valores, 0, todos, offset, valores.length);
+            offset += valores.length;
+        }
+        executor.shutdown();
+
+        // Assert
+        Arrays.sort(todos);
+        for (int i = 1; i < todos.length; i++) {
+            assertThat(todos[i]).as("código repetido").isNotEqualTo(todos[i - 1]);
+        }
+        assertThat(todos[0]).isGreaterThanOrEqualTo(0);
+        assertThat(todos[todos.length - 1]).isLessThan(MatchCodeGenerator.SPACE);
+        // Una reserva por bloque y por hilo, no una por código
+        assertThat(bloquesReservados.get()).isEqualTo((long) threads * perThread / BLOCK_SIZE);
+    }
+
+    @Test
+    void givenSameKey_whenPermuting_thenIsDeterministicAndScattered() {
+        // Arrange
+        MatchCodeGenerator a = new MatchCodeGenerator(KEY, () -> 0, BLOCK_SIZE);
+        MatchCodeGenerator b = new MatchCodeGenerator(KEY, () -> 0, BLOCK_SIZE);
+        MatchCodeGenerator otraClave = new MatchCodeGenerator(KEY + 1, () -> 0, BLOCK_SIZE);
+
+        // Act & Assert
+        assertThat(a.permute(42)).isEqualTo(b.permute(42));
+        assertThat(a.permute(42)).isNotEqualTo(otraClave.permute(42));
+        assertThat(Math.abs(a.permute(1) - a.permute(0))).isGreaterThan(1);
+    }
+
+    @Test
+    void givenValue_whenEncodeAndDecode_thenRoundTrips() {
+        assertThat(MatchCodeGenerator.encode(0)).isEqualTo("AAAAAA");
+        assertThat(MatchCodeGenerator.encode(MatchCodeGenerator.SPACE - 1)).isEqualTo("999999");
+        assertThat(MatchCodeGenerator.decode(MatchCodeGenerator.encode(123_456_789L))).isEqualTo(123_456_789L);
+    }
+
+    @Test
+    void givenExhaustedSequence_whenNext_thenThrows() {
+        // Arrange
+        MatchCodeGenerator generator = new MatchCodeGenerator(KEY, () -> MatchCodeGenerator.SPACE, BLOCK_SIZE);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, generator::next);
+    }
+
+    @Test
+    void givenCode_whenUnpermute_thenReturnsItsSerial() {
+        // Arrange
+        MatchCodeGenerator generator = new MatchCodeGenerator(KEY, () -> 0, BLOCK_SIZE);
+
+        // Act & Assert
+        for (long serial = 0; serial < 10_000; serial++) {
+            assertThat(generator.unpermute(generator.permute(serial))).isEqualTo(serial);
+        }
+    }
+
+    @Test
+    void givenCodesAlreadyInUse_whenNext_thenSkipsThemWithoutRepeatingAny() {
+        // Arrange
+        MatchCodeGenerator referencia = new MatchCodeGenerator(KEY, () -> 0, BLOCK_SIZE);
+        List<String> secuencia = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            secuencia.add(referencia.next());
+        }
+        // Los de otro formato (p. ej. los del DataSeeder) nunca coinciden y se descartan
+        List<String> enUso = List.of(secuencia.get(1), secuencia.get(2), "A1B2C3D4", "abc");
+        MatchCodeGenerator generator = new MatchCodeGenerator(KEY, () -> 0, BLOCK_SIZE, enUso, 0);
+
+        // Act
+        List<String> codigos = List.of(generator.next(), generator.next(), generator.next());
+
+        // Assert
+        assertThat(generator.reservados()).isEqualTo(2);
+        assertThat(codigos).containsExactly(secuencia.get(0), secuencia.get(3), secuencia.get(4));
+    }
+
+    @Test
+    void givenCodeInUseBeforeFirstSerial_whenCreatingGenerator_thenIsNotRemembered() {
+        // Arrange
+        MatchCodeGenerator referencia = new MatchCodeGenerator(KEY, () -> 0, BLOCK_SIZE);
+        String emitido = referencia.next();
+        referencia.next();
+        String futuro = referencia.next();
+
+        // Act
+        MatchCodeGenerator generator = new MatchCodeGenerator(KEY, () -> 0, BLOCK_SIZE, List.of(emitido, futuro), 1);
+
+        // Assert
+        assertThat(generator.reservados()).isEqualTo(1);
+    }
+}